@@ -0,0 +1,108 @@
+package org.opengis.cite.ogcapiprocesses10;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.opengis.cite.ogcapiprocesses10.ProcessDescriptionRepository.ProcessDescription;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Loads the recorded payloads used by the benchmarks. Each benchmark runs on a realistic
+ * payload as recorded from an IUT and on a large payload derived from it by replicating
+ * its parts, so that the repository does not carry megabytes of fixtures.
+ */
+public final class BenchmarkFixtures {
+
+	/**
+	 * The realistic payload size.
+	 */
+	public static final String REALISTIC = "realistic";
+
+	/**
+	 * The large payload size.
+	 */
+	public static final String LARGE = "large";
+
+	/**
+	 * The factor by which the parts of a payload are replicated for the large size.
+	 */
+	public static final int LARGE_FACTOR = 200;
+
+	private static final String FIXTURE_PATH = "/org/opengis/cite/ogcapiprocesses10/benchmark/";
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private BenchmarkFixtures() {
+	}
+
+	/**
+	 * @param name the file name of the fixture
+	 * @return the content of the fixture
+	 */
+	public static String read(String name) {
+		try (InputStream in = BenchmarkFixtures.class.getResourceAsStream(FIXTURE_PATH + name)) {
+			if (in == null) {
+				throw new IllegalArgumentException("Fixture " + name + " does not exist.");
+			}
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param name the file name of the fixture
+	 * @return the parsed fixture
+	 */
+	public static JsonNode readJson(String name) {
+		try {
+			return OBJECT_MAPPER.readTree(read(name));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Replicates all members of an object, appending the copy number to their names.
+	 * @param node the object, never <code>null</code>
+	 * @param factor the number of copies of each member
+	 * @return a new object with <code>factor</code> times the members of the object
+	 */
+	public static ObjectNode replicateMembers(JsonNode node, int factor) {
+		ObjectNode replicated = OBJECT_MAPPER.createObjectNode();
+		for (int i = 0; i < factor; i++) {
+			Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				replicated.set(i == 0 ? field.getKey() : field.getKey() + i, field.getValue().deepCopy());
+			}
+		}
+		return replicated;
+	}
+
+	/**
+	 * Loads the recorded description of the echo process; the large description has
+	 * {@link #LARGE_FACTOR} times the inputs and outputs.
+	 * @param size {@link #REALISTIC} or {@link #LARGE}
+	 * @return the process description, never <code>null</code>
+	 */
+	public static ProcessDescription readEchoProcessDescription(String size) {
+		ObjectNode node = (ObjectNode) readJson("echo-process.json");
+		if (LARGE.equals(size)) {
+			node.set("inputs", replicateMembers(node.get("inputs"), LARGE_FACTOR));
+			node.set("outputs", replicateMembers(node.get("outputs"), LARGE_FACTOR));
+		}
+		return new ProcessDescription("echo", "https://processing.example.org/oapi-p/processes/echo", 200,
+				"application/json", node.toString(), node);
+	}
+
+}
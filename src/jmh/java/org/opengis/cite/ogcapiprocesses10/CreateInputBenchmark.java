@@ -0,0 +1,82 @@
+package org.opengis.cite.ogcapiprocesses10;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.opengis.cite.ogcapiprocesses10.CommonFixture.Input;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Measures deriving the input models from the input schemas of a process description.
+ * The large variant adds object schemas with many properties and <code>oneOf</code>
+ * schemas with many alternatives.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreateInputBenchmark {
+
+	@Param({ BenchmarkFixtures.REALISTIC, BenchmarkFixtures.LARGE })
+	public String size;
+
+	private final List<String> ids = new ArrayList<>();
+
+	private final List<JsonNode> schemas = new ArrayList<>();
+
+	@Setup
+	public void setup() {
+		JsonNode inputs = BenchmarkFixtures.readJson("echo-process.json").get("inputs");
+		Iterator<Map.Entry<String, JsonNode>> fields = inputs.fields();
+		while (fields.hasNext()) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			ids.add(field.getKey());
+			schemas.add(field.getValue().get("schema"));
+		}
+		if (BenchmarkFixtures.LARGE.equals(size)) {
+			ObjectNode objectSchema = (ObjectNode) inputs.get("complexObjectInput").get("schema").deepCopy();
+			objectSchema.set("properties",
+					BenchmarkFixtures.replicateMembers(objectSchema.get("properties"), BenchmarkFixtures.LARGE_FACTOR));
+			ids.add("largeObjectInput");
+			schemas.add(objectSchema);
+			ObjectNode oneOfSchema = (ObjectNode) inputs.get("imagesInput").get("schema").deepCopy();
+			ArrayNode alternatives = oneOfSchema.putArray("oneOf");
+			for (int i = 0; i < BenchmarkFixtures.LARGE_FACTOR; i++) {
+				for (JsonNode alternative : inputs.get("featureCollectionInput").get("schema").get("oneOf")) {
+					alternatives.add(alternative.deepCopy());
+				}
+			}
+			ids.add("largeOneOfInput");
+			schemas.add(oneOfSchema);
+		}
+	}
+
+	@Benchmark
+	public List<Input> createInputs() {
+		List<Input> inputs = new ArrayList<>(schemas.size());
+		for (int i = 0; i < schemas.size(); i++) {
+			inputs.add(CommonFixture.createInput(schemas.get(i), ids.get(i)));
+		}
+		return inputs;
+	}
+
+}
@@ -0,0 +1,49 @@
+package org.opengis.cite.ogcapiprocesses10;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.opengis.cite.ogcapiprocesses10.ProcessDescriptionRepository.ProcessDescription;
+import org.opengis.cite.ogcapiprocesses10.jobs.Jobs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Measures building the execute requests of the Jobs tests from the description of the
+ * echo process.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecuteRequestBenchmark {
+
+	@Param({ BenchmarkFixtures.REALISTIC, BenchmarkFixtures.LARGE })
+	public String size;
+
+	private ProcessDescription echoProcessDescription;
+
+	@Setup
+	public void setup() {
+		echoProcessDescription = BenchmarkFixtures.readEchoProcessDescription(size);
+	}
+
+	@Benchmark
+	public List<JsonNode> createEchoExecuteJsonNodes() {
+		return Jobs.createEchoExecuteJsonNodes(echoProcessDescription);
+	}
+
+}
@@ -0,0 +1,87 @@
+package org.opengis.cite.ogcapiprocesses10;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Measures validating a process list against its JSON schema, from the parsed document
+ * and from the response body. The large process list has {@link BenchmarkFixtures#LARGE_FACTOR}
+ * times the processes of the recorded one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaValidationBenchmark {
+
+	private static final String PROCESS_LIST_SCHEMA_URL = "https://schemas.opengis.net/ogcapi/processes/part1/1.0/openapi/schemas/processList.yaml";
+
+	@Param({ BenchmarkFixtures.REALISTIC, BenchmarkFixtures.LARGE })
+	public String size;
+
+	private final CommonFixture fixture = new CommonFixture();
+
+	private JsonNode processList;
+
+	private String processListBody;
+
+	private PrintStream stdout;
+
+	@Setup
+	public void setup() {
+		fixture.useSchemaCatalog = true;
+		ObjectNode node = (ObjectNode) BenchmarkFixtures.readJson("process-list.json");
+		if (BenchmarkFixtures.LARGE.equals(size)) {
+			ArrayNode processes = node.putArray("processes");
+			JsonNode recorded = BenchmarkFixtures.readJson("process-list.json").get("processes");
+			for (int i = 0; i < BenchmarkFixtures.LARGE_FACTOR; i++) {
+				for (JsonNode process : recorded) {
+					ObjectNode copy = process.deepCopy();
+					copy.put("id", process.get("id").asText() + i);
+					processes.add(copy);
+				}
+			}
+		}
+		processList = node;
+		processListBody = node.toString();
+		// the validation reports its outcome on stdout
+		stdout = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.setOut(stdout);
+	}
+
+	@Benchmark
+	public boolean validateParsed() {
+		return fixture.validateResponseAgainstSchema(PROCESS_LIST_SCHEMA_URL, processList);
+	}
+
+	@Benchmark
+	public boolean validateBody() {
+		return fixture.validateResponseAgainstSchema(PROCESS_LIST_SCHEMA_URL, processListBody);
+	}
+
+}
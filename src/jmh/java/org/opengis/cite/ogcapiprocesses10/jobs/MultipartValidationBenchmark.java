@@ -0,0 +1,77 @@
+package org.opengis.cite.ogcapiprocesses10.jobs;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.opengis.cite.ogcapiprocesses10.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Measures validating a multipart response of a raw execution. The large response has
+ * {@link BenchmarkFixtures#LARGE_FACTOR} times the parts of the recorded one, with the
+ * echoed test string in the last part.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultipartValidationBenchmark {
+
+	private static final String BOUNDARY = "--boundary-4f1c2d";
+
+	private static final String CONTENT_TYPE = "multipart/related; boundary=boundary-4f1c2d";
+
+	@Param({ BenchmarkFixtures.REALISTIC, BenchmarkFixtures.LARGE })
+	public String size;
+
+	private final Jobs jobs = new Jobs();
+
+	private byte[] responsePayload;
+
+	private JsonNode executeNode;
+
+	@Setup
+	public void setup() {
+		String recorded = BenchmarkFixtures.read("multipart-response.txt");
+		if (BenchmarkFixtures.LARGE.equals(size)) {
+			// move the part echoing the test string to the end
+			int start = recorded.indexOf(BOUNDARY);
+			int second = recorded.indexOf(BOUNDARY, start + BOUNDARY.length());
+			int end = recorded.lastIndexOf(BOUNDARY + "--");
+			String testStringPart = recorded.substring(start, second);
+			String otherParts = recorded.substring(second, end);
+			StringBuilder payload = new StringBuilder();
+			for (int i = 0; i < BenchmarkFixtures.LARGE_FACTOR; i++) {
+				payload.append(otherParts);
+			}
+			payload.append(testStringPart).append(recorded.substring(end));
+			responsePayload = payload.toString().getBytes(StandardCharsets.UTF_8);
+		}
+		else {
+			responsePayload = recorded.getBytes(StandardCharsets.UTF_8);
+		}
+		executeNode = Jobs.createEchoExecuteJsonNodes(BenchmarkFixtures.readEchoProcessDescription(size)).get(0);
+	}
+
+	@Benchmark
+	public Jobs validateMultipartResponse() {
+		jobs.validateMultipartResponse(new ByteArrayInputStream(responsePayload), CONTENT_TYPE, executeNode);
+		return jobs;
+	}
+
+}
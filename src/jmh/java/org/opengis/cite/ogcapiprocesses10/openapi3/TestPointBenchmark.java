@@ -0,0 +1,76 @@
+package org.opengis.cite.ogcapiprocesses10.openapi3;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.opengis.cite.ogcapiprocesses10.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.reprezen.kaizen.oasparser.OpenApi3Parser;
+import com.reprezen.kaizen.oasparser.model3.OpenApi3;
+
+/**
+ * Measures identifying the conformance test points in the OpenAPI definition bundled
+ * with the test suite. The large definition has {@link BenchmarkFixtures#LARGE_FACTOR}
+ * times its paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestPointBenchmark {
+
+	private static final String OPENAPI_PATH = "/org/opengis/cite/ogcapiprocesses10/openapi/api-processes10.yaml";
+
+	private static final URI IUT = URI.create("https://processing.example.org/oapi-p");
+
+	@Param({ BenchmarkFixtures.REALISTIC, BenchmarkFixtures.LARGE })
+	public String size;
+
+	private OpenApi3 apiModel;
+
+	@Setup
+	public void setup() throws Exception {
+		ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+		ObjectNode definition = (ObjectNode) yamlMapper.readTree(TestPointBenchmark.class.getResource(OPENAPI_PATH));
+		if (BenchmarkFixtures.LARGE.equals(size)) {
+			definition.set("paths",
+					BenchmarkFixtures.replicateMembers(definition.get("paths"), BenchmarkFixtures.LARGE_FACTOR));
+		}
+		File file = Files.createTempFile("openapi-", ".json").toFile();
+		file.deleteOnExit();
+		try {
+			new ObjectMapper().writeValue(file, definition);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		apiModel = new OpenApi3Parser().parse(file, false);
+	}
+
+	@Benchmark
+	public List<TestPoint> retrieveTestPointsForConformance() {
+		return OpenApiUtils.retrieveTestPointsForConformance(apiModel, IUT);
+	}
+
+}
@@ -0,0 +1,71 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.opengis.cite.ogcapiprocesses10.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Measures selecting the links of a landing page by relation and media type, and finding
+ * the media types without a link. The large variant has
+ * {@link BenchmarkFixtures#LARGE_FACTOR} times the links of the recorded landing page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkSelectionBenchmark {
+
+	private static final List<String> MEDIA_TYPES = Arrays.asList("application/json", "text/html");
+
+	private static final String REL = "http://www.opengis.net/def/rel/ogc/1.0/processes";
+
+	@Param({ BenchmarkFixtures.REALISTIC, BenchmarkFixtures.LARGE })
+	public String size;
+
+	private final List<Map<String, Object>> links = new ArrayList<>();
+
+	@Setup
+	public void setup() {
+		JsonNode recorded = BenchmarkFixtures.readJson("landing-page.json").get("links");
+		int factor = BenchmarkFixtures.LARGE.equals(size) ? BenchmarkFixtures.LARGE_FACTOR : 1;
+		for (int i = 0; i < factor; i++) {
+			for (JsonNode link : recorded) {
+				// links as parsed by REST Assured's JsonPath
+				Map<String, Object> map = new HashMap<>();
+				link.fields().forEachRemaining(field -> map.put(field.getKey(), field.getValue().asText()));
+				links.add(map);
+			}
+		}
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> findLinksWithSupportedMediaTypeByRel() {
+		return JsonUtils.findLinksWithSupportedMediaTypeByRel(links, MEDIA_TYPES, REL);
+	}
+
+	@Benchmark
+	public List<String> findUnsupportedTypes() {
+		return JsonUtils.findUnsupportedTypes(links, MEDIA_TYPES);
+	}
+
+}
@@ -0,0 +1,178 @@
+package org.opengis.cite.ogcapiprocesses10;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+import org.opengis.cite.ogcapiprocesses10.util.TestSuiteLogger;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embedded HTTP listener receiving the callbacks of asynchronously executed jobs. Each
+ * execute request may carry a <code>subscriber</code> with callback URIs obtained from
+ * {@link #subscribe()}; when the IUT calls back, the {@link JobMonitor} retrieves the job
+ * status immediately instead of waiting for the next poll.
+ *
+ * <p>
+ * The listener is bound to the port of the callback URL (default 80), which must be
+ * reachable from the IUT. Callbacks for unknown subscriptions are answered with status
+ * code 404.
+ * </p>
+ */
+public class CallbackReceiver implements Closeable {
+
+	private static final String CALLBACK_PATH = "callbacks/";
+
+	private static final String SUCCESS = "success";
+
+	private static final String FAILED = "failed";
+
+	private static final String IN_PROGRESS = "inProgress";
+
+	private final ConcurrentMap<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+	private final URI callbackUrl;
+
+	private final HttpServer server;
+
+	private final ExecutorService executor;
+
+	/**
+	 * Starts a listener receiving callbacks below the given URL.
+	 * @param callbackUrl the base URL of the callbacks as seen by the IUT, never
+	 * <code>null</code>
+	 * @throws java.io.IOException if the listener could not be started
+	 */
+	public CallbackReceiver(URI callbackUrl) throws IOException {
+		String base = callbackUrl.toString();
+		this.callbackUrl = URI.create(base.endsWith("/") ? base : base + "/");
+		int port = callbackUrl.getPort() > 0 ? callbackUrl.getPort() : 80;
+		this.server = HttpServer.create(new InetSocketAddress(port), 0);
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "callback-receiver");
+			thread.setDaemon(true);
+			return thread;
+		});
+		String contextPath = this.callbackUrl.getPath() + CALLBACK_PATH;
+		server.createContext(contextPath.startsWith("/") ? contextPath : "/" + contextPath, this::handle);
+		server.setExecutor(executor);
+		server.start();
+		TestSuiteLogger.log(Level.CONFIG, "Receiving job callbacks at " + this.callbackUrl + CALLBACK_PATH);
+	}
+
+	/**
+	 * Creates a new subscription for the callbacks of one job.
+	 * @return the subscription, never <code>null</code>
+	 */
+	public Subscription subscribe() {
+		Subscription subscription = new Subscription(UUID.randomUUID().toString());
+		subscriptions.put(subscription.id, subscription);
+		return subscription;
+	}
+
+	/**
+	 * Stops the listener; pending subscriptions do not receive any callbacks anymore.
+	 */
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+		subscriptions.clear();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (InputStream body = exchange.getRequestBody()) {
+			body.transferTo(OutputStream.nullOutputStream());
+		}
+		String path = exchange.getRequestURI().getPath();
+		String[] segments = path.substring(path.indexOf(CALLBACK_PATH) + CALLBACK_PATH.length()).split("/");
+		Subscription subscription = segments.length == 2 ? subscriptions.get(segments[0]) : null;
+		if (!"POST".equalsIgnoreCase(exchange.getRequestMethod()) || subscription == null) {
+			exchange.sendResponseHeaders(404, -1);
+			exchange.close();
+			return;
+		}
+		exchange.sendResponseHeaders(204, -1);
+		exchange.close();
+		if (SUCCESS.equals(segments[1]) || FAILED.equals(segments[1])) {
+			subscription.callback.complete(segments[1]);
+		}
+	}
+
+	/**
+	 * The callback URIs registered for one job.
+	 */
+	public class Subscription {
+
+		private final String id;
+
+		private final CompletableFuture<String> callback = new CompletableFuture<>();
+
+		private Subscription(String id) {
+			this.id = id;
+		}
+
+		/**
+		 * @return the URI called by the IUT when the job was successful
+		 */
+		public URI getSuccessUri() {
+			return callbackUrl.resolve(CALLBACK_PATH + id + "/" + SUCCESS);
+		}
+
+		/**
+		 * @return the URI called by the IUT when the job failed
+		 */
+		public URI getFailedUri() {
+			return callbackUrl.resolve(CALLBACK_PATH + id + "/" + FAILED);
+		}
+
+		/**
+		 * @return the URI called by the IUT while the job is running
+		 */
+		public URI getInProgressUri() {
+			return callbackUrl.resolve(CALLBACK_PATH + id + "/" + IN_PROGRESS);
+		}
+
+		/**
+		 * @return a future completed with <code>success</code> or <code>failed</code> as
+		 * soon as the IUT calls back that the job has finished
+		 */
+		public CompletableFuture<String> getCallback() {
+			return callback;
+		}
+
+		/**
+		 * @return the <code>subscriber</code> member of an execute request
+		 */
+		public ObjectNode toSubscriberNode() {
+			ObjectNode subscriberNode = JsonNodeFactory.instance.objectNode();
+			subscriberNode.put("successUri", getSuccessUri().toString());
+			subscriberNode.put("inProgressUri", getInProgressUri().toString());
+			subscriberNode.put("failedUri", getFailedUri().toString());
+			return subscriberNode;
+		}
+
+		/**
+		 * Stops receiving callbacks for this subscription.
+		 */
+		public void cancel() {
+			subscriptions.remove(id, this);
+		}
+
+	}
+
+}
@@ -4,6 +4,7 @@ import com.beust.jcommander.Parameter;
 import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -15,19 +16,26 @@ import java.util.List;
  * <li>deleteSubjectOnFinish: false</li>
  * </ul>
  *
+ * The load test options override the corresponding entries of the XML properties file.
+ *
+ * Several XML properties files, or directories containing XML properties files, may be
+ * given to test several IUTs in one batch; see {@link #getPropertiesFiles()}.
+ *
  * <p>
  * <strong>Synopsis</strong>
  * </p>
  *
  * <pre>
- * ets-${ets-code}-${version}-aio.jar [-o|--outputDir $TMPDIR] [-d|--deleteSubjectOnFinish] [test-run-props.xml]
+ * ets-${ets-code}-${version}-aio.jar [-o|--outputDir $TMPDIR] [-d|--deleteSubjectOnFinish]
+ *     [--loadConcurrency N] [--loadDuration SECONDS] [--loadRequests N]
+ *     [--concurrentRuns N] [--maxParallelism N] [test-run-props.xml|DIR ...]
  * </pre>
  *
  * @author bpr
  */
 public class CommandLineArguments {
 
-	@Parameter(description = "Properties file")
+	@Parameter(description = "Properties files or directories containing properties files")
 	private List<String> xmlProps;
 
 	@Parameter(names = { "-o", "--outputDir" }, description = "Output directory")
@@ -37,6 +45,23 @@ public class CommandLineArguments {
 			description = "Delete file containing representation of test subject when finished")
 	private boolean deleteSubjectOnFinish = false;
 
+	@Parameter(names = { "--loadConcurrency" },
+			description = "Number of concurrent executions of the echo process in the load test")
+	private Integer loadConcurrency;
+
+	@Parameter(names = { "--loadDuration" }, description = "Duration in seconds of each load test")
+	private Integer loadDuration;
+
+	@Parameter(names = { "--loadRequests" }, description = "Number of executions of the echo process in each load test")
+	private Integer loadRequests;
+
+	@Parameter(names = { "--concurrentRuns" },
+			description = "Number of IUTs tested concurrently if several properties files are given")
+	private Integer concurrentRuns;
+
+	@Parameter(names = { "--maxParallelism" }, description = "Maximum number of test methods run in parallel per IUT")
+	private Integer maxParallelism;
+
 	/**
 	 * <p>
 	 * Constructor for CommandLineArguments.
@@ -64,6 +89,33 @@ public class CommandLineArguments {
 		return fileRef;
 	}
 
+	/**
+	 * Returns the XML properties files of the test runs. A directory given as argument
+	 * stands for the XML properties files (<code>*.xml</code>) it contains, in the order
+	 * of their names.
+	 * @return the XML properties files, never empty; the file located at
+	 * ${user.home}/test-run-props.xml if no argument is given
+	 */
+	public List<File> getPropertiesFiles() {
+		List<File> files = new ArrayList<>();
+		if (xmlProps.isEmpty()) {
+			files.add(getPropertiesFile());
+			return files;
+		}
+		for (String propsFile : xmlProps) {
+			File fileRef = (propsFile.startsWith("file:")) ? new File(URI.create(propsFile)) : new File(propsFile);
+			File[] dirFiles = fileRef.isDirectory() ? fileRef.listFiles((dir, name) -> name.endsWith(".xml")) : null;
+			if (dirFiles != null) {
+				Arrays.sort(dirFiles);
+				files.addAll(Arrays.asList(dirFiles));
+			}
+			else {
+				files.add(fileRef);
+			}
+		}
+		return files;
+	}
+
 	/**
 	 * <p>
 	 * Getter for the field <code>outputDir</code>.
@@ -84,4 +136,56 @@ public class CommandLineArguments {
 		return deleteSubjectOnFinish;
 	}
 
+	/**
+	 * <p>
+	 * Getter for the field <code>loadConcurrency</code>.
+	 * </p>
+	 * @return the number of concurrent executions in the load test, <code>null</code> if
+	 * not set
+	 */
+	public Integer getLoadConcurrency() {
+		return loadConcurrency;
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>loadDuration</code>.
+	 * </p>
+	 * @return the duration in seconds of each load test, <code>null</code> if not set
+	 */
+	public Integer getLoadDuration() {
+		return loadDuration;
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>loadRequests</code>.
+	 * </p>
+	 * @return the number of executions in each load test, <code>null</code> if not set
+	 */
+	public Integer getLoadRequests() {
+		return loadRequests;
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>concurrentRuns</code>.
+	 * </p>
+	 * @return the number of IUTs tested concurrently, <code>null</code> if not set
+	 */
+	public Integer getConcurrentRuns() {
+		return concurrentRuns;
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>maxParallelism</code>.
+	 * </p>
+	 * @return the maximum number of test methods run in parallel per IUT,
+	 * <code>null</code> if not set
+	 */
+	public Integer getMaxParallelism() {
+		return maxParallelism;
+	}
+
 }
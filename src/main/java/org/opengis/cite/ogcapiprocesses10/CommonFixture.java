@@ -4,13 +4,8 @@ import static io.restassured.RestAssured.given;
 import static io.restassured.http.ContentType.HTML;
 import static io.restassured.http.Method.GET;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.PrintStream;
-import java.net.MalformedURLException;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -19,14 +14,27 @@ import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.openapi4j.core.validation.ValidationResults;
 import org.openapi4j.core.validation.ValidationResults.ValidationItem;
 import org.openapi4j.parser.model.v3.OpenApi3;
 import org.openapi4j.parser.model.v3.Server;
-import org.opengis.cite.ogcapiprocesses10.util.JsonUtils;
+import org.opengis.cite.ogcapiprocesses10.ExchangeTiming.Phase;
+import org.opengis.cite.ogcapiprocesses10.openapi3.OperationValidatorRegistry;
+import org.opengis.cite.ogcapiprocesses10.util.BoundedCaptureInputStream;
+import org.opengis.cite.ogcapiprocesses10.util.DiagnosticContent;
+import org.opengis.cite.ogcapiprocesses10.util.ExchangeCassette;
+import org.opengis.cite.ogcapiprocesses10.util.ExchangeTimingInstrumentation;
+import org.opengis.cite.ogcapiprocesses10.util.JsonSchemaRegistry;
+import org.opengis.cite.ogcapiprocesses10.util.PagedListWalker;
+import org.opengis.cite.ogcapiprocesses10.util.RequestExecutor;
 import org.opengis.cite.ogcapiprocesses10.util.TestSuiteLogger;
 import org.testng.ITestContext;
 import org.testng.ITestResult;
@@ -36,16 +44,11 @@ import org.testng.annotations.BeforeMethod;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
-import com.networknt.schema.JsonSchema;
-import com.networknt.schema.JsonSchemaFactory;
-import com.networknt.schema.SchemaValidatorsConfig;
-import com.networknt.schema.SpecVersion;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.networknt.schema.ValidationMessage;
 
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
@@ -57,13 +60,7 @@ import io.restassured.specification.RequestSpecification;
  */
 public class CommonFixture {
 
-	private ByteArrayOutputStream requestOutputStream = new ByteArrayOutputStream();
-
-	private ByteArrayOutputStream responseOutputStream = new ByteArrayOutputStream();
-
-	protected RequestLoggingFilter requestLoggingFilter;
-
-	protected ResponseLoggingFilter responseLoggingFilter;
+	private final ThreadLocal<ExchangeCapture> exchange = new ThreadLocal<>();
 
 	protected URL specURL;
 
@@ -73,28 +70,54 @@ public class CommonFixture {
 
 	protected boolean testAllProcesses = false;
 
-	/** A String representing the request. */
-	protected HttpRequest reqEntity;
+	/** Whether the JSON schemas are read from the schema catalog bundled with the ETS. */
+	protected boolean useSchemaCatalog = false;
+
+	/** The number of items requested per page when walking paged lists. */
+	protected int pageSize = PagedListWalker.DEFAULT_PAGE_SIZE;
+
+	/** The pooled HTTP client shared by all test classes. */
+	protected CloseableHttpClient httpClient;
+
+	/** The OpenAPI operation validators shared by all test classes. */
+	protected OperationValidatorRegistry operationValidators;
+
+	/** The process descriptions shared by all test classes. */
+	protected ProcessDescriptionRepository processDescriptions;
 
-	/** An Object representing the content of the response message. */
-	protected Object rspEntity;
+	/** The monitor of asynchronously executed jobs shared by all test classes. */
+	protected JobMonitor jobMonitor;
+
+	/** The cassette recording or replaying the exchanges, <code>null</code> if none. */
+	private ExchangeCassette cassette;
 
 	protected final String CONTENT_TYPE = "Content-Type";
 
-	protected final String CONTENT_MEDIA_TYPE_PROPERTY_KEY = "contentMediaType";
+	protected static final String CONTENT_MEDIA_TYPE_PROPERTY_KEY = "contentMediaType";
 
-	protected final String CONTENT_SCHEMA_PROPERTY_KEY = "contentSchema";
+	protected static final String CONTENT_SCHEMA_PROPERTY_KEY = "contentSchema";
 
-	protected final String CONTENT_ENCODING_PROPERTY_KEY = "contentEncoding";
+	protected static final String CONTENT_ENCODING_PROPERTY_KEY = "contentEncoding";
 
+	/**
+	 * Maximum number of characters of a request or response included in a failure report.
+	 * Streamed JSON responses capture no more than this.
+	 */
 	private static final int MAX_RSP_ATTR_LENGTH = 4096;
 
+	/** Shared reader used to parse JSON responses. */
+	protected static final ObjectReader JSON_READER = new ObjectMapper().reader();
+
 	private static final String REQ_ATTR = "request";
 
 	private static final String REQ_POST_ATTR = "post-request";
 
 	private static final String RSP_ATTR = "response";
 
+	private static final String EXCHANGE_ATTR = ExchangeCapture.class.getName();
+
+	private static final String TIMINGS_ATTR = "timings";
+
 	/**
 	 * Initializes the common test fixture with a client component for interacting with
 	 * HTTP endpoints.
@@ -103,32 +126,192 @@ public class CommonFixture {
 	 */
 	@BeforeClass
 	public void initCommonFixture(ITestContext testContext) {
-		initLogging();
+		exchange.set(new ExchangeCapture());
 		rootUri = (URI) testContext.getSuite().getAttribute(SuiteAttribute.IUT.getName());
+		httpClient = (CloseableHttpClient) testContext.getSuite()
+			.getAttribute(SuiteAttribute.POOLED_HTTP_CLIENT.getName());
+		processDescriptions = (ProcessDescriptionRepository) testContext.getSuite()
+			.getAttribute(SuiteAttribute.PROCESS_DESCRIPTIONS.getName());
 		limit = (Integer) testContext.getSuite().getAttribute(SuiteAttribute.PROCESS_TEST_LIMIT.getName());
+		testAllProcesses = Boolean.TRUE
+			.equals(testContext.getSuite().getAttribute(SuiteAttribute.TEST_ALL_PROCESSES.getName()));
+		useSchemaCatalog = Boolean.TRUE
+			.equals(testContext.getSuite().getAttribute(SuiteAttribute.USE_SCHEMA_CATALOG.getName()));
+		Integer pageSizeAttribute = (Integer) testContext.getSuite().getAttribute(SuiteAttribute.PAGE_SIZE.getName());
+		if (pageSizeAttribute != null && pageSizeAttribute > 0) {
+			pageSize = pageSizeAttribute;
+		}
 		boolean useLocalSchema = (boolean) testContext.getSuite()
 			.getAttribute(SuiteAttribute.USE_LOCAL_SCHEMA.getName());
-		if (useLocalSchema) {
-			specURL = getClass().getResource("/org/opengis/cite/ogcapiprocesses10/openapi/api-processes10.yaml");
+		jobMonitor = (JobMonitor) testContext.getSuite().getAttribute(SuiteAttribute.JOB_MONITOR.getName());
+		cassette = (ExchangeCassette) testContext.getSuite().getAttribute(SuiteAttribute.EXCHANGE_CASSETTE.getName());
+		operationValidators = (OperationValidatorRegistry) testContext.getSuite()
+			.getAttribute(SuiteAttribute.OPERATION_VALIDATORS.getName());
+		specURL = operationValidators != null ? operationValidators.getSpecURL()
+				: OperationValidatorRegistry.getSpecURL(useLocalSchema);
+	}
+
+	/**
+	 * Starts a new capture of the messages exchanged by the test method invocation and
+	 * binds it to the test result.
+	 * @param result the result of the test method invocation
+	 */
+	@BeforeMethod
+	public void clearMessages(ITestResult result) {
+		ExchangeCapture capture = new ExchangeCapture();
+		exchange.set(capture);
+		result.setAttribute(EXCHANGE_ATTR, capture);
+	}
+
+	/**
+	 * Releases the connections of all responses received by the current test method that
+	 * were not fully consumed, so that they are returned to the shared connection pool.
+	 * The timings of the exchanges are attached to the test result (attribute "timings").
+	 * @param result the result of the test method invocation
+	 */
+	@AfterMethod(alwaysRun = true)
+	public void releaseConnections(ITestResult result) {
+		ExchangeCapture capture = getExchange(result);
+		capture.releaseConnections();
+		if (!capture.getTimings().isEmpty()) {
+			result.setAttribute(TIMINGS_ATTR, capture.getTimingLog());
 		}
-		else {
-			try {
-				specURL = new URI("https://developer.ogc.org/api/processes/openapi.yaml").toURL();
-			}
-			catch (MalformedURLException | URISyntaxException e) {
-				e.printStackTrace();
-			}
+	}
+
+	/**
+	 * Returns the capture of the messages exchanged by the test method invocation running
+	 * on the current thread.
+	 * @return the capture, never <code>null</code>
+	 */
+	protected ExchangeCapture getExchange() {
+		ExchangeCapture capture = exchange.get();
+		if (capture == null) {
+			capture = new ExchangeCapture();
+			exchange.set(capture);
 		}
+		return capture;
 	}
 
 	/**
-	 * <p>
-	 * clearMessages.
-	 * </p>
+	 * Returns the capture of the messages exchanged by a test method invocation.
+	 * @param result the result of the test method invocation
+	 * @return the capture bound to the test result, <code>null</code> if none is bound
 	 */
-	@BeforeMethod
-	public void clearMessages() {
-		initLogging();
+	public static ExchangeCapture findExchange(ITestResult result) {
+		Object capture = result.getAttribute(EXCHANGE_ATTR);
+		return capture instanceof ExchangeCapture ? (ExchangeCapture) capture : null;
+	}
+
+	private ExchangeCapture getExchange(ITestResult result) {
+		ExchangeCapture capture = findExchange(result);
+		return capture != null ? capture : getExchange();
+	}
+
+	/**
+	 * @param request the last request sent by the current test method invocation
+	 */
+	protected void setRequestEntity(HttpRequest request) {
+		getExchange().setRequestEntity(request);
+	}
+
+	/**
+	 * @param responseEntity the content of the last response received by the current test
+	 * method invocation
+	 */
+	protected void setResponseEntity(Object responseEntity) {
+		getExchange().setResponseEntity(responseEntity);
+	}
+
+	/**
+	 * @param responseEntity the content of another response received by the current test
+	 * method invocation
+	 */
+	protected void appendResponseEntity(Object responseEntity) {
+		getExchange().appendResponseEntity(responseEntity);
+	}
+
+	/**
+	 * Executes a request using the pooled HTTP client. The connection is released to the
+	 * pool as soon as the response entity has been consumed, or after the test method
+	 * completed otherwise. The phases of the exchange are timed.
+	 * @param request the request to execute
+	 * @return the response to the request
+	 * @throws java.io.IOException in case of a problem or the connection was aborted
+	 */
+	protected HttpResponse executeRequest(HttpUriRequest request) throws IOException {
+		return executeRequest(request, getExchange());
+	}
+
+	/**
+	 * Returns an executor of requests bound to the capture of the test method invocation
+	 * running on the current thread, so that requests executed on other threads on behalf
+	 * of the invocation are captured and timed as well.
+	 * @return the request executor, never <code>null</code>
+	 * @see #executeRequest(HttpUriRequest)
+	 */
+	protected RequestExecutor getRequestExecutor() {
+		return getRequestExecutor(getExchange());
+	}
+
+	/**
+	 * Returns an executor of requests bound to the given capture, e.g. for requests sent
+	 * before the test method invocation they are executed for has started.
+	 * @param capture the capture of the exchanges, never <code>null</code>
+	 * @return the request executor, never <code>null</code>
+	 * @see #executeRequest(HttpUriRequest)
+	 */
+	protected RequestExecutor getRequestExecutor(ExchangeCapture capture) {
+		return request -> executeRequest(request, capture);
+	}
+
+	private HttpResponse executeRequest(HttpUriRequest request, ExchangeCapture capture) throws IOException {
+		ExchangeTiming timing = new ExchangeTiming(request.getMethod(), String.valueOf(request.getURI()));
+		HttpClientContext context = HttpClientContext.create();
+		context.setAttribute(ExchangeTimingInstrumentation.TIMING_ATTRIBUTE, timing);
+		HttpResponse httpResponse = httpClient.execute(request, context);
+		capture.addOpenResponse(httpResponse);
+		capture.addTiming(httpResponse, timing);
+		return httpResponse;
+	}
+
+	/**
+	 * Walks the pages of a paged list with the pooled HTTP client, requesting
+	 * {@link #pageSize} items per page, and checks that they are consistent (see
+	 * {@link PagedListWalker}). The last page requested is kept for the failure report.
+	 * @param listUri the URI of the list, without query
+	 * @param itemsField the name of the array listing the items of a page
+	 * @param idField the name of the member identifying an item
+	 * @return the result of the walk, never <code>null</code>
+	 * @throws java.io.IOException if a page could not be retrieved or is not a JSON
+	 * object
+	 */
+	protected PagedListWalker.Result walkPages(String listUri, String itemsField, String idField) throws IOException {
+		return walkPages(listUri, itemsField, idField, false);
+	}
+
+	/**
+	 * Walks the pages of a paged list like {@link #walkPages(String, String, String)}.
+	 * Inconsistencies reported as warnings are logged.
+	 * @param listUri the URI of the list, without query
+	 * @param itemsField the name of the array listing the items of a page
+	 * @param idField the name of the member identifying an item
+	 * @param changing <code>true</code> if the list may change while it is walked (see
+	 * {@link PagedListWalker})
+	 * @return the result of the walk, never <code>null</code>
+	 * @throws java.io.IOException if a page could not be retrieved or is not a JSON
+	 * object
+	 */
+	protected PagedListWalker.Result walkPages(String listUri, String itemsField, String idField, boolean changing)
+			throws IOException {
+		PagedListWalker walker = new PagedListWalker(this::executeRequest, itemsField, idField, changing);
+		PagedListWalker.Result result = walker.walk(listUri + "?limit=" + pageSize, pageSize);
+		if (result.getLastPageUri() != null) {
+			setRequestEntity(new HttpGet(result.getLastPageUri()));
+			setResponseEntity(result.getLastPageContent());
+		}
+		TestSuiteLogger.log(result.getWarningCount() > 0 ? Level.WARNING : Level.FINE,
+				"Walked " + listUri + ": " + result);
+		return result;
 	}
 
 	/**
@@ -138,7 +321,7 @@ public class CommonFixture {
 	 * @return a {@link java.lang.String} object
 	 */
 	public String getRequest() {
-		return requestOutputStream.toString();
+		return getExchange().getRequestLog();
 	}
 
 	/**
@@ -148,7 +331,7 @@ public class CommonFixture {
 	 * @return a {@link java.lang.String} object
 	 */
 	public String getResponse() {
-		return responseOutputStream.toString();
+		return getExchange().getResponseLog();
 	}
 
 	/**
@@ -158,7 +341,13 @@ public class CommonFixture {
 	 * @return a {@link io.restassured.specification.RequestSpecification} object
 	 */
 	protected RequestSpecification init() {
-		return given().filters(requestLoggingFilter, responseLoggingFilter).log().all();
+		ExchangeCapture capture = getExchange();
+		RequestSpecification spec = given().filters(capture.getRequestLoggingFilter(),
+				capture.getResponseLoggingFilter(), capture.getTimingFilter());
+		if (cassette != null) {
+			spec = spec.filter(cassette.createFilter());
+		}
+		return spec.log().all();
 	}
 
 	/**
@@ -192,17 +381,26 @@ public class CommonFixture {
 	 * @return a boolean
 	 */
 	protected boolean validateResponseAgainstSchema(String urlSchema, String body) {
-		ObjectMapper objMapper = new ObjectMapper(new YAMLFactory());
-		JsonSchemaFactory factory = JsonSchemaFactory.builder(JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7))
-			.objectMapper(objMapper)
-			.build();
-		SchemaValidatorsConfig config = new SchemaValidatorsConfig();
-		config.setTypeLoose(false);
 		try {
-			JsonSchema jsonSchema = factory.getSchema(new URI(urlSchema), config);
-			ObjectMapper objectMapper = new ObjectMapper();
-			JsonNode json = objectMapper.readTree(body);
-			Set<ValidationMessage> validationResult = jsonSchema.validate(json);
+			return validateResponseAgainstSchema(urlSchema, JSON_READER.readTree(body));
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Validates an already parsed response against a JSON schema.
+	 * @param urlSchema the URI of the schema
+	 * @param json the parsed response
+	 * @return <code>true</code> if the response is valid, <code>false</code> otherwise
+	 */
+	protected boolean validateResponseAgainstSchema(String urlSchema, JsonNode json) {
+		ExchangeTiming timing = getExchange().getLastTiming();
+		long start = System.nanoTime();
+		try {
+			Set<ValidationMessage> validationResult = JsonSchemaRegistry.validate(urlSchema, json, useSchemaCatalog);
 			if (validationResult.isEmpty()) {
 				System.out.println("no validation errors :-)");
 				return true;
@@ -216,6 +414,47 @@ public class CommonFixture {
 			e.printStackTrace();
 			return false;
 		}
+		finally {
+			if (timing != null) {
+				timing.add(Phase.VALIDATE, System.nanoTime() - start);
+			}
+		}
+	}
+
+	/**
+	 * Parses the JSON entity of a response while streaming it. The parsed node is meant
+	 * to be passed to all validators; only the beginning of the entity is kept as
+	 * response entity for failure reports.
+	 * @param httpResponse the response to read
+	 * @return the parsed entity, a {@link MissingNode} if the response has no entity
+	 * @throws java.io.IOException if the entity could not be read or is not valid JSON
+	 */
+	protected JsonNode readJsonResponse(HttpResponse httpResponse) throws IOException {
+		HttpEntity entity = httpResponse.getEntity();
+		if (entity == null) {
+			setResponseEntity("");
+			return MissingNode.getInstance();
+		}
+		ExchangeTiming timing = getExchange().findTiming(httpResponse);
+		long downloadBefore = timing != null ? Math.max(0, timing.get(Phase.DOWNLOAD)) : 0;
+		long start = System.nanoTime();
+		try (BoundedCaptureInputStream content = new BoundedCaptureInputStream(entity.getContent(),
+				MAX_RSP_ATTR_LENGTH)) {
+			try {
+				return JSON_READER.readTree(content);
+			}
+			finally {
+				setResponseEntity(content);
+			}
+		}
+		finally {
+			if (timing != null) {
+				// the entity is parsed while streaming, the time waiting for it is
+				// download
+				long download = Math.max(0, timing.get(Phase.DOWNLOAD)) - downloadBefore;
+				timing.add(Phase.PARSE, System.nanoTime() - start - download);
+			}
+		}
 	}
 
 	/**
@@ -235,15 +474,6 @@ public class CommonFixture {
 		String bodyHTML = request.getBody().asString();
 	}
 
-	private void initLogging() {
-		this.requestOutputStream = new ByteArrayOutputStream();
-		this.responseOutputStream = new ByteArrayOutputStream();
-		PrintStream requestPrintStream = new PrintStream(requestOutputStream, true);
-		PrintStream responsePrintStream = new PrintStream(responseOutputStream, true);
-		requestLoggingFilter = new RequestLoggingFilter(requestPrintStream);
-		responseLoggingFilter = new ResponseLoggingFilter(responsePrintStream);
-	}
-
 	/**
 	 * <p>
 	 * printResults.
@@ -283,7 +513,7 @@ public class CommonFixture {
 	 * @param id a {@link java.lang.String} object
 	 * @return a {@link org.opengis.cite.ogcapiprocesses10.CommonFixture.Input} object
 	 */
-	protected Input createInput(JsonNode schemaNode, String id) {
+	protected static Input createInput(JsonNode schemaNode, String id) {
 		Input input = new Input(id);
 		JsonNode typeNode = schemaNode.get("type");
 		if (typeNode != null) {
@@ -414,7 +644,7 @@ public class CommonFixture {
 		return input;
 	}
 
-	private boolean checkAllOfForBbox(JsonNode schemaNode) {
+	private static boolean checkAllOfForBbox(JsonNode schemaNode) {
 		JsonNode allOfNode = schemaNode.get("allOf");
 		if (allOfNode != null) {
 			if (allOfNode instanceof ArrayNode) {
@@ -438,7 +668,7 @@ public class CommonFixture {
 	 * @param id a {@link java.lang.String} object
 	 * @return a {@link org.opengis.cite.ogcapiprocesses10.CommonFixture.Output} object
 	 */
-	protected Output createOutput(JsonNode schemaNode, String id) {
+	protected static Output createOutput(JsonNode schemaNode, String id) {
 		Output output = new Output(id);
 		JsonNode typeNode = schemaNode.get("type");
 		if (typeNode != null) {
@@ -456,7 +686,7 @@ public class CommonFixture {
 		return output;
 	}
 
-	public class Type {
+	public static class Type {
 
 		private String typeDefinition;
 
@@ -527,7 +757,7 @@ public class CommonFixture {
 
 	}
 
-	public class Input {
+	public static class Input {
 
 		protected String id;
 
@@ -590,7 +820,7 @@ public class CommonFixture {
 
 	}
 
-	public class Output {
+	public static class Output {
 
 		private String id;
 
@@ -653,20 +883,25 @@ public class CommonFixture {
 		if (result.getStatus() != ITestResult.FAILURE) {
 			return;
 		}
-		if (null != this.reqEntity) {
-			result.setAttribute(REQ_ATTR, this.reqEntity.toString());
+		ExchangeCapture capture = getExchange(result);
+		HttpRequest reqEntity = capture.getRequestEntity();
+		DiagnosticContent rspContent = capture.getResponseContent();
+		if (null != reqEntity) {
+			result.setAttribute(REQ_ATTR, reqEntity.toString());
 		}
-		if (null != this.reqEntity) {
+		if (null != reqEntity) {
 			String request = "";
-			if (this.reqEntity instanceof HttpGet) {
-				request = this.reqEntity.toString();
+			if (reqEntity instanceof HttpGet) {
+				request = reqEntity.toString();
 			}
 			else {
 				// https://github.com/opengeospatial/ets-ogcapi-processes10/issues/51
 				try {
-					HttpPost postRequest = (HttpPost) this.reqEntity;
+					HttpPost postRequest = (HttpPost) reqEntity;
 					result.setAttribute(REQ_POST_ATTR, postRequest.toString());
-					request = JsonUtils.inputStreamToString(postRequest.getEntity().getContent());
+					DiagnosticContent requestContent = new DiagnosticContent();
+					requestContent.set(postRequest.getEntity().getContent());
+					request = requestContent.render(MAX_RSP_ATTR_LENGTH);
 					// we have to add a "<" at the start, because this is used by TEAM
 					// Engine EarlReporter
 					// to differentiate between GET and POST.
@@ -678,27 +913,8 @@ public class CommonFixture {
 			}
 			result.setAttribute(REQ_ATTR, request);
 		}
-		if (null != this.rspEntity) {
-			StringBuilder response = new StringBuilder();
-			if (this.rspEntity instanceof InputStream) {
-				try {
-					response = response.append(JsonUtils.inputStreamToString((InputStream) rspEntity));
-				}
-				catch (IOException e) {
-					TestSuiteLogger.log(Level.WARNING, "Could not write response to String.", e);
-				}
-			}
-			else if (rspEntity instanceof String) {
-				response = response.append((String) rspEntity);
-			}
-			String responseString = JsonUtils.prettifyString(response.toString());
-			if (response.length() > MAX_RSP_ATTR_LENGTH) {
-				response = new StringBuilder();
-				response.append(responseString);
-				response.delete(MAX_RSP_ATTR_LENGTH, response.length());
-				responseString = response.toString();
-			}
-			result.setAttribute(RSP_ATTR, responseString);
+		if (!rspContent.isEmpty()) {
+			result.setAttribute(RSP_ATTR, rspContent.render(MAX_RSP_ATTR_LENGTH));
 		}
 	}
 
@@ -0,0 +1,211 @@
+package org.opengis.cite.ogcapiprocesses10;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.util.EntityUtils;
+import org.opengis.cite.ogcapiprocesses10.util.DiagnosticContent;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.response.Response;
+
+/**
+ * Captures the messages exchanged with the IUT during one invocation of a test method:
+ * the last request sent, the content of the last response received and the messages
+ * logged by REST Assured. The capture is bound to the test result of the invocation, so
+ * that diagnostic information is not mixed up when test methods run in parallel.
+ *
+ * <p>
+ * The capture also collects the {@link ExchangeTiming timings} of the exchanges. Requests
+ * sent with REST Assured are timed as a whole only, as REST Assured uses its own HTTP
+ * client.
+ * </p>
+ */
+public class ExchangeCapture {
+
+	private final ByteArrayOutputStream requestOutputStream = new ByteArrayOutputStream();
+
+	private final ByteArrayOutputStream responseOutputStream = new ByteArrayOutputStream();
+
+	private final RequestLoggingFilter requestLoggingFilter = new RequestLoggingFilter(
+			new PrintStream(requestOutputStream, true));
+
+	private final ResponseLoggingFilter responseLoggingFilter = new ResponseLoggingFilter(
+			new PrintStream(responseOutputStream, true));
+
+	private final List<HttpResponse> openResponses = Collections.synchronizedList(new ArrayList<>());
+
+	private final List<ExchangeTiming> timings = new CopyOnWriteArrayList<>();
+
+	private final Map<HttpResponse, ExchangeTiming> responseTimings = Collections
+		.synchronizedMap(new IdentityHashMap<>());
+
+	private final Filter timingFilter = (requestSpec, responseSpec, ctx) -> {
+		ExchangeTiming timing = new ExchangeTiming(requestSpec.getMethod(), requestSpec.getURI());
+		addTiming(timing);
+		Response response = ctx.next(requestSpec, responseSpec);
+		timing.setStatusCode(response.getStatusCode());
+		timing.finish();
+		return response;
+	};
+
+	private HttpRequest requestEntity;
+
+	private final DiagnosticContent responseContent = new DiagnosticContent();
+
+	/**
+	 * @return the last request sent, may be <code>null</code>
+	 */
+	public HttpRequest getRequestEntity() {
+		return requestEntity;
+	}
+
+	/**
+	 * @param requestEntity the last request sent
+	 */
+	public void setRequestEntity(HttpRequest requestEntity) {
+		this.requestEntity = requestEntity;
+	}
+
+	/**
+	 * @return the content of the responses received, rendered only for failure reports
+	 */
+	public DiagnosticContent getResponseContent() {
+		return responseContent;
+	}
+
+	/**
+	 * @param responseEntity the content of the last response received (see
+	 * {@link DiagnosticContent} for the supported types), replaces the content before
+	 */
+	public void setResponseEntity(Object responseEntity) {
+		responseContent.set(responseEntity);
+	}
+
+	/**
+	 * @param responseEntity the content of another response received, appended to the
+	 * content before
+	 */
+	public void appendResponseEntity(Object responseEntity) {
+		responseContent.append(responseEntity);
+	}
+
+	/**
+	 * @return the filter logging the requests sent with REST Assured
+	 */
+	public RequestLoggingFilter getRequestLoggingFilter() {
+		return requestLoggingFilter;
+	}
+
+	/**
+	 * @return the filter logging the responses received with REST Assured
+	 */
+	public ResponseLoggingFilter getResponseLoggingFilter() {
+		return responseLoggingFilter;
+	}
+
+	/**
+	 * @return the filter timing the requests sent with REST Assured
+	 */
+	public Filter getTimingFilter() {
+		return timingFilter;
+	}
+
+	/**
+	 * @return the requests logged by REST Assured
+	 */
+	public String getRequestLog() {
+		return requestOutputStream.toString();
+	}
+
+	/**
+	 * @return the responses logged by REST Assured
+	 */
+	public String getResponseLog() {
+		return responseOutputStream.toString();
+	}
+
+	/**
+	 * Keeps a response whose connection is released by {@link #releaseConnections()}.
+	 * @param httpResponse the response, never <code>null</code>
+	 */
+	public void addOpenResponse(HttpResponse httpResponse) {
+		openResponses.add(httpResponse);
+	}
+
+	/**
+	 * Adds the timing of an exchange.
+	 * @param timing the timing, never <code>null</code>
+	 */
+	public void addTiming(ExchangeTiming timing) {
+		timings.add(timing);
+	}
+
+	/**
+	 * Adds the timing of an exchange that received the given response.
+	 * @param httpResponse the response, never <code>null</code>
+	 * @param timing the timing, never <code>null</code>
+	 */
+	public void addTiming(HttpResponse httpResponse, ExchangeTiming timing) {
+		addTiming(timing);
+		responseTimings.put(httpResponse, timing);
+	}
+
+	/**
+	 * @param httpResponse a response
+	 * @return the timing of the exchange that received the response, <code>null</code> if
+	 * it was not timed
+	 */
+	public ExchangeTiming findTiming(HttpResponse httpResponse) {
+		return responseTimings.get(httpResponse);
+	}
+
+	/**
+	 * @return the timing of the last exchange, <code>null</code> if there was none
+	 */
+	public ExchangeTiming getLastTiming() {
+		return timings.isEmpty() ? null : timings.get(timings.size() - 1);
+	}
+
+	/**
+	 * @return the timings of all exchanges (unmodifiable)
+	 */
+	public List<ExchangeTiming> getTimings() {
+		return Collections.unmodifiableList(timings);
+	}
+
+	/**
+	 * @return the timings of all exchanges, one per line
+	 */
+	public String getTimingLog() {
+		StringBuilder sb = new StringBuilder();
+		for (ExchangeTiming timing : timings) {
+			sb.append(timing).append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Releases the connections of all responses that were not fully consumed.
+	 */
+	public void releaseConnections() {
+		synchronized (openResponses) {
+			for (HttpResponse httpResponse : openResponses) {
+				EntityUtils.consumeQuietly(httpResponse.getEntity());
+			}
+			openResponses.clear();
+		}
+		responseTimings.clear();
+	}
+
+}
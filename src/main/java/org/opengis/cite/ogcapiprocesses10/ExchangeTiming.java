@@ -0,0 +1,155 @@
+package org.opengis.cite.ogcapiprocesses10;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The durations of the phases of one exchange with the IUT. The phases are measured by
+ * the instrumentation of the pooled HTTP client (see
+ * {@link org.opengis.cite.ogcapiprocesses10.util.ExchangeTimingInstrumentation}) and by
+ * the test fixture parsing and validating the response. Phases that were not measured,
+ * e.g. DNS resolution and connecting for a request sent on a reused connection, have a
+ * duration of -1.
+ */
+public class ExchangeTiming {
+
+	/**
+	 * The phases of an exchange.
+	 */
+	public enum Phase {
+
+		/** Resolving the host name. */
+		DNS("dns"),
+		/** Establishing the TCP connection. */
+		CONNECT("connect"),
+		/** The TLS handshake. */
+		TLS("tls"),
+		/**
+		 * Sending the request and waiting for the response headers, including the wait
+		 * for a pooled connection.
+		 */
+		TTFB("ttfb"),
+		/** Time spent waiting for the response entity while reading it. */
+		DOWNLOAD("download"),
+		/** Parsing the response entity. */
+		PARSE("parse"),
+		/** Validating the response entity against a schema. */
+		VALIDATE("validate"),
+		/** From sending the request until the response entity was read. */
+		TOTAL("total");
+
+		private final String name;
+
+		Phase(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * @return the name of the phase in reports
+		 */
+		public String getName() {
+			return name;
+		}
+
+	}
+
+	private final AtomicLongArray durations = new AtomicLongArray(Phase.values().length);
+
+	private final long startNanos = System.nanoTime();
+
+	private final String method;
+
+	private final String uri;
+
+	private volatile int statusCode = -1;
+
+	/**
+	 * Starts timing an exchange.
+	 * @param method the method of the request, never <code>null</code>
+	 * @param uri the URI of the request, never <code>null</code>
+	 */
+	public ExchangeTiming(String method, String uri) {
+		this.method = method;
+		this.uri = uri;
+		for (int i = 0; i < durations.length(); i++) {
+			durations.set(i, -1);
+		}
+	}
+
+	/**
+	 * Adds a duration to a phase of the exchange.
+	 * @param phase the phase, never <code>null</code>
+	 * @param nanos the duration in nanoseconds
+	 */
+	public void add(Phase phase, long nanos) {
+		long duration = Math.max(0, nanos);
+		durations.accumulateAndGet(phase.ordinal(), duration, (current, x) -> current < 0 ? x : current + x);
+	}
+
+	/**
+	 * Sets the {@link Phase#TOTAL total} duration of the exchange to the time elapsed
+	 * since it started, unless it was set before.
+	 */
+	public void finish() {
+		durations.compareAndSet(Phase.TOTAL.ordinal(), -1, System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * @param phase the phase, never <code>null</code>
+	 * @return the duration of the phase in nanoseconds, -1 if it was not measured
+	 */
+	public long get(Phase phase) {
+		return durations.get(phase.ordinal());
+	}
+
+	/**
+	 * @return the value of {@link System#nanoTime()} when the exchange started
+	 */
+	public long getStartNanos() {
+		return startNanos;
+	}
+
+	/**
+	 * @return the status code of the response, -1 if no response was received
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * @param statusCode the status code of the response
+	 */
+	public void setStatusCode(int statusCode) {
+		this.statusCode = statusCode;
+	}
+
+	/**
+	 * @return the method and the URI (without query) of the request
+	 */
+	public String getEndpoint() {
+		int query = uri.indexOf('?');
+		return method + " " + (query < 0 ? uri : uri.substring(0, query));
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(method).append(' ').append(uri);
+		if (statusCode >= 0) {
+			sb.append(' ').append(statusCode);
+		}
+		String separator = ": ";
+		for (Phase phase : Phase.values()) {
+			long nanos = get(phase);
+			if (nanos >= 0) {
+				sb.append(separator)
+					.append(phase.getName())
+					.append(' ')
+					.append(String.format(Locale.ROOT, "%.1f ms", nanos / 1e6));
+				separator = ", ";
+			}
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,179 @@
+package org.opengis.cite.ogcapiprocesses10;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+
+import org.opengis.cite.ogcapiprocesses10.ExchangeTiming.Phase;
+import org.opengis.cite.ogcapiprocesses10.load.LatencyHistogram;
+import org.opengis.cite.ogcapiprocesses10.util.TestSuiteLogger;
+import org.testng.ISuite;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Aggregates the {@link ExchangeTiming timings} of the exchanges with the IUT per test
+ * class: for each phase the number of measurements, mean, 95th percentile and maximum,
+ * and the slowest endpoints by mean total duration. The report is written to
+ * <code>exchange-timings.json</code> in the TestNG output directory.
+ */
+public class ExchangeTimingReport {
+
+	/**
+	 * The name of the report file.
+	 */
+	public static final String REPORT_FILE_NAME = "exchange-timings.json";
+
+	private static final int MAX_ENDPOINTS = 10;
+
+	private final Map<String, ClassTimings> classes = new TreeMap<>();
+
+	/**
+	 * Adds the timings of the exchanges of a test method invocation.
+	 * @param result the result of the test method invocation, never <code>null</code>
+	 */
+	public void add(ITestResult result) {
+		ExchangeCapture capture = CommonFixture.findExchange(result);
+		if (capture == null || capture.getTimings().isEmpty()) {
+			return;
+		}
+		ClassTimings classTimings = classes.computeIfAbsent(result.getTestClass().getName(),
+				name -> new ClassTimings());
+		for (ExchangeTiming timing : capture.getTimings()) {
+			classTimings.add(timing);
+		}
+	}
+
+	/**
+	 * Adds the timings of all test method invocations of a test suite.
+	 * @param suite the test suite, never <code>null</code>
+	 */
+	public void add(ISuite suite) {
+		for (ISuiteResult suiteResult : suite.getResults().values()) {
+			ITestContext testContext = suiteResult.getTestContext();
+			for (ITestResult result : testContext.getPassedTests().getAllResults()) {
+				add(result);
+			}
+			for (ITestResult result : testContext.getFailedTests().getAllResults()) {
+				add(result);
+			}
+			for (ITestResult result : testContext.getSkippedTests().getAllResults()) {
+				add(result);
+			}
+		}
+	}
+
+	/**
+	 * @return the report as JSON object, durations are given in milliseconds
+	 */
+	public ObjectNode toJson() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		ObjectNode reportNode = objectMapper.createObjectNode();
+		ArrayNode classesNode = reportNode.putArray("testClasses");
+		for (Map.Entry<String, ClassTimings> entry : classes.entrySet()) {
+			ObjectNode classNode = classesNode.addObject();
+			classNode.put("testClass", entry.getKey());
+			entry.getValue().toJson(classNode);
+		}
+		return reportNode;
+	}
+
+	/**
+	 * Writes the report of a test suite next to the TestNG results. Nothing is written if
+	 * no exchange was timed.
+	 * @param suite the test suite, never <code>null</code>
+	 */
+	public static void write(ISuite suite) {
+		ExchangeTimingReport report = new ExchangeTimingReport();
+		report.add(suite);
+		if (report.classes.isEmpty()) {
+			return;
+		}
+		for (Map.Entry<String, ClassTimings> entry : report.classes.entrySet()) {
+			TestSuiteLogger.log(Level.INFO, entry.getKey() + ": " + entry.getValue());
+		}
+		File reportFile = new File(suite.getOutputDirectory(), REPORT_FILE_NAME);
+		try {
+			reportFile.getParentFile().mkdirs();
+			new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile, report.toJson());
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not write exchange timings " + reportFile.getAbsolutePath(), e);
+		}
+	}
+
+	private static class ClassTimings {
+
+		private final Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+
+		private final Map<String, LatencyHistogram> endpoints = new HashMap<>();
+
+		void add(ExchangeTiming timing) {
+			for (Phase phase : Phase.values()) {
+				long nanos = timing.get(phase);
+				if (nanos >= 0) {
+					phases.computeIfAbsent(phase, p -> new LatencyHistogram()).record(nanos / 1000);
+				}
+			}
+			long total = timing.get(Phase.TOTAL);
+			if (total >= 0) {
+				endpoints.computeIfAbsent(timing.getEndpoint(), e -> new LatencyHistogram()).record(total / 1000);
+			}
+		}
+
+		void toJson(ObjectNode classNode) {
+			LatencyHistogram totals = phases.get(Phase.TOTAL);
+			classNode.put("exchanges", totals != null ? totals.getCount() : 0);
+			ObjectNode phasesNode = classNode.putObject("phases");
+			for (Map.Entry<Phase, LatencyHistogram> entry : phases.entrySet()) {
+				LatencyHistogram histogram = entry.getValue();
+				ObjectNode phaseNode = phasesNode.putObject(entry.getKey().getName());
+				phaseNode.put("count", histogram.getCount());
+				phaseNode.put("meanMillis", histogram.getMean() / 1e3);
+				phaseNode.put("p95Millis", histogram.getValueAtPercentile(95) / 1e3);
+				phaseNode.put("maxMillis", histogram.getMax() / 1e3);
+			}
+			ArrayNode endpointsNode = classNode.putArray("slowestEndpoints");
+			for (Map.Entry<String, LatencyHistogram> entry : getSlowestEndpoints()) {
+				ObjectNode endpointNode = endpointsNode.addObject();
+				endpointNode.put("endpoint", entry.getKey());
+				endpointNode.put("count", entry.getValue().getCount());
+				endpointNode.put("meanMillis", entry.getValue().getMean() / 1e3);
+				endpointNode.put("maxMillis", entry.getValue().getMax() / 1e3);
+			}
+		}
+
+		private List<Map.Entry<String, LatencyHistogram>> getSlowestEndpoints() {
+			List<Map.Entry<String, LatencyHistogram>> slowest = new ArrayList<>(endpoints.entrySet());
+			slowest.sort((a, b) -> Double.compare(b.getValue().getMean(), a.getValue().getMean()));
+			return slowest.subList(0, Math.min(MAX_ENDPOINTS, slowest.size()));
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			String separator = "";
+			for (Map.Entry<Phase, LatencyHistogram> entry : phases.entrySet()) {
+				sb.append(separator)
+					.append(entry.getKey().getName())
+					.append(String.format(" mean %.1f ms p95 %.1f ms", entry.getValue().getMean() / 1e3,
+							entry.getValue().getValueAtPercentile(95) / 1e3));
+				separator = ", ";
+			}
+			return sb.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,477 @@
+package org.opengis.cite.ogcapiprocesses10;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.util.EntityUtils;
+import org.opengis.cite.ogcapiprocesses10.util.ClientUtils;
+import org.opengis.cite.ogcapiprocesses10.util.RequestExecutor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Monitors asynchronously executed jobs until they are finished. The status of a job
+ * ({root}/jobs/{jobId}) is polled with an exponentially increasing delay, starting at
+ * {@link #INITIAL_DELAY} milliseconds and bounded by {@link #MAX_DELAY} milliseconds. A
+ * <code>Retry-After</code> header sent by the server extends the delay before the next
+ * poll. Monitoring a job fails when it did not finish before the configured timeout.
+ *
+ * <p>
+ * Waiting does not block any thread: polls are timed by a single scheduler thread and
+ * each job is tracked by its own state, so any number of jobs can be monitored
+ * concurrently. The polls themselves and submitted requests run on the exchange executor
+ * (see {@link ClientUtils#buildExchangeExecutor(int)}), i.e. on virtual threads if the
+ * runtime supports them. Jobs subscribed to callbacks of a {@link CallbackReceiver} are
+ * polled as soon as the IUT calls back.
+ * </p>
+ */
+public class JobMonitor implements Closeable {
+
+	/**
+	 * Default timeout in seconds for a job to finish.
+	 */
+	public static final int DEFAULT_TIMEOUT = 120;
+
+	/**
+	 * Delay in milliseconds before the first poll.
+	 */
+	public static final long INITIAL_DELAY = 50;
+
+	/**
+	 * Maximum delay in milliseconds between two polls, unless the server requests a
+	 * longer delay with a <code>Retry-After</code> header.
+	 */
+	public static final long MAX_DELAY = 5000;
+
+	private static final String RESULTS_REL = "http://www.opengis.net/def/rel/ogc/1.0/results";
+
+	private static final String MONITOR_REL = "monitor";
+
+	private static final String STATUS_REL = "status";
+
+	private static final ObjectReader JSON_READER = new ObjectMapper().reader();
+
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	private final HttpClient httpClient;
+
+	private final long timeoutMillis;
+
+	private final ScheduledExecutorService scheduler;
+
+	private final ExecutorService executor;
+
+	private final boolean ownsExecutor;
+
+	private final Set<CompletableFuture<JsonNode>> monitoredJobs = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Creates a monitor that polls the job status with the given client.
+	 * @param httpClient the client used to retrieve the job status, never
+	 * <code>null</code>
+	 * @param timeout the timeout in seconds for a job to finish (a value less or equal to
+	 * 0 means {@link #DEFAULT_TIMEOUT})
+	 * @param threads the maximum number of platform threads polling job status documents
+	 * if virtual threads are not available
+	 */
+	public JobMonitor(HttpClient httpClient, int timeout, int threads) {
+		this(httpClient, timeout, ClientUtils.buildExchangeExecutor(threads), true);
+	}
+
+	/**
+	 * Creates a monitor that polls the job status with the given client on the given
+	 * executor. The executor is not shut down when the monitor is closed.
+	 * @param httpClient the client used to retrieve the job status, never
+	 * <code>null</code>
+	 * @param timeout the timeout in seconds for a job to finish (a value less or equal to
+	 * 0 means {@link #DEFAULT_TIMEOUT})
+	 * @param executor the executor running the exchanges with the IUT, never
+	 * <code>null</code>
+	 */
+	public JobMonitor(HttpClient httpClient, int timeout, ExecutorService executor) {
+		this(httpClient, timeout, executor, false);
+	}
+
+	private JobMonitor(HttpClient httpClient, int timeout, ExecutorService executor, boolean ownsExecutor) {
+		this.httpClient = httpClient;
+		this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeout > 0 ? timeout : DEFAULT_TIMEOUT);
+		ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(1, createThreadFactory());
+		scheduledExecutor.setRemoveOnCancelPolicy(true);
+		this.scheduler = scheduledExecutor;
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	/**
+	 * @return the timeout in seconds for a job to finish
+	 */
+	public long getTimeout() {
+		return TimeUnit.MILLISECONDS.toSeconds(timeoutMillis);
+	}
+
+	/**
+	 * Starts monitoring a job.
+	 * @param statusUri the URI of the job status, used if the status document does not
+	 * link to itself; may be <code>null</code>
+	 * @param statusInfo the most recently retrieved status document of the job, never
+	 * <code>null</code>
+	 * @return a future completed with the status document of the finished job, i.e. a
+	 * document stating the job failed or was dismissed, stating it was successful or
+	 * linking to the results. The future fails with a
+	 * {@link java.util.concurrent.TimeoutException} if the job did not finish in time.
+	 */
+	public CompletableFuture<JsonNode> monitor(String statusUri, JsonNode statusInfo) {
+		return monitor(statusUri, statusInfo, null);
+	}
+
+	/**
+	 * Starts monitoring a job whose execute request subscribed to callbacks. The job
+	 * status is retrieved as soon as the IUT calls back; polling with the maximum delay
+	 * serves as fallback.
+	 * @param statusUri the URI of the job status, used if the status document does not
+	 * link to itself; may be <code>null</code>
+	 * @param statusInfo the most recently retrieved status document of the job, never
+	 * <code>null</code>
+	 * @param subscription the callback subscription of the job, may be <code>null</code>
+	 * @return a future completed with the status document of the finished job
+	 * @see #monitor(String, JsonNode)
+	 */
+	public CompletableFuture<JsonNode> monitor(String statusUri, JsonNode statusInfo,
+			CallbackReceiver.Subscription subscription) {
+		MonitoredJob job = new MonitoredJob(statusUri, subscription != null ? MAX_DELAY : INITIAL_DELAY);
+		monitoredJobs.add(job.future);
+		job.future.whenComplete((result, failure) -> monitoredJobs.remove(job.future));
+		if (subscription != null) {
+			job.future.whenComplete((result, failure) -> subscription.cancel());
+			subscription.getCallback().thenRun(job::pollNow);
+		}
+		job.update(statusInfo, 0);
+		return job.future;
+	}
+
+	/**
+	 * Submits a request, e.g. an execute request, without waiting for the response. The
+	 * entity of the response is buffered, so the connection is released as soon as the
+	 * response is received.
+	 * @param request the request to send, never <code>null</code>
+	 * @param requestExecutor executes the request on the exchange executor, e.g. to
+	 * capture and time it, never <code>null</code>
+	 * @return a future completed with the response
+	 */
+	public CompletableFuture<HttpResponse> submit(HttpUriRequest request, RequestExecutor requestExecutor) {
+		try {
+			return CompletableFuture.supplyAsync(() -> {
+				try {
+					HttpResponse httpResponse = requestExecutor.execute(request);
+					HttpEntity entity = httpResponse.getEntity();
+					if (entity != null) {
+						try {
+							httpResponse.setEntity(new BufferedHttpEntity(entity));
+						}
+						finally {
+							EntityUtils.consumeQuietly(entity);
+						}
+					}
+					return httpResponse;
+				}
+				catch (IOException e) {
+					throw new CompletionException(e);
+				}
+			}, executor);
+		}
+		catch (RejectedExecutionException e) {
+			CompletableFuture<HttpResponse> rejected = new CompletableFuture<>();
+			rejected.completeExceptionally(new IOException("Job monitor was closed.", e));
+			return rejected;
+		}
+	}
+
+	/**
+	 * Monitors a job and waits until it is finished.
+	 * @param statusUri the URI of the job status, used if the status document does not
+	 * link to itself; may be <code>null</code>
+	 * @param statusInfo the most recently retrieved status document of the job, never
+	 * <code>null</code>
+	 * @return the status document of the finished job, never <code>null</code>
+	 * @throws java.io.IOException if the job status could not be retrieved or the job did
+	 * not finish in time
+	 */
+	public JsonNode awaitCompletion(String statusUri, JsonNode statusInfo) throws IOException {
+		return await(monitor(statusUri, statusInfo));
+	}
+
+	/**
+	 * Waits until a monitored job is finished or a submitted request is answered.
+	 * @param <T> the type of the result
+	 * @param job the future returned by {@link #monitor(String, JsonNode)} or
+	 * {@link #submit(HttpUriRequest, RequestExecutor)}
+	 * @return the result of the future, never <code>null</code>
+	 * @throws java.io.IOException if the job status could not be retrieved, the job did
+	 * not finish in time or the request failed
+	 */
+	public static <T> T await(CompletableFuture<T> job) throws IOException {
+		try {
+			return job.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			job.cancel(true);
+			throw new IOException("Interrupted while waiting for job to finish.", e);
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof TimeoutException) {
+				throw new IOException(cause.getMessage(), cause);
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException("Could not monitor job.", cause);
+		}
+	}
+
+	/**
+	 * Checks whether a status document states that the job has finished.
+	 * @param statusInfo the status document, never <code>null</code>
+	 * @return <code>true</code> if the job has failed, was dismissed or was successful,
+	 * or the document links to the results
+	 */
+	public static boolean isFinished(JsonNode statusInfo) {
+		String status = statusInfo.path("status").asText();
+		if ("failed".equals(status) || "dismissed".equals(status) || "successful".equals(status)) {
+			return true;
+		}
+		return findLink(statusInfo, RESULTS_REL) != null;
+	}
+
+	/**
+	 * Checks whether a status document states that the job has failed.
+	 * @param statusInfo the status document, never <code>null</code>
+	 * @return <code>true</code> if the status of the job is <code>failed</code>
+	 */
+	public static boolean isFailed(JsonNode statusInfo) {
+		return "failed".equals(statusInfo.path("status").asText());
+	}
+
+	/**
+	 * Returns the link to the results of a job.
+	 * @param statusInfo the status document, never <code>null</code>
+	 * @return the URI of the results, <code>null</code> if the document does not link to
+	 * the results
+	 */
+	public static String getResultsLink(JsonNode statusInfo) {
+		return findLink(statusInfo, RESULTS_REL);
+	}
+
+	/**
+	 * Stops polling; monitoring of jobs that have not finished yet fails.
+	 */
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+		if (ownsExecutor) {
+			executor.shutdownNow();
+		}
+		for (CompletableFuture<JsonNode> job : monitoredJobs) {
+			job.completeExceptionally(new IOException("Job monitor was closed."));
+		}
+	}
+
+	private JsonNode poll(String statusUri, MonitoredJob job) throws IOException {
+		HttpGet request = new HttpGet(statusUri);
+		request.setHeader("Accept", "application/json");
+		HttpResponse httpResponse = httpClient.execute(request);
+		try {
+			int statusCode = httpResponse.getStatusLine().getStatusCode();
+			if (statusCode != HttpStatus.SC_OK) {
+				throw new IOException("Unexpected status code " + statusCode + " retrieving job status " + statusUri);
+			}
+			job.retryAfter = parseRetryAfter(httpResponse.getFirstHeader("Retry-After"));
+			return JSON_READER.readTree(httpResponse.getEntity().getContent());
+		}
+		finally {
+			EntityUtils.consumeQuietly(httpResponse.getEntity());
+		}
+	}
+
+	/**
+	 * Returns the delay before the next poll of a job, doubling the delay before the
+	 * previous poll up to {@link #MAX_DELAY}.
+	 * @param delay the delay in milliseconds before the previous poll
+	 * @return the delay in milliseconds before the next poll
+	 */
+	public static long nextDelay(long delay) {
+		return Math.min(delay * 2, MAX_DELAY);
+	}
+
+	/**
+	 * Parses the value of a <code>Retry-After</code> header, either a number of seconds
+	 * or an HTTP-date.
+	 * @param retryAfter the header, may be <code>null</code>
+	 * @return the delay in milliseconds requested by the server, 0 if the header is
+	 * missing or invalid or the date has passed
+	 */
+	public static long parseRetryAfter(Header retryAfter) {
+		if (retryAfter == null || retryAfter.getValue() == null) {
+			return 0;
+		}
+		String value = retryAfter.getValue().trim();
+		try {
+			return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value)));
+		}
+		catch (NumberFormatException e) {
+			Date date = DateUtils.parseDate(value);
+			return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : 0;
+		}
+	}
+
+	private static String findLink(JsonNode statusInfo, String... rels) {
+		JsonNode links = statusInfo.get("links");
+		if (links == null || !links.isArray()) {
+			return null;
+		}
+		for (String rel : rels) {
+			for (JsonNode link : links) {
+				if (rel.equals(link.path("rel").asText()) && link.hasNonNull("href")) {
+					return link.get("href").asText();
+				}
+			}
+		}
+		return null;
+	}
+
+	private static ThreadFactory createThreadFactory() {
+		return runnable -> {
+			Thread thread = new Thread(runnable, "job-monitor-" + THREAD_COUNT.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * The state of a single monitored job.
+	 */
+	private class MonitoredJob {
+
+		private final CompletableFuture<JsonNode> future = new CompletableFuture<>();
+
+		private final long deadline = System.currentTimeMillis() + timeoutMillis;
+
+		private final String statusUri;
+
+		private long delay;
+
+		private long retryAfter;
+
+		private String pollUri;
+
+		private ScheduledFuture<?> nextPoll;
+
+		private boolean pollNow;
+
+		MonitoredJob(String statusUri, long initialDelay) {
+			this.statusUri = statusUri;
+			this.delay = initialDelay;
+		}
+
+		synchronized void update(JsonNode statusInfo, long retryAfter) {
+			if (future.isDone()) {
+				return;
+			}
+			if (isFinished(statusInfo)) {
+				future.complete(statusInfo);
+				return;
+			}
+			String next = findLink(statusInfo, MONITOR_REL, STATUS_REL);
+			if (next == null) {
+				next = statusUri;
+			}
+			if (next == null) {
+				future.completeExceptionally(new IOException("No result (rel='" + RESULTS_REL
+						+ "') or monitor (rel='monitor') links were found in response."));
+				return;
+			}
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) {
+				future.completeExceptionally(new TimeoutException(
+						String.format("Server did not return result in %d seconds.", getTimeout())));
+				return;
+			}
+			long wait = pollNow ? 0 : Math.min(Math.max(delay, retryAfter), remaining);
+			pollNow = false;
+			delay = nextDelay(delay);
+			pollUri = next;
+			schedulePoll(wait);
+		}
+
+		/**
+		 * Retrieves the job status immediately, e.g. after the IUT called back.
+		 */
+		synchronized void pollNow() {
+			if (future.isDone()) {
+				return;
+			}
+			if (nextPoll == null || !nextPoll.cancel(false)) {
+				// a poll is running, it is followed by an immediate poll
+				pollNow = true;
+				return;
+			}
+			schedulePoll(0);
+		}
+
+		private void schedulePoll(long wait) {
+			String uri = pollUri;
+			try {
+				nextPoll = scheduler.schedule(() -> {
+					try {
+						executor.execute(() -> {
+							try {
+								update(poll(uri, this), this.retryAfter);
+							}
+							catch (IOException | RuntimeException e) {
+								future.completeExceptionally(e);
+							}
+						});
+					}
+					catch (RejectedExecutionException e) {
+						future.completeExceptionally(new IOException("Job monitor was closed.", e));
+					}
+				}, wait, TimeUnit.MILLISECONDS);
+			}
+			catch (RejectedExecutionException e) {
+				future.completeExceptionally(new IOException("Job monitor was closed.", e));
+			}
+		}
+
+	}
+
+}
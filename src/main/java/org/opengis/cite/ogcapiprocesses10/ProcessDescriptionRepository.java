@@ -0,0 +1,351 @@
+package org.opengis.cite.ogcapiprocesses10;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.opengis.cite.ogcapiprocesses10.CommonFixture.Input;
+import org.opengis.cite.ogcapiprocesses10.CommonFixture.Output;
+import org.opengis.cite.ogcapiprocesses10.util.RequestExecutor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A suite-scoped repository of process descriptions. Each description
+ * ({root}/processes/{processId}) is retrieved and parsed only once per test run; the
+ * parsed document and the input and output models derived from it are shared by all test
+ * classes. The descriptions are retrieved with the request executor of the requesting
+ * test fixture, so that the exchanges are captured and timed like any other.
+ *
+ * <p>
+ * Failed retrievals, i.e. exceptions and responses with a status code other than 2xx, are
+ * not cached; a subsequent request for the same process will try again.
+ * </p>
+ *
+ * <p>
+ * The descriptions of many processes can be retrieved concurrently with
+ * {@link #getProcessDescriptions(List, RequestExecutor, Executor, int)}; the number of
+ * retrievals in flight is bounded, so that the IUT is not flooded with requests.
+ * </p>
+ */
+public class ProcessDescriptionRepository {
+
+	private static final String PROCESSES_PATH = "/processes/";
+
+	private static final String JOB_CONTROL_OPTIONS_KEY = "jobControlOptions";
+
+	private static final String JOB_CONTROL_OPTIONS_SYNC = "sync-execute";
+
+	private static final String JOB_CONTROL_OPTIONS_ASYNC = "async-execute";
+
+	private static final String SCHEMA_KEY = "schema";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final ConcurrentMap<String, CompletableFuture<ProcessDescription>> descriptions = new ConcurrentHashMap<>();
+
+	private final URI rootUri;
+
+	/**
+	 * Creates a repository for the process descriptions offered by the given IUT.
+	 * @param rootUri the landing page of the IUT, never <code>null</code>
+	 */
+	public ProcessDescriptionRepository(URI rootUri) {
+		this.rootUri = rootUri;
+	}
+
+	/**
+	 * Returns the description of the process with the given identifier, retrieving it
+	 * from the IUT on first access.
+	 * @param processId the identifier of the process, never <code>null</code>
+	 * @param requestExecutor executes the request for the process description if it is
+	 * not cached, never <code>null</code>
+	 * @return the description of the process, never <code>null</code>
+	 * @throws java.io.IOException if the process description could not be retrieved or
+	 * parsed
+	 */
+	public ProcessDescription getProcessDescription(String processId, RequestExecutor requestExecutor)
+			throws IOException {
+		CompletableFuture<ProcessDescription> future = new CompletableFuture<>();
+		CompletableFuture<ProcessDescription> existing = descriptions.putIfAbsent(processId, future);
+		if (existing == null) {
+			try {
+				ProcessDescription description = retrieveProcessDescription(processId, requestExecutor);
+				if (!description.isSuccessful()) {
+					descriptions.remove(processId, future);
+				}
+				future.complete(description);
+			}
+			catch (IOException | RuntimeException e) {
+				descriptions.remove(processId, future);
+				future.completeExceptionally(e);
+			}
+		}
+		else {
+			future = existing;
+		}
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while retrieving description of process " + processId, e);
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new IOException("Could not retrieve description of process " + processId, cause);
+		}
+	}
+
+	/**
+	 * Retrieves the descriptions of the given processes concurrently. At most
+	 * <code>maxConcurrency</code> descriptions are retrieved at the same time; cached
+	 * descriptions are not retrieved again.
+	 * @param processIds the identifiers of the processes, never <code>null</code>
+	 * @param requestExecutor executes the requests for the process descriptions, never
+	 * <code>null</code>
+	 * @param executor the executor running the retrievals, never <code>null</code>
+	 * @param maxConcurrency the maximum number of concurrent retrievals (a value less or
+	 * equal to 0 means one retrieval at a time)
+	 * @return the futures of the process descriptions by process identifier, in the order
+	 * of the given identifiers; a future fails with the exception thrown by
+	 * {@link #getProcessDescription(String, RequestExecutor)}
+	 */
+	public Map<String, CompletableFuture<ProcessDescription>> getProcessDescriptions(List<String> processIds,
+			RequestExecutor requestExecutor, Executor executor, int maxConcurrency) {
+		Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+		Map<String, CompletableFuture<ProcessDescription>> futures = new LinkedHashMap<>();
+		for (String processId : processIds) {
+			futures.computeIfAbsent(processId, id -> CompletableFuture.supplyAsync(() -> {
+				try {
+					permits.acquire();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new CompletionException(
+							new IOException("Interrupted while retrieving description of process " + id, e));
+				}
+				try {
+					return getProcessDescription(id, requestExecutor);
+				}
+				catch (IOException e) {
+					throw new CompletionException(e);
+				}
+				finally {
+					permits.release();
+				}
+			}, executor));
+		}
+		return futures;
+	}
+
+	/**
+	 * Returns the URI of the description of the process with the given identifier.
+	 * @param processId the identifier of the process, never <code>null</code>
+	 * @return the URI of the process description, never <code>null</code>
+	 */
+	public String getProcessDescriptionUri(String processId) {
+		return rootUri.toString() + PROCESSES_PATH + processId;
+	}
+
+	/**
+	 * Removes all cached process descriptions.
+	 */
+	public void clear() {
+		descriptions.clear();
+	}
+
+	private ProcessDescription retrieveProcessDescription(String processId, RequestExecutor requestExecutor)
+			throws IOException {
+		HttpGet request = new HttpGet(getProcessDescriptionUri(processId));
+		request.setHeader("Accept", "application/json");
+		HttpResponse httpResponse = requestExecutor.execute(request);
+		try {
+			String content = httpResponse.getEntity() != null
+					? EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8) : "";
+			Header contentType = httpResponse.getFirstHeader("Content-Type");
+			JsonNode node = objectMapper.readTree(content);
+			return new ProcessDescription(processId, request.getURI().toString(),
+					httpResponse.getStatusLine().getStatusCode(), contentType != null ? contentType.getValue() : null,
+					content, node);
+		}
+		finally {
+			EntityUtils.consumeQuietly(httpResponse.getEntity());
+		}
+	}
+
+	/**
+	 * A process description retrieved from the IUT together with the models derived from
+	 * it.
+	 */
+	public static class ProcessDescription {
+
+		private final String processId;
+
+		private final String uri;
+
+		private final int statusCode;
+
+		private final String contentType;
+
+		private final String content;
+
+		private final JsonNode node;
+
+		private final List<Input> inputs = new ArrayList<>();
+
+		private final List<Output> outputs = new ArrayList<>();
+
+		private final List<String> jobControlOptions = new ArrayList<>();
+
+		ProcessDescription(String processId, String uri, int statusCode, String contentType, String content,
+				JsonNode node) {
+			this.processId = processId;
+			this.uri = uri;
+			this.statusCode = statusCode;
+			this.contentType = contentType;
+			this.content = content;
+			this.node = node;
+			JsonNode inputsNode = node.get("inputs");
+			if (inputsNode != null && inputsNode.isObject()) {
+				Iterator<String> inputNames = inputsNode.fieldNames();
+				while (inputNames.hasNext()) {
+					String id = inputNames.next();
+					JsonNode schemaNode = inputsNode.get(id).get(SCHEMA_KEY);
+					if (schemaNode != null) {
+						inputs.add(CommonFixture.createInput(schemaNode, id));
+					}
+				}
+			}
+			JsonNode outputsNode = node.get("outputs");
+			if (outputsNode != null && outputsNode.isObject()) {
+				Iterator<String> outputNames = outputsNode.fieldNames();
+				while (outputNames.hasNext()) {
+					String id = outputNames.next();
+					JsonNode schemaNode = outputsNode.get(id).get(SCHEMA_KEY);
+					if (schemaNode != null) {
+						outputs.add(CommonFixture.createOutput(schemaNode, id));
+					}
+				}
+			}
+			JsonNode jobControlOptionsNode = node.get(JOB_CONTROL_OPTIONS_KEY);
+			if (jobControlOptionsNode != null && jobControlOptionsNode.isArray()) {
+				for (JsonNode jobControlOption : jobControlOptionsNode) {
+					jobControlOptions.add(jobControlOption.asText());
+				}
+			}
+		}
+
+		/**
+		 * @return the identifier of the process
+		 */
+		public String getProcessId() {
+			return processId;
+		}
+
+		/**
+		 * @return the URI the process description was retrieved from
+		 */
+		public String getUri() {
+			return uri;
+		}
+
+		/**
+		 * @return the HTTP status code of the response
+		 */
+		public int getStatusCode() {
+			return statusCode;
+		}
+
+		/**
+		 * @return the value of the Content-Type header of the response, may be
+		 * <code>null</code>
+		 */
+		public String getContentType() {
+			return contentType;
+		}
+
+		/**
+		 * @return the unparsed content of the response
+		 */
+		public String getContent() {
+			return content;
+		}
+
+		/**
+		 * @return the parsed process description; callers must not modify it
+		 */
+		public JsonNode getNode() {
+			return node;
+		}
+
+		/**
+		 * @return <code>true</code> if the status code of the response is 2xx
+		 */
+		public boolean isSuccessful() {
+			return statusCode >= 200 && statusCode < 300;
+		}
+
+		/**
+		 * @return the inputs described in the process description (unmodifiable); the
+		 * models are shared by all test classes, callers must not modify them
+		 */
+		public List<Input> getInputs() {
+			return Collections.unmodifiableList(inputs);
+		}
+
+		/**
+		 * @return the outputs described in the process description (unmodifiable); the
+		 * models are shared by all test classes, callers must not modify them
+		 */
+		public List<Output> getOutputs() {
+			return Collections.unmodifiableList(outputs);
+		}
+
+		/**
+		 * @return the job control options of the process (unmodifiable)
+		 */
+		public List<String> getJobControlOptions() {
+			return Collections.unmodifiableList(jobControlOptions);
+		}
+
+		/**
+		 * @return <code>true</code> if the process declares support for synchronous
+		 * execution
+		 */
+		public boolean isSyncExecuteSupported() {
+			return jobControlOptions.contains(JOB_CONTROL_OPTIONS_SYNC);
+		}
+
+		/**
+		 * @return <code>true</code> if the process declares support for asynchronous
+		 * execution
+		 */
+		public boolean isAsyncExecuteSupported() {
+			return jobControlOptions.contains(JOB_CONTROL_OPTIONS_ASYNC);
+		}
+
+	}
+
+}
@@ -3,6 +3,11 @@ package org.opengis.cite.ogcapiprocesses10;
 import java.io.File;
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.opengis.cite.ogcapiprocesses10.openapi3.OperationValidatorRegistry;
+import org.opengis.cite.ogcapiprocesses10.util.ExchangeCassette;
 
 import com.reprezen.kaizen.oasparser.model3.OpenApi3;
 
@@ -22,6 +27,90 @@ public enum SuiteAttribute {
 	 */
 	CLIENT("httpClient", Client.class),
 
+	/**
+	 * A pooled, keep-alive Apache HTTP client shared by all test classes.
+	 */
+	POOLED_HTTP_CLIENT("pooledHttpClient", CloseableHttpClient.class),
+
+	/**
+	 * The maximum number of pooled HTTP connections per route.
+	 */
+	MAX_CONNECTIONS_PER_ROUTE("maxConnectionsPerRoute", Integer.class),
+
+	/**
+	 * The timeout in seconds for an asynchronously executed job to finish.
+	 */
+	JOB_TIMEOUT("jobTimeout", Integer.class),
+
+	/**
+	 * Boolean indicating whether the asynchronous execute requests of the Jobs tests
+	 * should be submitted up front.
+	 */
+	PIPELINE_JOBS("pipelineJobs", Boolean.class),
+
+	/**
+	 * Boolean indicating whether the JSON schemas are read from the schema catalog
+	 * bundled with the test suite.
+	 */
+	USE_SCHEMA_CATALOG("useSchemaCatalog", Boolean.class),
+
+	/**
+	 * Embedded listener receiving the callbacks of asynchronously executed jobs; only set
+	 * if a callback URL was given.
+	 */
+	CALLBACK_RECEIVER("callbackReceiver", CallbackReceiver.class),
+
+	/**
+	 * Monitor of the asynchronously executed jobs.
+	 */
+	JOB_MONITOR("jobMonitor", JobMonitor.class),
+
+	/**
+	 * Executor running the exchanges with the IUT, on virtual threads if available.
+	 */
+	EXCHANGE_EXECUTOR("exchangeExecutor", ExecutorService.class),
+
+	/**
+	 * The number of threads running test methods in parallel.
+	 */
+	PARALLELISM("parallelism", Integer.class),
+
+	/**
+	 * The number of concurrent executions of the echo process in the load test.
+	 */
+	LOAD_CONCURRENCY("loadConcurrency", Integer.class),
+
+	/**
+	 * The duration in seconds of each load test.
+	 */
+	LOAD_DURATION("loadDuration", Integer.class),
+
+	/**
+	 * The number of executions of the echo process in each load test.
+	 */
+	LOAD_REQUESTS("loadRequests", Integer.class),
+
+	/**
+	 * The size in megabytes of a synthetic raster sent as in-line binary input.
+	 */
+	BINARY_INPUT_SIZE("binaryInputSize", Integer.class),
+
+	/**
+	 * The number of items requested per page when walking paged lists.
+	 */
+	PAGE_SIZE("pageSize", Integer.class),
+
+	/**
+	 * Cassette to which the exchanges with the IUT are recorded or from which they are
+	 * replayed; only set if a cassette was given.
+	 */
+	EXCHANGE_CASSETTE("exchangeCassette", ExchangeCassette.class),
+
+	/**
+	 * Repository of the process descriptions retrieved during the test run.
+	 */
+	PROCESS_DESCRIPTIONS("processDescriptions", ProcessDescriptionRepository.class),
+
 	/**
 	 * The root URL.
 	 */
@@ -59,6 +148,12 @@ public enum SuiteAttribute {
 	 */
 	API_MODEL("apiModel", OpenApi3.class),
 
+	/**
+	 * OpenAPI definition parsed with openapi4j and the operation validators created from
+	 * it; Added during execution.
+	 */
+	OPERATION_VALIDATORS("operationValidators", OperationValidatorRegistry.class),
+
 	/**
 	 * Use local OpenAPI schema included in ETS.
 	 */
@@ -3,14 +3,25 @@ package org.opengis.cite.ogcapiprocesses10;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.openapi4j.core.exception.ResolutionException;
+import org.openapi4j.core.validation.ValidationException;
+import org.opengis.cite.ogcapiprocesses10.openapi3.OperationValidatorRegistry;
 import org.opengis.cite.ogcapiprocesses10.util.ClientUtils;
+import org.opengis.cite.ogcapiprocesses10.util.ExchangeCassette;
 import org.opengis.cite.ogcapiprocesses10.util.TestSuiteLogger;
 import org.opengis.cite.ogcapiprocesses10.util.URIUtils;
+import org.testng.IAlterSuiteListener;
 import org.testng.ISuite;
 import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
 
 import jakarta.ws.rs.client.Client;
 
@@ -25,24 +36,42 @@ import jakarta.ws.rs.client.Client;
  * contexts (ITestContext). However, suite attributes are still accessible from lower
  * contexts.
  *
+ * If the {@link TestRunArg#PARALLELISM parallelism} argument is greater than 1, the test
+ * methods are run in parallel on a thread pool of that size. Methods declaring
+ * <code>dependsOnMethods</code> still run after the methods they depend on.
+ *
+ * If the {@link TestRunArg#CASSETTE cassette} argument is given, the exchanges of the
+ * shared HTTP clients with the IUT are recorded to the cassette or, in replay mode,
+ * served from it, including the retrieval of the test subject.
+ *
  * @see org.testng.ISuite ISuite interface
  * @author bpr
  */
-public class SuiteFixtureListener implements ISuiteListener {
+public class SuiteFixtureListener implements ISuiteListener, IAlterSuiteListener {
+
+	/** {@inheritDoc} */
+	@Override
+	public void alter(List<XmlSuite> suites) {
+		for (XmlSuite xmlSuite : suites) {
+			configureParallelism(xmlSuite);
+		}
+	}
 
 	/** {@inheritDoc} */
 	@Override
 	public void onStart(ISuite suite) {
+		configureParallelism(suite.getXmlSuite());
 		processSuiteParameters(suite);
 		registerClientComponent(suite);
+		registerOperationValidators(suite);
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public void onFinish(ISuite suite) {
+		closeClientComponent(suite);
 		if (null != System.getProperty("deleteSubjectOnFinish")) {
 			deleteTempFiles(suite);
-			System.getProperties().remove("deleteSubjectOnFinish");
 		}
 	}
 
@@ -62,9 +91,15 @@ public class SuiteFixtureListener implements ISuiteListener {
 		}
 		URI iutRef = URI.create(iutParam.trim());
 		suite.setAttribute(SuiteAttribute.IUT.getName(), iutRef);
+		ExchangeCassette cassette = openCassette(suite, params);
 		File entityFile = null;
 		try {
-			entityFile = URIUtils.dereferenceURI(iutRef);
+			if (cassette != null && cassette.getMode() == ExchangeCassette.Mode.REPLAY) {
+				entityFile = cassette.dereference(iutRef);
+			}
+			else {
+				entityFile = URIUtils.dereferenceURI(iutRef);
+			}
 		}
 		catch (IOException iox) {
 			throw new RuntimeException("Failed to dereference resource located at " + iutRef, iox);
@@ -118,6 +153,133 @@ public class SuiteFixtureListener implements ISuiteListener {
 					String.format("Could not parse parameter %s: %s. Expected is a valid string",
 							TestRunArg.ECHOPROCESSID.toString(), echoProcessId));
 		}
+
+		String maxConnectionsPerRoute = params.get(TestRunArg.MAXCONNECTIONSPERROUTE.toString());
+		suite.setAttribute(SuiteAttribute.MAX_CONNECTIONS_PER_ROUTE.getName(),
+				ClientUtils.DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
+		try {
+			if (maxConnectionsPerRoute != null && !maxConnectionsPerRoute.isEmpty()) {
+				suite.setAttribute(SuiteAttribute.MAX_CONNECTIONS_PER_ROUTE.getName(),
+						Integer.valueOf(maxConnectionsPerRoute.trim()));
+			}
+		}
+		catch (NumberFormatException e) {
+			TestSuiteLogger.log(Level.WARNING,
+					String.format("Could not parse parameter %s: %s. Expected is a valid integer",
+							TestRunArg.MAXCONNECTIONSPERROUTE.toString(), maxConnectionsPerRoute));
+		}
+
+		String jobTimeout = params.get(TestRunArg.JOBTIMEOUT.toString());
+		suite.setAttribute(SuiteAttribute.JOB_TIMEOUT.getName(), JobMonitor.DEFAULT_TIMEOUT);
+		try {
+			if (jobTimeout != null && !jobTimeout.isEmpty()) {
+				suite.setAttribute(SuiteAttribute.JOB_TIMEOUT.getName(), Integer.valueOf(jobTimeout.trim()));
+			}
+		}
+		catch (NumberFormatException e) {
+			TestSuiteLogger.log(Level.WARNING,
+					String.format("Could not parse parameter %s: %s. Expected is a valid integer",
+							TestRunArg.JOBTIMEOUT.toString(), jobTimeout));
+		}
+
+		suite.setAttribute(SuiteAttribute.PARALLELISM.getName(), parseParallelism(suite.getXmlSuite()));
+
+		setIntegerAttribute(suite, params, TestRunArg.LOADCONCURRENCY, SuiteAttribute.LOAD_CONCURRENCY);
+		setIntegerAttribute(suite, params, TestRunArg.LOADDURATION, SuiteAttribute.LOAD_DURATION);
+		setIntegerAttribute(suite, params, TestRunArg.LOADREQUESTS, SuiteAttribute.LOAD_REQUESTS);
+		setIntegerAttribute(suite, params, TestRunArg.BINARYINPUTSIZE, SuiteAttribute.BINARY_INPUT_SIZE);
+		setIntegerAttribute(suite, params, TestRunArg.PAGESIZE, SuiteAttribute.PAGE_SIZE);
+
+		String pipelineJobs = params.get(TestRunArg.PIPELINEJOBS.toString());
+		suite.setAttribute(SuiteAttribute.PIPELINE_JOBS.getName(), pipelineJobs != null
+				&& (pipelineJobs.trim().equals("on") || Boolean.parseBoolean(pipelineJobs.trim())));
+
+		String schemaCatalog = params.get(TestRunArg.SCHEMACATALOG.toString());
+		suite.setAttribute(SuiteAttribute.USE_SCHEMA_CATALOG.getName(), schemaCatalog != null
+				&& (schemaCatalog.trim().equals("on") || Boolean.parseBoolean(schemaCatalog.trim())));
+	}
+
+	/**
+	 * Opens the cassette given by the {@link TestRunArg#CASSETTE cassette} argument and
+	 * sets it as the value of the suite attribute
+	 * {@link SuiteAttribute#EXCHANGE_CASSETTE}.
+	 * @param suite The test suite instance.
+	 * @param params The test run arguments.
+	 * @return the cassette, <code>null</code> if none was given
+	 */
+	private ExchangeCassette openCassette(ISuite suite, Map<String, String> params) {
+		String directory = params.get(TestRunArg.CASSETTE.toString());
+		if (directory == null || directory.trim().isEmpty()) {
+			return null;
+		}
+		String modeParam = params.get(TestRunArg.CASSETTEMODE.toString());
+		ExchangeCassette.Mode mode = ExchangeCassette.Mode.RECORD;
+		if (modeParam != null && !modeParam.trim().isEmpty()) {
+			try {
+				mode = ExchangeCassette.Mode.valueOf(modeParam.trim().toUpperCase(Locale.ROOT));
+			}
+			catch (IllegalArgumentException e) {
+				// recording by mistake would overwrite the cassette
+				throw new IllegalArgumentException(
+						String.format("Invalid test run parameter %s: %s. Expected is record or replay",
+								TestRunArg.CASSETTEMODE.toString(), modeParam));
+			}
+		}
+		try {
+			ExchangeCassette cassette = ExchangeCassette.open(Paths.get(directory.trim()), mode);
+			suite.setAttribute(SuiteAttribute.EXCHANGE_CASSETTE.getName(), cassette);
+			TestSuiteLogger.log(Level.CONFIG,
+					String.format("Exchanges with the IUT: %s cassette %s", mode.toString().toLowerCase(), directory));
+			return cassette;
+		}
+		catch (IOException e) {
+			throw new RuntimeException("Failed to open cassette at " + directory, e);
+		}
+	}
+
+	private void setIntegerAttribute(ISuite suite, Map<String, String> params, TestRunArg testRunArg,
+			SuiteAttribute suiteAttribute) {
+		String value = params.get(testRunArg.toString());
+		if (value == null || value.trim().isEmpty()) {
+			return;
+		}
+		try {
+			suite.setAttribute(suiteAttribute.getName(), Integer.valueOf(value.trim()));
+		}
+		catch (NumberFormatException e) {
+			TestSuiteLogger.log(Level.WARNING, String
+				.format("Could not parse parameter %s: %s. Expected is a valid integer", testRunArg.toString(), value));
+		}
+	}
+
+	/**
+	 * Runs the test methods of the suite in parallel if requested by the
+	 * {@link TestRunArg#PARALLELISM parallelism} argument.
+	 * @param xmlSuite The test suite definition.
+	 */
+	void configureParallelism(XmlSuite xmlSuite) {
+		int parallelism = parseParallelism(xmlSuite);
+		if (parallelism > 1 && !xmlSuite.getParallel().isParallel()) {
+			xmlSuite.setParallel(XmlSuite.ParallelMode.METHODS);
+			xmlSuite.setThreadCount(parallelism);
+			TestSuiteLogger.log(Level.CONFIG, "Running test methods on " + parallelism + " threads.");
+		}
+	}
+
+	private int parseParallelism(XmlSuite xmlSuite) {
+		String parallelism = xmlSuite.getParameter(TestRunArg.PARALLELISM.toString());
+		if (parallelism == null || parallelism.trim().isEmpty()) {
+			return 1;
+		}
+		try {
+			return Math.max(1, Integer.parseInt(parallelism.trim()));
+		}
+		catch (NumberFormatException e) {
+			TestSuiteLogger.log(Level.WARNING,
+					String.format("Could not parse parameter %s: %s. Expected is a valid integer",
+							TestRunArg.PARALLELISM.toString(), parallelism));
+			return 1;
+		}
 	}
 
 	/**
@@ -131,6 +293,119 @@ public class SuiteFixtureListener implements ISuiteListener {
 		if (null != client) {
 			suite.setAttribute(SuiteAttribute.CLIENT.getName(), client);
 		}
+		Integer maxConnectionsPerRoute = (Integer) suite
+			.getAttribute(SuiteAttribute.MAX_CONNECTIONS_PER_ROUTE.getName());
+		Integer parallelism = (Integer) suite.getAttribute(SuiteAttribute.PARALLELISM.getName());
+		Integer loadConcurrency = (Integer) suite.getAttribute(SuiteAttribute.LOAD_CONCURRENCY.getName());
+		int minConnectionsPerRoute = maxConnectionsPerRoute != null && maxConnectionsPerRoute > 0
+				? maxConnectionsPerRoute : ClientUtils.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+		if (parallelism != null && parallelism > minConnectionsPerRoute) {
+			// every thread running a test method needs a connection
+			maxConnectionsPerRoute = minConnectionsPerRoute = parallelism;
+		}
+		if (loadConcurrency != null && loadConcurrency > minConnectionsPerRoute) {
+			// every concurrent execution of the load test needs a connection
+			maxConnectionsPerRoute = loadConcurrency;
+		}
+		URI iutRef = (URI) suite.getAttribute(SuiteAttribute.IUT.getName());
+		// test runs against the same host in this JVM share their connections
+		CloseableHttpClient pooledClient = ClientUtils.leasePooledHttpClient(iutRef,
+				maxConnectionsPerRoute != null ? maxConnectionsPerRoute : -1);
+		ExchangeCassette cassette = (ExchangeCassette) suite.getAttribute(SuiteAttribute.EXCHANGE_CASSETTE.getName());
+		if (cassette != null) {
+			pooledClient = cassette.wrap(pooledClient);
+		}
+		suite.setAttribute(SuiteAttribute.POOLED_HTTP_CLIENT.getName(), pooledClient);
+		suite.setAttribute(SuiteAttribute.PROCESS_DESCRIPTIONS.getName(), new ProcessDescriptionRepository(iutRef));
+		Integer jobTimeout = (Integer) suite.getAttribute(SuiteAttribute.JOB_TIMEOUT.getName());
+		ExecutorService exchangeExecutor = ClientUtils
+			.buildExchangeExecutor(maxConnectionsPerRoute != null ? maxConnectionsPerRoute : -1);
+		suite.setAttribute(SuiteAttribute.EXCHANGE_EXECUTOR.getName(), exchangeExecutor);
+		suite.setAttribute(SuiteAttribute.JOB_MONITOR.getName(),
+				new JobMonitor(pooledClient, jobTimeout != null ? jobTimeout : -1, exchangeExecutor));
+		String callbackUrl = suite.getXmlSuite().getParameter(TestRunArg.CALLBACKURL.toString());
+		try {
+			if (cassette != null && cassette.getMode() == ExchangeCassette.Mode.REPLAY) {
+				// callbacks are not recorded, the replayed job status is polled
+				TestSuiteLogger.log(Level.CONFIG, "Ignoring callback URL when replaying exchanges.");
+			}
+			else if (callbackUrl != null && !callbackUrl.trim().isEmpty()) {
+				suite.setAttribute(SuiteAttribute.CALLBACK_RECEIVER.getName(),
+						new CallbackReceiver(URI.create(callbackUrl.trim())));
+			}
+		}
+		catch (IOException | IllegalArgumentException e) {
+			TestSuiteLogger.log(Level.WARNING,
+					String.format("Could not start callback receiver at %s: %s. Job status is polled only.",
+							callbackUrl, e.getMessage()));
+		}
+	}
+
+	/**
+	 * The OpenAPI definition is parsed once and added to the suite fixture, together with
+	 * the operation validators created from it, as the value of the
+	 * {@link SuiteAttribute#OPERATION_VALIDATORS} attribute. Test runs against the same
+	 * host in this JVM share the parsed definition and its validators.
+	 * @param suite The test suite instance.
+	 */
+	void registerOperationValidators(ISuite suite) {
+		boolean useLocalSchema = (boolean) suite.getAttribute(SuiteAttribute.USE_LOCAL_SCHEMA.getName());
+		URI iutRef = (URI) suite.getAttribute(SuiteAttribute.IUT.getName());
+		OperationValidatorRegistry registry = OperationValidatorRegistry
+			.getShared(OperationValidatorRegistry.getSpecURL(useLocalSchema), iutRef);
+		try {
+			registry.getApiModel();
+		}
+		catch (ResolutionException | ValidationException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not parse OpenAPI definition " + registry.getSpecURL(), e);
+		}
+		suite.setAttribute(SuiteAttribute.OPERATION_VALIDATORS.getName(), registry);
+	}
+
+	/**
+	 * Closes the client components registered by {@link #registerClientComponent(ISuite)}
+	 * and releases their pooled connections.
+	 * @param suite The test suite instance.
+	 */
+	void closeClientComponent(ISuite suite) {
+		Object callbackReceiver = suite.removeAttribute(SuiteAttribute.CALLBACK_RECEIVER.getName());
+		if (callbackReceiver instanceof CallbackReceiver) {
+			((CallbackReceiver) callbackReceiver).close();
+		}
+		Object jobMonitor = suite.removeAttribute(SuiteAttribute.JOB_MONITOR.getName());
+		if (jobMonitor instanceof JobMonitor) {
+			((JobMonitor) jobMonitor).close();
+		}
+		Object exchangeExecutor = suite.removeAttribute(SuiteAttribute.EXCHANGE_EXECUTOR.getName());
+		if (exchangeExecutor instanceof ExecutorService) {
+			((ExecutorService) exchangeExecutor).shutdownNow();
+		}
+		Object processDescriptions = suite.removeAttribute(SuiteAttribute.PROCESS_DESCRIPTIONS.getName());
+		if (processDescriptions instanceof ProcessDescriptionRepository) {
+			((ProcessDescriptionRepository) processDescriptions).clear();
+		}
+		Object pooledClient = suite.removeAttribute(SuiteAttribute.POOLED_HTTP_CLIENT.getName());
+		if (pooledClient instanceof CloseableHttpClient) {
+			try {
+				((CloseableHttpClient) pooledClient).close();
+			}
+			catch (IOException e) {
+				TestSuiteLogger.log(Level.WARNING, "Could not close pooled HTTP client.", e);
+			}
+		}
+		Object client = suite.getAttribute(SuiteAttribute.CLIENT.getName());
+		if (client instanceof Client) {
+			((Client) client).close();
+		}
+		Object cassette = suite.removeAttribute(SuiteAttribute.EXCHANGE_CASSETTE.getName());
+		if (cassette instanceof ExchangeCassette) {
+			try {
+				((ExchangeCassette) cassette).close();
+			}
+			catch (IOException e) {
+				TestSuiteLogger.log(Level.WARNING, "Could not close exchange cassette.", e);
+			}
+		}
 	}
 
 	/**
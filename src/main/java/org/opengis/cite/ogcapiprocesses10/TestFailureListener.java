@@ -33,7 +33,12 @@ public class TestFailureListener extends TestListenerAdapter {
 	public void onTestFailure(ITestResult result) {
 		super.onTestFailure(result);
 		Object instance = result.getInstance();
-		if (CommonFixture.class.isInstance(instance)) {
+		ExchangeCapture capture = CommonFixture.findExchange(result);
+		if (capture != null) {
+			result.setAttribute("request", capture.getRequestLog());
+			result.setAttribute("response", capture.getResponseLog());
+		}
+		else if (CommonFixture.class.isInstance(instance)) {
 			CommonFixture fixture = CommonFixture.class.cast(instance);
 			result.setAttribute("request", fixture.getRequest());
 			result.setAttribute("response", fixture.getResponse());
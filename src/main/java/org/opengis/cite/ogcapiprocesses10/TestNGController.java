@@ -6,6 +6,8 @@ import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.logging.Level;
@@ -45,15 +47,26 @@ public class TestNGController implements TestSuiteController {
 	 * <li>deleteSubjectOnFinish: false</li>
 	 * </ul>
 	 * <p>
+	 * If several XML properties files, or directories containing them, are given, the
+	 * test runs are executed in this JVM as a batch (see {@link TestRunBatch}), at most
+	 * <code>--concurrentRuns</code> (default: the number of available processors) at the
+	 * same time. The results of each test run are written to a subdirectory of outputDir
+	 * named after its XML properties file. <code>--maxParallelism</code> lowers the
+	 * parallelism argument of every test run.
+	 * </p>
+	 * <p>
 	 * <strong>Synopsis</strong>
 	 * </p>
 	 *
 	 * <pre>
-	 * ets-*-aio.jar [-o|--outputDir $TMPDIR] [-d|--deleteSubjectOnFinish] [test-run-props.xml]
+	 * ets-*-aio.jar [-o|--outputDir $TMPDIR] [-d|--deleteSubjectOnFinish]
+	 *     [--loadConcurrency N] [--loadDuration SECONDS] [--loadRequests N]
+	 *     [--concurrentRuns N] [--maxParallelism N] [test-run-props.xml|DIR ...]
 	 * </pre>
-	 * @param args Test run arguments (optional). The first argument must refer to an XML
-	 * properties file containing the expected set of test run arguments. If no argument
-	 * is supplied, the file located at ${user.home}/test-run-props.xml will be used.
+	 * @param args Test run arguments (optional). The remaining arguments must refer to
+	 * XML properties files containing the expected set of test run arguments, or to
+	 * directories containing such files. If no argument is supplied, the file located at
+	 * ${user.home}/test-run-props.xml will be used.
 	 * @throws java.lang.Exception If the test run cannot be executed (usually due to
 	 * unsatisfied pre-conditions).
 	 */
@@ -72,11 +85,91 @@ public class TestNGController implements TestSuiteController {
 		}
 		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
 		DocumentBuilder db = dbf.newDocumentBuilder();
-		File xmlArgs = testRunArgs.getPropertiesFile();
-		Document testRunProps = db.parse(xmlArgs);
-		TestNGController controller = new TestNGController(testRunArgs.getOutputDir());
-		Source testResults = controller.doTestRun(testRunProps);
-		System.out.println("Test results: " + testResults.getSystemId());
+		List<File> propertiesFiles = testRunArgs.getPropertiesFiles();
+		Map<File, Document> testRuns = new LinkedHashMap<>();
+		for (File xmlArgs : propertiesFiles) {
+			Document testRunProps = db.parse(xmlArgs);
+			setTestRunArg(testRunProps, TestRunArg.LOADCONCURRENCY, testRunArgs.getLoadConcurrency());
+			setTestRunArg(testRunProps, TestRunArg.LOADDURATION, testRunArgs.getLoadDuration());
+			setTestRunArg(testRunProps, TestRunArg.LOADREQUESTS, testRunArgs.getLoadRequests());
+			limitParallelism(testRunProps, testRunArgs.getMaxParallelism());
+			testRuns.put(xmlArgs, testRunProps);
+		}
+		try {
+			if (testRuns.size() == 1) {
+				TestNGController controller = new TestNGController(testRunArgs.getOutputDir());
+				Source testResults = controller.doTestRun(testRuns.values().iterator().next());
+				System.out.println("Test results: " + testResults.getSystemId());
+				return;
+			}
+			TestRunBatch batch = new TestRunBatch(new File(testRunArgs.getOutputDir()),
+					testRunArgs.getConcurrentRuns() != null ? testRunArgs.getConcurrentRuns() : -1);
+			Map<File, Source> batchResults = batch.run(testRuns);
+			for (File xmlArgs : testRuns.keySet()) {
+				Source testResults = batchResults.get(xmlArgs);
+				System.out.println("Test results of " + xmlArgs + ": "
+						+ (testResults != null ? testResults.getSystemId() : "test run could not be executed"));
+			}
+			if (batchResults.size() < testRuns.size()) {
+				throw new IllegalStateException(String.format("%d of %d test runs could not be executed.",
+						testRuns.size() - batchResults.size(), testRuns.size()));
+			}
+		}
+		finally {
+			System.getProperties().remove("deleteSubjectOnFinish");
+		}
+	}
+
+	/**
+	 * Lowers the {@link TestRunArg#PARALLELISM parallelism} argument in an XML properties
+	 * document to the given maximum.
+	 * @param testRunProps A DOM Document containing a set of XML properties.
+	 * @param maxParallelism The maximum parallelism; nothing is changed if
+	 * <code>null</code>.
+	 */
+	static void limitParallelism(Document testRunProps, Integer maxParallelism) {
+		if (maxParallelism == null) {
+			return;
+		}
+		NodeList entries = testRunProps.getDocumentElement().getElementsByTagName("entry");
+		for (int i = 0; i < entries.getLength(); i++) {
+			Element entry = (Element) entries.item(i);
+			if (TestRunArg.PARALLELISM.toString().equals(entry.getAttribute("key"))) {
+				try {
+					if (Integer.parseInt(entry.getTextContent().trim()) > maxParallelism) {
+						entry.setTextContent(Integer.toString(Math.max(1, maxParallelism)));
+					}
+				}
+				catch (NumberFormatException e) {
+					// an invalid parallelism means sequential test methods
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets a test run argument in an XML properties document, replacing an existing entry
+	 * with the same key.
+	 * @param testRunProps A DOM Document containing a set of XML properties.
+	 * @param testRunArg The test run argument.
+	 * @param value The value of the argument; nothing is changed if <code>null</code>.
+	 */
+	static void setTestRunArg(Document testRunProps, TestRunArg testRunArg, Object value) {
+		if (value == null) {
+			return;
+		}
+		Element properties = testRunProps.getDocumentElement();
+		NodeList entries = properties.getElementsByTagName("entry");
+		for (int i = entries.getLength() - 1; i >= 0; i--) {
+			Element entry = (Element) entries.item(i);
+			if (testRunArg.toString().equals(entry.getAttribute("key"))) {
+				entry.getParentNode().removeChild(entry);
+			}
+		}
+		Element entry = testRunProps.createElement("entry");
+		entry.setAttribute("key", testRunArg.toString());
+		entry.setTextContent(value.toString());
+		properties.appendChild(entry);
 	}
 
 	/**
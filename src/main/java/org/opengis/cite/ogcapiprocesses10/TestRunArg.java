@@ -39,7 +39,84 @@ public enum TestRunArg {
 	 * Boolean indicating whether all processes should be tested against the OGC Process
 	 * Description Conformance Class.
 	 */
-	TESTALLPROCESSES;
+	TESTALLPROCESSES,
+
+	/**
+	 * The maximum number of pooled HTTP connections per route (a value less or equal to 0
+	 * means the default of 10).
+	 */
+	MAXCONNECTIONSPERROUTE,
+
+	/**
+	 * The timeout in seconds for an asynchronously executed job to finish (a value less
+	 * or equal to 0 means the default of 120 seconds).
+	 */
+	JOBTIMEOUT,
+
+	/**
+	 * Boolean indicating whether the asynchronous execute requests of the Jobs tests
+	 * should be submitted up front, so that the jobs run concurrently.
+	 */
+	PIPELINEJOBS,
+
+	/**
+	 * Boolean indicating whether the OGC API - Processes JSON schemas are read from the
+	 * catalog bundled with the test suite instead of being retrieved from
+	 * schemas.opengis.net.
+	 */
+	SCHEMACATALOG,
+
+	/**
+	 * The base URL, reachable from the IUT, of an embedded listener receiving the
+	 * callbacks of asynchronously executed jobs. If not set, job status is polled only.
+	 */
+	CALLBACKURL,
+
+	/**
+	 * The number of threads running test methods in parallel (a value less or equal to 1
+	 * means sequential execution).
+	 */
+	PARALLELISM,
+
+	/**
+	 * The number of concurrent executions of the echo process in the load test (the load
+	 * test is run only if this argument is greater than 0).
+	 */
+	LOADCONCURRENCY,
+
+	/**
+	 * The duration in seconds of each load test.
+	 */
+	LOADDURATION,
+
+	/**
+	 * The number of executions of the echo process in each load test.
+	 */
+	LOADREQUESTS,
+
+	/**
+	 * The size in megabytes of a synthetic raster sent as in-line binary input instead of
+	 * the GeoTIFF bundled with the test suite.
+	 */
+	BINARYINPUTSIZE,
+
+	/**
+	 * The directory of a cassette to which the exchanges with the IUT are recorded or
+	 * from which they are replayed.
+	 */
+	CASSETTE,
+
+	/**
+	 * Whether the exchanges are recorded to the {@link #CASSETTE cassette}
+	 * (<code>record</code>, the default) or replayed from it (<code>replay</code>).
+	 */
+	CASSETTEMODE,
+
+	/**
+	 * The number of items requested per page (<code>limit</code>) when walking the pages
+	 * of the process list and the job list.
+	 */
+	PAGESIZE;
 
 	/** {@inheritDoc} */
 	@Override
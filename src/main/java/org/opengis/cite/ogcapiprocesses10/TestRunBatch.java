@@ -0,0 +1,102 @@
+package org.opengis.cite.ogcapiprocesses10;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import javax.xml.transform.Source;
+
+import org.opengis.cite.ogcapiprocesses10.util.TestSuiteLogger;
+import org.w3c.dom.Document;
+
+/**
+ * Runs the test suite against several IUTs in one JVM, up to a given number of test runs
+ * concurrently. Every test run has its own test run arguments and writes its results to
+ * its own directory, named after its XML properties file.
+ *
+ * <p>
+ * Test runs in the same JVM share the compiled JSON schemas, and test runs against the
+ * same host share the parsed OpenAPI definition with its operation validators and the
+ * pooled HTTP connections (see {@link SuiteFixtureListener}).
+ * </p>
+ */
+class TestRunBatch {
+
+	private static final AtomicInteger TEST_RUN_THREAD_COUNT = new AtomicInteger();
+
+	private final File outputDir;
+
+	private final int concurrentRuns;
+
+	/**
+	 * @param outputDir the directory containing the results directories of the test runs,
+	 * never <code>null</code>
+	 * @param concurrentRuns the maximum number of test runs executed concurrently, a
+	 * value less or equal to 0 means the number of available processors
+	 */
+	TestRunBatch(File outputDir, int concurrentRuns) {
+		this.outputDir = outputDir;
+		this.concurrentRuns = concurrentRuns > 0 ? concurrentRuns : Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Executes the given test runs and waits until all of them are finished. A test run
+	 * that cannot be executed does not affect the others.
+	 * @param testRuns the test run arguments by XML properties file, never
+	 * <code>null</code>
+	 * @return the test results of the executed test runs by XML properties file, in the
+	 * order of the given test runs
+	 * @throws InterruptedException if interrupted while waiting for the test runs
+	 */
+	Map<File, Source> run(Map<File, Document> testRuns) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrentRuns, testRuns.size())),
+				runnable -> new Thread(runnable, "test-run-" + TEST_RUN_THREAD_COUNT.incrementAndGet()));
+		Map<File, Future<Source>> futures = new LinkedHashMap<>();
+		Set<String> resultsDirNames = new HashSet<>();
+		try {
+			for (Map.Entry<File, Document> testRun : testRuns.entrySet()) {
+				File resultsDir = new File(outputDir, getResultsDirName(testRun.getKey(), resultsDirNames));
+				resultsDir.mkdirs();
+				futures.put(testRun.getKey(), executor
+					.submit(() -> new TestNGController(resultsDir.getAbsolutePath()).doTestRun(testRun.getValue())));
+			}
+			Map<File, Source> results = new LinkedHashMap<>();
+			for (Map.Entry<File, Future<Source>> future : futures.entrySet()) {
+				try {
+					results.put(future.getKey(), future.getValue().get());
+				}
+				catch (ExecutionException e) {
+					TestSuiteLogger.log(Level.WARNING, "Could not execute test run " + future.getKey(), e);
+				}
+			}
+			return results;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Derives the name of the results directory from the name of the XML properties file,
+	 * e.g. <code>node-1</code> for <code>node-1.xml</code>, made unique by a counter.
+	 */
+	static String getResultsDirName(File propertiesFile, Set<String> resultsDirNames) {
+		String name = propertiesFile.getName();
+		int extension = name.lastIndexOf('.');
+		String baseName = extension > 0 ? name.substring(0, extension) : name;
+		String resultsDirName = baseName;
+		for (int i = 2; !resultsDirNames.add(resultsDirName); i++) {
+			resultsDirName = baseName + "-" + i;
+		}
+		return resultsDirName;
+	}
+
+}
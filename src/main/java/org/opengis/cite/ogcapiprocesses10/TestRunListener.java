@@ -1,6 +1,8 @@
 package org.opengis.cite.ogcapiprocesses10;
 
 import org.testng.IExecutionListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 
 /**
  * A listener that is invoked before and after a test run. It is often used to configure a
@@ -13,10 +15,15 @@ import org.testng.IExecutionListener;
  * modified during the test run.
  * </p>
  *
+ * <p>
+ * When a suite has finished, the timings of the exchanges with the IUT are aggregated per
+ * test class and written next to the results (see {@link ExchangeTimingReport}).
+ * </p>
+ *
  * @see com.occamlab.te.spi.executors.FixtureManager FixtureManager
  * @author bpr
  */
-public class TestRunListener implements IExecutionListener {
+public class TestRunListener implements IExecutionListener, ISuiteListener {
 
 	/** {@inheritDoc} */
 	@Override
@@ -28,4 +35,15 @@ public class TestRunListener implements IExecutionListener {
 	public void onExecutionFinish() {
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public void onStart(ISuite suite) {
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void onFinish(ISuite suite) {
+		ExchangeTimingReport.write(suite);
+	}
+
 }
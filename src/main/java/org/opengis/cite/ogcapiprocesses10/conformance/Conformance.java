@@ -92,7 +92,7 @@ public class Conformance extends CommonFixture {
 	public void testValidateConformanceOperationAndResponse(TestPoint testPoint) {
 		String testPointUri = testPoint.getServerUrl() + testPoint.getPath();
 		Response response = init().baseUri(testPointUri).accept(JSON).when().request(GET);
-		this.rspEntity = response.getBody().asInputStream();
+		setResponseEntity(response.getBody().asInputStream());
 		validateConformanceOperationResponse(testPointUri, response);
 	}
 
@@ -4,10 +4,8 @@ import static org.testng.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.StringWriter;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -18,18 +16,15 @@ import javax.mail.MessagingException;
 import javax.mail.internet.MimeMultipart;
 import javax.mail.util.ByteArrayDataSource;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
 import org.apache.http.HeaderElement;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.openapi4j.core.exception.ResolutionException;
 import org.openapi4j.core.validation.ValidationException;
 import org.openapi4j.operation.validator.model.Request;
@@ -37,15 +32,12 @@ import org.openapi4j.operation.validator.model.Response;
 import org.openapi4j.operation.validator.model.impl.Body;
 import org.openapi4j.operation.validator.model.impl.DefaultResponse;
 import org.openapi4j.operation.validator.validation.OperationValidator;
-import org.openapi4j.parser.OpenApi3Parser;
-import org.openapi4j.parser.model.v3.OpenApi3;
-import org.openapi4j.parser.model.v3.Operation;
-import org.openapi4j.parser.model.v3.Path;
 import org.openapi4j.schema.validator.ValidationData;
 import org.opengis.cite.ogcapiprocesses10.CommonFixture;
 import org.opengis.cite.ogcapiprocesses10.SuiteAttribute;
 import org.opengis.cite.ogcapiprocesses10.conformance.Conformance;
 import org.opengis.cite.ogcapiprocesses10.util.ExecutionMode;
+import org.opengis.cite.ogcapiprocesses10.util.PagedListWalker;
 import org.opengis.cite.ogcapiprocesses10.util.PathSettingRequest;
 import org.opengis.cite.ogcapiprocesses10.util.TestSuiteLogger;
 import org.testng.Assert;
@@ -57,7 +49,6 @@ import org.testng.annotations.Test;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
@@ -73,8 +64,6 @@ public class JobList extends CommonFixture {
 
 	private static final String OPERATION_ID = "getJobs";
 
-	private OpenApi3 openApi3;
-
 	private String getJobListPath = "/jobs";
 
 	private OperationValidator validator;
@@ -92,11 +81,7 @@ public class JobList extends CommonFixture {
 	public void setup() {
 		String jobListEndpointString = rootUri.toString() + getJobListPath;
 		try {
-			openApi3 = new OpenApi3Parser().parse(specURL, false);
-			addServerUnderTest(openApi3);
-			final Path path = openApi3.getPathItemByOperationId(OPERATION_ID);
-			final Operation operation = openApi3.getOperationById(OPERATION_ID);
-			validator = new OperationValidator(openApi3, path, operation);
+			validator = operationValidators.getValidator(OPERATION_ID);
 			getJobListURL = new URL(jobListEndpointString);
 		}
 		catch (MalformedURLException | ResolutionException | ValidationException e) {
@@ -111,32 +96,24 @@ public class JobList extends CommonFixture {
 	 * Abstract test A.64: /conf/job-list/job-list-op
 	 * Test Purpose: Validate that information about jobs can be retrieved from the expected location.
 	 * Requirement: /req/job-list/job-list-op
+	 *
+	 * The pages of the job list are walked by following the next links; no page may list more jobs than requested. As
+	 * the tests of this suite create jobs concurrently, jobs may shift between pages while they are walked; jobs listed
+	 * twice and a numberMatched differing from the number of jobs listed are therefore only logged as warnings.
 	 * </pre>
 	 */
 	@Test(description = "Implements Requirement /req/job-list/job-list-op ", groups = "jobList")
 	public void testJobList() {
-		final ValidationData<Void> data = new ValidationData<>();
+		PagedListWalker.Result result = null;
 		try {
-
-			HttpClient client = HttpClientBuilder.create().build();
-			HttpUriRequest request = new HttpGet(getJobListURL.toString());
-			request.setHeader("Accept", "application/json");
-			this.reqEntity = request;
-			HttpResponse httpResponse = client.execute(request);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			String responsePayload = writer.toString();
-			this.rspEntity = responsePayload;
-			JsonNode responseNode = new ObjectMapper().readTree(responsePayload);
-			ArrayNode arrayNode = (ArrayNode) responseNode.get("jobs");
-			Assert.assertTrue(arrayNode.size() > 0, "No processes listed at " + getJobListURL.toString());
-
+			result = walkPages(getJobListURL.toString(), "jobs", "jobID", true);
 		}
 		catch (Exception e) {
 			Assert.fail("jobList.testjobList(): An exception occured when trying to retrieve the job list from "
 					+ getJobListURL.toString());
 		}
+		Assert.assertTrue(result.getDistinctItemCount() > 0, "No jobs listed at " + getJobListURL.toString());
+		Assert.assertTrue(result.isConsistent(), "The pages of the job list are inconsistent: " + result.toString());
 	}
 
 	/**
@@ -157,17 +134,11 @@ public class JobList extends CommonFixture {
 	public void testJobListSuccess() {
 		final ValidationData<Void> data = new ValidationData<>();
 		try {
-			HttpClient client = HttpClientBuilder.create().build();
 			HttpUriRequest request = new HttpGet(getJobListURL.toString());
 			request.setHeader("Accept", "application/json");
-			this.reqEntity = request;
-			HttpResponse httpResponse = client.execute(request);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			String responsePayload = writer.toString();
-			this.rspEntity = responsePayload;
-			JsonNode responseNode = new ObjectMapper().readTree(responsePayload);
+			setRequestEntity(request);
+			HttpResponse httpResponse = executeRequest(request);
+			JsonNode responseNode = readJsonResponse(httpResponse);
 			Body body = Body.from(responseNode);
 			Header contentType = httpResponse.getFirstHeader(CONTENT_TYPE);
 			Response response = new DefaultResponse.Builder(httpResponse.getStatusLine().getStatusCode()).body(body)
@@ -175,7 +146,7 @@ public class JobList extends CommonFixture {
 				.build();
 			validator.validateResponse(response, data);
 
-			assertTrue(validateResponseAgainstSchema(JobList.urlSchema, responsePayload),
+			assertTrue(validateResponseAgainstSchema(JobList.urlSchema, responseNode),
 					"The response document failed validation against: " + JobList.urlSchema + " ");
 
 		}
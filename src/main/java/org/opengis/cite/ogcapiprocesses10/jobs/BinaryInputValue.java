@@ -0,0 +1,120 @@
+package org.opengis.cite.ogcapiprocesses10.jobs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * The value of a binary input of an execute request, wrapped in a
+ * {@link com.fasterxml.jackson.databind.node.POJONode}. The binary content is read from
+ * its source and base64 encoded while the request is written, so that neither the content
+ * nor its encoding is held in memory.
+ *
+ * <p>
+ * The content is written only if the attribute {@link #WRITE_CONTENT} of the serializer
+ * is <code>true</code> (see {@link ExecuteRequestEntity}). Otherwise, e.g. in
+ * <code>JsonNode.toString()</code> used for logging and failure reports, a short
+ * description of the content is written instead.
+ * </p>
+ *
+ * <p>
+ * Two values are equal if they have the same description and length, so that execute
+ * requests built the same way are equal although each has its own source.
+ * </p>
+ */
+public final class BinaryInputValue extends JsonSerializable.Base {
+
+	/**
+	 * The serializer attribute enabling writing the binary content.
+	 */
+	public static final Object WRITE_CONTENT = BinaryInputValue.class;
+
+	/**
+	 * Opens the binary content of an input.
+	 */
+	@FunctionalInterface
+	public interface Source {
+
+		/**
+		 * @return a new stream of the binary content, never <code>null</code>
+		 * @throws IOException if the content could not be opened
+		 */
+		InputStream open() throws IOException;
+
+	}
+
+	private final Source source;
+
+	private final long length;
+
+	private final String description;
+
+	/**
+	 * @param source the source of the binary content, opened each time the value is
+	 * written, never <code>null</code>
+	 * @param length the length of the binary content in bytes, -1 if unknown
+	 * @param description a short description of the content, never <code>null</code>
+	 */
+	public BinaryInputValue(Source source, long length, String description) {
+		this.source = source;
+		this.length = length;
+		this.description = description;
+	}
+
+	/**
+	 * @return the length of the binary content in bytes, -1 if unknown
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	@Override
+	public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+		if (Boolean.TRUE.equals(serializers.getAttribute(WRITE_CONTENT))) {
+			try (InputStream in = source.open()) {
+				gen.writeBinary(in, -1);
+			}
+		}
+		else {
+			gen.writeString("<base64 encoded " + description + ">");
+		}
+	}
+
+	@Override
+	public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+			throws IOException {
+		WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(this, JsonToken.VALUE_STRING));
+		serialize(gen, serializers);
+		typeSer.writeTypeSuffix(gen, typeId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof BinaryInputValue)) {
+			return false;
+		}
+		BinaryInputValue other = (BinaryInputValue) obj;
+		return length == other.length && description.equals(other.description);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(description, length);
+	}
+
+	@Override
+	public String toString() {
+		return description;
+	}
+
+}
@@ -0,0 +1,71 @@
+package org.opengis.cite.ogcapiprocesses10.jobs;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * An execute request streamed into the request body with chunked transfer coding. The
+ * content of {@link BinaryInputValue binary inputs} is base64 encoded while it is
+ * written, so the memory used and the time to build the request do not grow with the size
+ * of the inputs.
+ *
+ * <p>
+ * {@link #getContent()} returns the execute request with the binary contents replaced by
+ * their descriptions; it is meant for failure reports only.
+ * </p>
+ */
+public class ExecuteRequestEntity extends AbstractHttpEntity {
+
+	private static final ObjectWriter WRITER = new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+		.writer()
+		.withAttribute(BinaryInputValue.WRITE_CONTENT, Boolean.TRUE);
+
+	private final JsonNode executeNode;
+
+	/**
+	 * @param executeNode the execute request, never <code>null</code>
+	 */
+	public ExecuteRequestEntity(JsonNode executeNode) {
+		this.executeNode = executeNode;
+		setContentType(ContentType.APPLICATION_JSON.toString());
+		setChunked(true);
+	}
+
+	@Override
+	public boolean isRepeatable() {
+		return true;
+	}
+
+	@Override
+	public long getContentLength() {
+		return -1;
+	}
+
+	@Override
+	public InputStream getContent() {
+		return new ByteArrayInputStream(executeNode.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public void writeTo(OutputStream outStream) throws IOException {
+		WRITER.writeValue(outStream, executeNode);
+		outStream.flush();
+	}
+
+	@Override
+	public boolean isStreaming() {
+		return false;
+	}
+
+}
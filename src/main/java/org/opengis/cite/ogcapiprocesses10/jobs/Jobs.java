@@ -4,51 +4,54 @@ import static org.testng.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
-import javax.mail.internet.MimeMultipart;
-import javax.mail.util.ByteArrayDataSource;
-
-import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.openapi4j.operation.validator.model.Response;
 import org.openapi4j.operation.validator.model.impl.Body;
 import org.openapi4j.operation.validator.model.impl.DefaultResponse;
 import org.openapi4j.operation.validator.validation.OperationValidator;
-import org.openapi4j.parser.OpenApi3Parser;
-import org.openapi4j.parser.model.v3.OpenApi3;
-import org.openapi4j.parser.model.v3.Operation;
-import org.openapi4j.parser.model.v3.Path;
 import org.openapi4j.schema.validator.ValidationData;
+import org.opengis.cite.ogcapiprocesses10.CallbackReceiver;
 import org.opengis.cite.ogcapiprocesses10.CommonFixture;
+import org.opengis.cite.ogcapiprocesses10.ExchangeCapture;
+import org.opengis.cite.ogcapiprocesses10.ExchangeTiming;
+import org.opengis.cite.ogcapiprocesses10.JobMonitor;
+import org.opengis.cite.ogcapiprocesses10.ProcessDescriptionRepository.ProcessDescription;
 import org.opengis.cite.ogcapiprocesses10.SuiteAttribute;
+import org.opengis.cite.ogcapiprocesses10.util.MultipartStreamReader;
 import org.opengis.cite.ogcapiprocesses10.util.TestSuiteLogger;
 import org.testng.Assert;
 import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -56,7 +59,9 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
 import com.fasterxml.jackson.databind.node.TextNode;
 
 /**
@@ -77,12 +82,6 @@ public class Jobs extends CommonFixture {
 
 	private static final String JOB_CONTROL_OPTIONS_KEY = "jobControlOptions";
 
-	private static final Object JOB_CONTROL_OPTIONS_SYNC = "sync-execute";
-
-	private static final Object JOB_CONTROL_OPTIONS_ASYNC = "async-execute";
-
-	private static final String SCHEMA_KEY = "schema";
-
 	private static final String RESPONSE_KEY = "response";
 
 	private static final String RESPONSE_VALUE_DOCUMENT = "document";
@@ -99,20 +98,16 @@ public class Jobs extends CommonFixture {
 
 	private static final String ASYNC_MODE_NOT_SUPPORTED_MESSAGE = "This test is skipped because the server has not declared support for asynchronous execution mode.";
 
+	private static final int MAX_BINARY_INPUT_SIZE = 2047;
+
+	private static final String GEOTIFF_RESOURCE = "org/opengis/cite/testdata/testgeotiff.tiff";
+
 	private static final String GEOTIFF_URL = "https://raw.githubusercontent.com/opengeospatial/ets-ogcapi-processes10/master/src/main/resources/org/opengis/cite/testdata/testgeotiff.tiff";
 
 	private static final Object TYPE_DEFINITION_ARRAY = "array";
 
 	private static final CharSequence ISSUE_54_MESSAGE_TEXT = "More than 1 schema is valid.";
 
-	private int attempts = 0;
-
-	private static final int MAX_ATTEMPTS = 4;
-
-	private static final int ASYNC_LOOP_WAITING_PERIOD = 5000;
-
-	private OpenApi3 openApi3;
-
 	private String getJobsListPath = "/jobs";
 
 	// private String getJobPath = "/jobs";
@@ -149,10 +144,22 @@ public class Jobs extends CommonFixture {
 
 	private String executeEndpoint;
 
-	private HttpClientBuilder clientBuilder;
-
 	private SupportedExecutionModes supportedExecutionModes;
 
+	private boolean echoProcessSupportsAsync;
+
+	private final Map<String, Supplier<JsonNode>> pipelinedRequests = new LinkedHashMap<>();
+
+	private final Map<String, SubmittedJob> submittedJobs = new ConcurrentHashMap<>();
+
+	private final Map<String, CompletableFuture<JsonNode>> monitoredJobs = new ConcurrentHashMap<>();
+
+	private final Map<String, CallbackReceiver.Subscription> subscriptions = new ConcurrentHashMap<>();
+
+	private CallbackReceiver callbackReceiver;
+
+	private int binaryInputSize;
+
 	enum SupportedExecutionModes {
 
 		/**
@@ -187,123 +194,212 @@ public class Jobs extends CommonFixture {
 			echoProcessPath = getProcessListPath + "/" + echoProcessId;
 			executeEndpoint = rootUri + echoProcessPath + "/execution";
 			parseEchoProcess();
-			openApi3 = new OpenApi3Parser().parse(specURL, false);
-			final Path path = openApi3.getPathItemByOperationId(OPERATION_ID_GET_JOBS);
-			final Operation operation = openApi3.getOperationById(OPERATION_ID_GET_JOBS);
-			getJobsValidator = new OperationValidator(openApi3, path, operation);
-			final Path executePath = openApi3.getPathItemByOperationId(OPERATION_ID_EXECUTE);
-			final Operation executeOperation = openApi3.getOperationById(OPERATION_ID_EXECUTE);
-			executeValidator = new OperationValidator(openApi3, executePath, executeOperation);
-			final Path getStatusPath = openApi3.getPathItemByOperationId(OPERATION_ID_GET_STATUS);
-			final Operation getStatusOperation = openApi3.getOperationById(OPERATION_ID_GET_STATUS);
-			getStatusValidator = new OperationValidator(openApi3, getStatusPath, getStatusOperation);
-			final Path getResultPath = openApi3.getPathItemByOperationId(OPERATION_ID_GET_RESULT);
-			final Operation getResultOperation = openApi3.getOperationById(OPERATION_ID_GET_RESULT);
-			getResultValidator = new OperationValidator(openApi3, getResultPath, getResultOperation);
+			getJobsValidator = operationValidators.getValidator(OPERATION_ID_GET_JOBS);
+			executeValidator = operationValidators.getValidator(OPERATION_ID_EXECUTE);
+			getStatusValidator = operationValidators.getValidator(OPERATION_ID_GET_STATUS);
+			getResultValidator = operationValidators.getValidator(OPERATION_ID_GET_RESULT);
 			getJobsListURL = new URL(jobsListEndpointString);
 			getProcessesListURL = new URL(processListEndpointString);
 			getInvalidJobURL = new URL(jobsListEndpointString + "/invalid-job-" + UUID.randomUUID());
 			getInvalidJobResultURL = new URL(jobsListEndpointString + "/invalid-job-" + UUID.randomUUID() + "/results");
-			clientBuilder = HttpClientBuilder.create();
 		}
 		catch (Exception e) {
 			Assert.fail("Could set up endpoint: " + processListEndpointString + ". Exception: " + e);
 		}
+		callbackReceiver = (CallbackReceiver) testContext.getSuite()
+			.getAttribute(SuiteAttribute.CALLBACK_RECEIVER.getName());
+		Integer binaryInputSize = (Integer) testContext.getSuite()
+			.getAttribute(SuiteAttribute.BINARY_INPUT_SIZE.getName());
+		this.binaryInputSize = binaryInputSize != null ? Math.min(binaryInputSize, MAX_BINARY_INPUT_SIZE) : 0;
+		Boolean pipelineJobs = (Boolean) testContext.getSuite().getAttribute(SuiteAttribute.PIPELINE_JOBS.getName());
+		if (Boolean.TRUE.equals(pipelineJobs) && echoProcessSupportsAsync()) {
+			registerPipelinedRequests();
+			submitJobs(testContext);
+		}
 	}
 
-	private boolean echoProcessSupportsAsync() {
-		boolean supportsAsync = false;
-		try {
-			HttpClient client = HttpClientBuilder.create().build();
-			HttpUriRequest request = new HttpGet(rootUri + echoProcessPath);
-			request.setHeader("Accept", "application/json");
-			HttpResponse httpResponse = client.execute(request);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
-			JsonNode inputsNode = responseNode.get("jobControlOptions");
-
-			if (inputsNode instanceof ArrayNode) {
-				ArrayNode inputsArrayNode = (ArrayNode) inputsNode;
-
-				for (int i = 0; i < inputsArrayNode.size(); i++) {
-					if (inputsArrayNode.get(i).asText().equals("async-execute"))
-						supportsAsync = true;
-				}
+	/**
+	 * <p>
+	 * Cancels the monitoring of jobs that were submitted up front but not used by the
+	 * test they were submitted for, e.g. because the test was skipped, and logs them.
+	 * </p>
+	 */
+	@AfterClass(alwaysRun = true)
+	public void cancelSubmittedJobs() {
+		for (Map.Entry<String, SubmittedJob> job : submittedJobs.entrySet()) {
+			job.getValue().response.cancel(true);
+			HttpResponse httpResponse = job.getValue().response.getNow(null);
+			String locationString = httpResponse != null ? getCreatedJobLocation(httpResponse) : null;
+			TestSuiteLogger.log(Level.WARNING, "Job submitted up front for " + job.getKey() + " was not used"
+					+ (locationString != null ? ": " + locationString : "."));
+		}
+		submittedJobs.clear();
+		for (CompletableFuture<JsonNode> job : monitoredJobs.values()) {
+			job.cancel(true);
+		}
+		monitoredJobs.clear();
+		for (CallbackReceiver.Subscription subscription : subscriptions.values()) {
+			subscription.cancel();
+		}
+		subscriptions.clear();
+	}
 
+	/**
+	 * Registers the asynchronous execute requests that can be submitted up front, by the
+	 * name of the test method sending them. Each request must be built exactly as the
+	 * test method builds it. Jobs of testJobResultsExceptionResultsNotReady are not
+	 * submitted, as the test requires a job that has not finished yet.
+	 */
+	private void registerPipelinedRequests() {
+		pipelinedRequests.put("testJobCreationAutoExecutionMode", () -> createExecuteJsonNode(echoProcessId));
+		pipelinedRequests.put("testJobCreationRequest", () -> createExecuteJsonNode(echoProcessId));
+		pipelinedRequests.put("testJobCreationSuccessAsync", () -> createExecuteJsonNode(echoProcessId));
+		pipelinedRequests.put("testJobResults", () -> createExecuteJsonNode(echoProcessId));
+		pipelinedRequests.put("testJobResultsAsyncDocument",
+				() -> createExecuteJsonNode(echoProcessId, RESPONSE_VALUE_DOCUMENT));
+		pipelinedRequests.put("testJobResultsAsyncRawValueOne",
+				() -> createExecuteJsonNodeOneOutput(echoProcessId, RESPONSE_VALUE_RAW));
+		pipelinedRequests.put("testJobResultsAsyncRawMixedMulti",
+				() -> createExecuteJsonNodeRawMixedMulti(echoProcessId));
+		pipelinedRequests.put("testJobResultsAsyncRawRef", () -> createExecuteJsonNodeRawRef(echoProcessId));
+		pipelinedRequests.put("testJobResultsAsyncRawValueMulti",
+				() -> createExecuteJsonNodeRawValueMulti(echoProcessId));
+	}
+
+	/**
+	 * Submits the registered execute requests of the test methods included in the test
+	 * run up front, so that the jobs are executed and monitored concurrently while the
+	 * tests run. Each test method then takes the job submitted for it, provided it sends
+	 * the same execute request.
+	 */
+	private void submitJobs(ITestContext testContext) {
+		for (ITestNGMethod method : testContext.getAllTestMethods()) {
+			Supplier<JsonNode> pipelinedRequest = pipelinedRequests.get(method.getMethodName());
+			if (pipelinedRequest == null || !method.getRealClass().isInstance(this)) {
+				continue;
 			}
+			try {
+				submitJob(method.getMethodName(), pipelinedRequest.get());
+			}
+			catch (RuntimeException e) {
+				// the job is submitted by the test
+				TestSuiteLogger.log(Level.WARNING, "Could not submit job of " + method.getMethodName() + " up front.",
+						e);
+			}
+		}
+	}
+
+	private void submitJob(String methodName, JsonNode executeNode) {
+		CallbackReceiver.Subscription subscription = subscribe();
+		HttpPost request = createPostRequestASync(executeNode, subscription);
+		ExchangeCapture capture = new ExchangeCapture();
+		CompletableFuture<HttpResponse> response = jobMonitor.submit(request, getRequestExecutor(capture))
+			.thenApply(httpResponse -> {
+				String locationString = getCreatedJobLocation(httpResponse);
+				if (locationString != null) {
+					monitoredJobs.put(locationString,
+							jobMonitor.monitor(locationString, MissingNode.getInstance(), subscription));
+				}
+				else if (subscription != null) {
+					subscription.cancel();
+				}
+				return httpResponse;
+			});
+		submittedJobs.put(methodName, new SubmittedJob(executeNode, request, capture, response));
+	}
+
+	/**
+	 * Takes the job submitted up front for the test method running on the current thread.
+	 * The exchange is attributed to the test method as if it had sent the request itself.
+	 * @param executeNode the execute request the test method would send
+	 * @return the response to the submitted request, <code>null</code> if no job was
+	 * submitted for the test method or with a different request
+	 */
+	private HttpResponse takeSubmittedJob(JsonNode executeNode) throws IOException {
+		ITestResult result = Reporter.getCurrentTestResult();
+		if (result == null || submittedJobs.isEmpty()) {
+			return null;
+		}
+		String methodName = result.getMethod().getMethodName();
+		SubmittedJob job = submittedJobs.remove(methodName);
+		if (job == null) {
+			return null;
+		}
+		if (!job.executeNode.equals(executeNode)) {
+			job.response.cancel(true);
+			TestSuiteLogger.log(Level.WARNING, "Job submitted up front for " + methodName
+					+ " was not used, the test sends a different execute request.");
+			return null;
+		}
+		setRequestEntity(job.request);
+		HttpResponse httpResponse = JobMonitor.await(job.response);
+		ExchangeTiming timing = job.capture.findTiming(httpResponse);
+		if (timing != null) {
+			getExchange().addTiming(httpResponse, timing);
 		}
-		catch (Exception ex) {
-			ex.printStackTrace();
+		return httpResponse;
+	}
+
+	private CallbackReceiver.Subscription subscribe() {
+		return callbackReceiver != null ? callbackReceiver.subscribe() : null;
+	}
+
+	private String getCreatedJobLocation(HttpResponse httpResponse) {
+		Header locationHeader = httpResponse.getFirstHeader("location");
+		if (httpResponse.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED && locationHeader != null) {
+			return locationHeader.getValue();
 		}
-		return supportsAsync;
+		return null;
+	}
+
+	/**
+	 * An execute request submitted up front.
+	 */
+	private static class SubmittedJob {
+
+		private final JsonNode executeNode;
+
+		private final HttpPost request;
+
+		private final ExchangeCapture capture;
+
+		private final CompletableFuture<HttpResponse> response;
+
+		SubmittedJob(JsonNode executeNode, HttpPost request, ExchangeCapture capture,
+				CompletableFuture<HttpResponse> response) {
+			this.executeNode = executeNode;
+			this.request = request;
+			this.capture = capture;
+			this.response = response;
+		}
+
+	}
+
+	private boolean echoProcessSupportsAsync() {
+		return echoProcessSupportsAsync;
 	}
 
 	private void parseEchoProcess() {
 
 		try {
-			HttpClient client = HttpClientBuilder.create().build();
-			HttpUriRequest request = new HttpGet(rootUri + echoProcessPath);
-			request.setHeader("Accept", "application/json");
-			HttpResponse httpResponse = client.execute(request);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
-			JsonNode inputsNode = responseNode.get("inputs");
-			if (inputsNode instanceof ArrayNode) {
-				ArrayNode inputsArrayNode = (ArrayNode) inputsNode;
-			}
-			else {
-				Iterator<String> inputNames = inputsNode.fieldNames();
-				while (inputNames.hasNext()) {
-					String id = (String) inputNames.next();
-					JsonNode inputNode = inputsNode.get(id);
-					JsonNode schemaNode = inputNode.get(SCHEMA_KEY);
-					Input input = createInput(schemaNode, id);
-					inputs.add(input);
-				}
+			ProcessDescription echoProcessDescription = processDescriptions.getProcessDescription(echoProcessId,
+					this::executeRequest);
+			inputs.addAll(echoProcessDescription.getInputs());
+			outputs.addAll(echoProcessDescription.getOutputs());
+			echoProcessSupportsAsync = echoProcessDescription.isAsyncExecuteSupported();
+			if (!echoProcessDescription.getNode().has(JOB_CONTROL_OPTIONS_KEY)) {
+				return;
 			}
-			JsonNode outputsNode = responseNode.get("outputs");
-			if (outputsNode instanceof ArrayNode) {
-				ArrayNode outputsArrayNode = (ArrayNode) outputsNode;
+			boolean syncSupported = echoProcessDescription.isSyncExecuteSupported();
+			boolean aSyncSupported = echoProcessDescription.isAsyncExecuteSupported();
+			if (syncSupported && !aSyncSupported) {
+				supportedExecutionModes = SupportedExecutionModes.ONLY_SYNC;
 			}
-			else {
-				Iterator<String> outputNames = outputsNode.fieldNames();
-				while (outputNames.hasNext()) {
-					String id = (String) outputNames.next();
-					JsonNode outputNode = outputsNode.get(id);
-					JsonNode schemaNode = outputNode.get(SCHEMA_KEY);
-					Output output = createOutput(schemaNode, id);
-					outputs.add(output);
-				}
+			if (aSyncSupported && !syncSupported) {
+				supportedExecutionModes = SupportedExecutionModes.ONLY_ASYNC;
 			}
-			JsonNode jobControlOptionsNode = responseNode.get(JOB_CONTROL_OPTIONS_KEY);
-			if (jobControlOptionsNode != null && !jobControlOptionsNode.isMissingNode()) {
-				if (jobControlOptionsNode instanceof ArrayNode) {
-					ArrayNode jobControlOptionsArrayNode = (ArrayNode) jobControlOptionsNode;
-					boolean syncSupported = false;
-					boolean aSyncSupported = false;
-					for (int i = 0; i < jobControlOptionsArrayNode.size(); i++) {
-						JsonNode jobControlOptionsArrayChildNode = jobControlOptionsArrayNode.get(i);
-						if (jobControlOptionsArrayChildNode.asText().equals(JOB_CONTROL_OPTIONS_SYNC)) {
-							syncSupported = true;
-						}
-						else if (jobControlOptionsArrayChildNode.asText().equals(JOB_CONTROL_OPTIONS_ASYNC)) {
-							aSyncSupported = true;
-						}
-					}
-					if (syncSupported && !aSyncSupported) {
-						supportedExecutionModes = SupportedExecutionModes.ONLY_SYNC;
-					}
-					if (aSyncSupported && !syncSupported) {
-						supportedExecutionModes = SupportedExecutionModes.ONLY_ASYNC;
-					}
-					if (syncSupported && aSyncSupported) {
-						supportedExecutionModes = SupportedExecutionModes.EITHER;
-					}
-				}
+			if (syncSupported && aSyncSupported) {
+				supportedExecutionModes = SupportedExecutionModes.EITHER;
 			}
 		}
 		catch (IOException e) {
@@ -312,6 +408,25 @@ public class Jobs extends CommonFixture {
 
 	}
 
+	/**
+	 * Creates the execute requests for the echo process that are sent by the tests of
+	 * this class, so that other tests (e.g. the load test) send the same requests.
+	 * @param echoProcessDescription the description of the echo process, never
+	 * <code>null</code>
+	 * @return the execute request requesting all outputs and the execute request
+	 * requesting one output with response type <code>raw</code>
+	 */
+	public static List<JsonNode> createEchoExecuteJsonNodes(ProcessDescription echoProcessDescription) {
+		Jobs jobs = new Jobs();
+		jobs.inputs = new ArrayList<Input>(echoProcessDescription.getInputs());
+		jobs.outputs = new ArrayList<Output>(echoProcessDescription.getOutputs());
+		String echoProcessId = echoProcessDescription.getProcessId();
+		List<JsonNode> executeNodes = new ArrayList<>();
+		executeNodes.add(jobs.createExecuteJsonNode(echoProcessId));
+		executeNodes.add(jobs.createExecuteJsonNodeOneOutput(echoProcessId, RESPONSE_VALUE_RAW));
+		return executeNodes;
+	}
+
 	private ObjectNode createExecuteJsonNode(String echoProcessId) {
 		ObjectNode executeNode = objectMapper.createObjectNode();
 		ObjectNode inputsNode = objectMapper.createObjectNode();
@@ -787,29 +902,29 @@ public class Jobs extends CommonFixture {
 	private void addBinaryInput(Input input, ObjectNode inputsNode) {
 		List<Type> types = input.getTypes();
 		ObjectNode inputNode = objectMapper.createObjectNode();
-		byte[] inputFileAsByteArray = null;
-		try {
-			URL fileUrl = getClass().getClassLoader().getResource("org/opengis/cite/testdata/testgeotiff.tiff");
-			File inputFile = new File(fileUrl.getFile());
-			InputStream in = new FileInputStream(inputFile);
-			inputFileAsByteArray = new byte[(int) inputFile.length()];
-			in.read(inputFileAsByteArray);
-			in.close();
-		}
-		catch (IOException e) {
-			return;
-		}
-		String base64EncodedString = Base64.encodeBase64String(inputFileAsByteArray);
-
-		inputNode.set("value", new TextNode(base64EncodedString));
-
 		ObjectNode formatNode = objectMapper.createObjectNode();
-
+		String mediaType = null;
 		for (Type type : types) {
 			if (type.getTypeDefinition().equals("string")) {
 				if (type.getContentMediaType() != null && type.getContentMediaType().contains("tiff"))
-					formatNode.set("mediaType", new TextNode(type.getContentMediaType()));
+					mediaType = type.getContentMediaType();
+			}
+		}
+		if (binaryInputSize > 0) {
+			long length = new SyntheticRaster(binaryInputSize * 1024L * 1024L).getLength();
+			inputNode.putPOJO("value", new BinaryInputValue(() -> new SyntheticRaster(length), length,
+					"synthetic raster of " + length + " bytes"));
+		}
+		else {
+			if (getClass().getClassLoader().getResource(GEOTIFF_RESOURCE) == null) {
+				return;
 			}
+			inputNode.putPOJO("value", new BinaryInputValue(
+					() -> getClass().getClassLoader().getResourceAsStream(GEOTIFF_RESOURCE), -1, "testgeotiff.tiff"));
+		}
+
+		if (mediaType != null) {
+			formatNode.set("mediaType", new TextNode(mediaType));
 		}
 		formatNode.set("encoding", new TextNode("base64"));
 
@@ -1072,21 +1187,7 @@ public class Jobs extends CommonFixture {
 			}
 		}
 		else if (responseContentTypeValue.startsWith("multipart/related")) {
-
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-
-			try {
-				IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			}
-			catch (Exception e1) {
-				Assert.fail(e1.getLocalizedMessage());
-			}
-
-			String responsePayload = writer.toString();
-
-			validateMultipartResponse(responsePayload, executeNode);
-
+			validateMultipartResponse(httpResponse, executeNode);
 		}
 
 	}
@@ -1180,16 +1281,7 @@ public class Jobs extends CommonFixture {
 
 		if (responseContentTypeValue.startsWith("multipart/related")) {
 			if (responseContentType.getValue().startsWith("multipart/related")) {
-				String responsePayload = null;
-				try {
-					responsePayload = parseRawResponse(httpResponse);
-					this.rspEntity = responsePayload;
-
-				}
-				catch (Exception ee) {
-					Assert.fail(ee.getLocalizedMessage());
-				}
-				validateMultipartResponse(responsePayload, executeNode);
+				validateMultipartResponse(httpResponse, executeNode);
 			}
 			else {
 				throw new SkipException(
@@ -1215,7 +1307,7 @@ public class Jobs extends CommonFixture {
 						httpResponse.getEntity().getContent().close();
 						ObjectMapper objectMapper = new ObjectMapper();
 						JsonNode statusNode = objectMapper.readTree(responseContentString);
-						loopOverStatus(statusNode);
+						loopOverStatus(locationString, statusNode);
 						break;
 					default:
 						Assert.fail("Got unexpected status code: " + statusCode);
@@ -1231,11 +1323,7 @@ public class Jobs extends CommonFixture {
 		data = new ValidationData<>();
 		try {
 			httpResponse = sendPostRequestSync(executeNode, false);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			this.rspEntity = writer.toString();
-			JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
+			JsonNode responseNode = readJsonResponse(httpResponse);
 			Body body = Body.from(responseNode);
 			responseContentType = httpResponse.getFirstHeader(CONTENT_TYPE);
 			int statusCode = httpResponse.getStatusLine().getStatusCode();
@@ -1250,7 +1338,7 @@ public class Jobs extends CommonFixture {
 				httpResponse.getEntity().getContent().close();
 				ObjectMapper objectMapper = new ObjectMapper();
 				JsonNode statusNode = objectMapper.readTree(responseContentString);
-				assertTrue(loopOverStatusReturnsFailed(statusNode));
+				assertTrue(loopOverStatusReturnsFailed(locationString, statusNode));
 			}
 			else {
 				Assert.assertTrue(
@@ -1262,9 +1350,7 @@ public class Jobs extends CommonFixture {
 								|| responseContentType.getValue().startsWith("application/json;"),
 						"Was expecting a Status Code of 400 or 500 but found " + statusCode
 								+ " (See Table 10 of OGC API - Processes - Part 1, OGC 18-062r2).");
-				assertTrue(
-						validateResponseAgainstSchema(EXCEPTION_SCHEMA_URL,
-								body.getContentAsNode(null, null, null).toString()),
+				assertTrue(validateResponseAgainstSchema(EXCEPTION_SCHEMA_URL, body.getContentAsNode(null, null, null)),
 						"Unable to validate the response document against: " + EXCEPTION_SCHEMA_URL);
 			}
 		}
@@ -1294,7 +1380,7 @@ public class Jobs extends CommonFixture {
 	}
 
 	private HttpResponse sendPostRequestSync(JsonNode executeNode, boolean checkForStatusCode) throws IOException {
-		HttpResponse httpResponse = clientBuilder.build().execute(createPostRequest(executeNode));
+		HttpResponse httpResponse = executeRequest(createPostRequest(executeNode));
 		int statusCode = httpResponse.getStatusLine().getStatusCode();
 		if (checkForStatusCode) {
 			Assert.assertTrue(statusCode == 200 || statusCode == 201, "Got unexpected status code: " + statusCode);
@@ -1308,21 +1394,62 @@ public class Jobs extends CommonFixture {
 
 	private HttpPost createPostRequest(JsonNode executeNode) {
 		HttpPost request = new HttpPost(executeEndpoint);
-		this.reqEntity = request;
+		setRequestEntity(request);
 		request.setHeader("Accept", "application/json");
-		ContentType contentType = ContentType.APPLICATION_JSON;
-		request.setEntity(new StringEntity(executeNode.toString(), contentType));
+		request.setEntity(createExecuteEntity(executeNode));
 		return request;
 	}
 
-	private HttpResponse sendPostRequestASync(JsonNode executeNode) throws IOException {
+	private HttpEntity createExecuteEntity(JsonNode executeNode) {
+		if (containsBinaryInput(executeNode)) {
+			return new ExecuteRequestEntity(executeNode);
+		}
+		return new StringEntity(executeNode.toString(), ContentType.APPLICATION_JSON);
+	}
+
+	private static boolean containsBinaryInput(JsonNode node) {
+		if (node.isPojo()) {
+			return ((POJONode) node).getPojo() instanceof BinaryInputValue;
+		}
+		for (JsonNode child : node) {
+			if (containsBinaryInput(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private HttpPost createPostRequestASync(JsonNode executeNode, CallbackReceiver.Subscription subscription) {
 		HttpPost request = new HttpPost(executeEndpoint);
-		this.reqEntity = request;
 		request.setHeader("Accept", "application/json");
 		request.setHeader("Prefer", "respond-async");
-		ContentType contentType = ContentType.APPLICATION_JSON;
-		request.setEntity(new StringEntity(executeNode.toString(), contentType));
-		HttpResponse httpResponse = clientBuilder.build().execute(request);
+		JsonNode requestNode = executeNode;
+		if (subscription != null && executeNode.isObject()) {
+			ObjectNode subscribedNode = executeNode.deepCopy();
+			subscribedNode.set("subscriber", subscription.toSubscriberNode());
+			requestNode = subscribedNode;
+		}
+		request.setEntity(createExecuteEntity(requestNode));
+		return request;
+	}
+
+	private HttpResponse sendPostRequestASync(JsonNode executeNode) throws IOException {
+		HttpResponse httpResponse = takeSubmittedJob(executeNode);
+		if (httpResponse == null) {
+			CallbackReceiver.Subscription subscription = subscribe();
+			HttpPost request = createPostRequestASync(executeNode, subscription);
+			setRequestEntity(request);
+			httpResponse = executeRequest(request);
+			if (subscription != null) {
+				String locationString = getCreatedJobLocation(httpResponse);
+				if (locationString != null) {
+					subscriptions.put(locationString, subscription);
+				}
+				else {
+					subscription.cancel();
+				}
+			}
+		}
 		int statusCode = httpResponse.getStatusLine().getStatusCode();
 		// https://github.com/opengeospatial/ets-ogcapi-processes10/issues/52
 		// Allow also 200 responses if process supports both sync and async execution
@@ -1425,27 +1552,22 @@ public class Jobs extends CommonFixture {
 			JsonNode executeNode = createExecuteJsonNode(echoProcessId);
 			final ValidationData<Void> data = new ValidationData<>();
 			try {
-				HttpClient client = HttpClientBuilder.create().build();
 				String executeEndpoint = rootUri + echoProcessPath + "/execution";
 				HttpPost request = new HttpPost(executeEndpoint);
-				this.reqEntity = request;
+				setRequestEntity(request);
 				request.setHeader("Accept", "application/json");
 				request.setHeader("Prefer", "respond-async ");
 				ContentType contentType = ContentType.APPLICATION_JSON;
 				request.setEntity(new StringEntity(executeNode.toString(), contentType));
-				httpResponse = client.execute(request);
+				httpResponse = executeRequest(request);
 				int statusCode = httpResponse.getStatusLine().getStatusCode();
 				Assert.assertTrue(statusCode == 200 || statusCode == 201, "Got unexpected status code: " + statusCode);
 				Header locationHeader = httpResponse.getFirstHeader("location");
 				String locationString = locationHeader.getValue();
-				client = HttpClientBuilder.create().build();
 				HttpGet statusRequest = new HttpGet(locationString);
 				request.setHeader("Accept", "application/json");
-				httpResponse = client.execute(statusRequest);
-				StringWriter writer = new StringWriter();
-				String encoding = StandardCharsets.UTF_8.name();
-				IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-				JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
+				httpResponse = executeRequest(statusRequest);
+				JsonNode responseNode = readJsonResponse(httpResponse);
 				Body body = Body.from(responseNode);
 				Header responseContentType = httpResponse.getFirstHeader(CONTENT_TYPE);
 				Response response = new DefaultResponse.Builder(httpResponse.getStatusLine().getStatusCode()).body(body)
@@ -1464,17 +1586,16 @@ public class Jobs extends CommonFixture {
 			final ValidationData<Void> data = new ValidationData<>();
 			try {
 				httpResponse = sendPostRequestSync(executeNode);
+				if (isMultipartRelated(httpResponse)) {
+					validateMultipartResponse(httpResponse, executeNode);
+					return;
+				}
 				String responsePayload = parseRawResponse(httpResponse);
 				if (responsePayload.contains("Content-Type: multipart/related")) {
 					Header responseContentType = httpResponse.getFirstHeader(CONTENT_TYPE);
-					if (responseContentType.getValue().startsWith("multipart/related")) {
-						validateMultipartResponse(responsePayload, executeNode);
-					}
-					else {
-						throw new SkipException("The value of the Content-Type header of the response is "
-								+ responseContentType.getValue()
-								+ " but the response payload states Content-Type: multipart/related");
-					}
+					throw new SkipException(
+							"The value of the Content-Type header of the response is " + responseContentType.getValue()
+									+ " but the response payload states Content-Type: multipart/related");
 				}
 				else {
 					try {
@@ -1532,6 +1653,10 @@ public class Jobs extends CommonFixture {
 
 			}
 
+			if (isMultipartRelated(httpResponse)) {
+				validateMultipartResponse(httpResponse, executeNode);
+				return;
+			}
 			responsePayload = parseRawResponse(httpResponse);
 
 		}
@@ -1541,14 +1666,9 @@ public class Jobs extends CommonFixture {
 
 		if (responsePayload.contains("Content-Type: multipart/related")) {
 			Header responseContentType = httpResponse.getFirstHeader(CONTENT_TYPE);
-			if (responseContentType.getValue().startsWith("multipart/related")) {
-				validateMultipartResponse(responsePayload, executeNode);
-			}
-			else {
-				throw new SkipException(
-						"The value of the Content-Type header of the response is " + responseContentType.getValue()
-								+ " but the response payload states Content-Type: multipart/related");
-			}
+			throw new SkipException(
+					"The value of the Content-Type header of the response is " + responseContentType.getValue()
+							+ " but the response payload states Content-Type: multipart/related");
 		}
 		else {
 			try {
@@ -1625,11 +1745,7 @@ public class Jobs extends CommonFixture {
 	}
 
 	private JsonNode parseResponse(HttpResponse httpResponse) throws IOException {
-		StringWriter writer = new StringWriter();
-		String encoding = StandardCharsets.UTF_8.name();
-		IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-		this.rspEntity = writer.toString();
-		return new ObjectMapper().readTree(writer.toString());
+		return readJsonResponse(httpResponse);
 	}
 
 	private String parseRawResponse(HttpResponse httpResponse) throws IOException {
@@ -1641,9 +1757,9 @@ public class Jobs extends CommonFixture {
 
 	private HttpResponse sendGetRequest(String url, String acceptType) throws IOException {
 		HttpGet request = new HttpGet(url);
-		this.reqEntity = request;
+		setRequestEntity(request);
 		request.setHeader("Accept", acceptType);
-		return clientBuilder.build().execute(request);
+		return executeRequest(request);
 	}
 
 	/**
@@ -1727,31 +1843,57 @@ public class Jobs extends CommonFixture {
 		}
 	}
 
-	private void validateMultipartResponse(String responsePayload, JsonNode executeNode) {
+	private boolean isMultipartRelated(HttpResponse httpResponse) {
+		Header responseContentType = httpResponse.getFirstHeader(CONTENT_TYPE);
+		return responseContentType != null && responseContentType.getValue() != null
+				&& responseContentType.getValue().startsWith("multipart/related");
+	}
 
-		boolean foundTestString = false;
-		String errorMessage = "";
-		this.rspEntity = responsePayload;
+	private void validateMultipartResponse(HttpResponse httpResponse, JsonNode executeNode) {
+		Header responseContentType = httpResponse.getFirstHeader(CONTENT_TYPE);
+		try (InputStream responseStream = httpResponse.getEntity().getContent()) {
+			validateMultipartResponse(responseStream, responseContentType.getValue(), executeNode);
+		}
+		catch (IOException e) {
+			Assert.fail(e.getLocalizedMessage());
+		}
+	}
 
-		try {
+	/**
+	 * Validates that one of the parts of a multipart response contains the test string.
+	 * The parts are read from the stream and searched while they are read; the response
+	 * entity of the failure report lists the parts read.
+	 * @param responseStream the entity of the response, never <code>null</code>
+	 * @param contentType the content type of the response, may be <code>null</code>
+	 * @param executeNode the execute request
+	 */
+	void validateMultipartResponse(InputStream responseStream, String contentType, JsonNode executeNode) {
 
-			MimeMultipart mimeMultipart = new MimeMultipart(
-					new ByteArrayDataSource(responsePayload.getBytes(), "multipart/related"));
-			if (mimeMultipart.getCount() < 1) {
-				Assert.assertTrue(mimeMultipart.getCount() > 0, "Error with multipart response");
-			}
-			for (int i = 0; i < mimeMultipart.getCount(); i++) {
-				if (mimeMultipart.getBodyPart(i).getContent().toString().contains(TEST_STRING_INPUT)) {
+		boolean foundTestString = false;
+		String errorMessage = "";
+		int partCount = 0;
+		StringBuilder parts = new StringBuilder();
+
+		try (MultipartStreamReader reader = new MultipartStreamReader(responseStream,
+				MultipartStreamReader.getBoundary(contentType), TEST_STRING_INPUT.getBytes(StandardCharsets.UTF_8))) {
+			MultipartStreamReader.Part part;
+			while ((part = reader.next()) != null) {
+				partCount++;
+				parts.append("Part ").append(partCount).append(": ").append(part).append('\n');
+				if (part.containsMarker()) {
 					foundTestString = true;
 					break;
 				}
 			}
-
 		}
 		catch (Exception e) {
-			errorMessage = e.getLocalizedMessage();
+			errorMessage = e.toString();
+		}
+		setResponseEntity(parts.toString());
+		if (errorMessage.isEmpty() && partCount < 1) {
+			Assert.assertTrue(partCount > 0, "Error with multipart response");
 		}
-		if (!foundTestString) {
+		if (!foundTestString && errorMessage.isEmpty()) {
 			errorMessage = "The input test string was not detected in one of the parts of the multipart response.";
 		}
 
@@ -1864,14 +2006,13 @@ public class Jobs extends CommonFixture {
 		// create job
 		JsonNode executeNode = createExecuteJsonNode(echoProcessId);
 		try {
-			HttpClient client = HttpClientBuilder.create().build();
 			String executeEndpoint = rootUri + echoProcessPath + "/execution";
 			HttpPost request = new HttpPost(executeEndpoint);
-			this.reqEntity = request;
+			setRequestEntity(request);
 			request.setHeader("Accept", "application/json");
 			ContentType contentType = ContentType.APPLICATION_JSON;
 			request.setEntity(new StringEntity(executeNode.toString(), contentType));
-			HttpResponse httpResponse = client.execute(request);
+			HttpResponse httpResponse = executeRequest(request);
 			int statusCode = httpResponse.getStatusLine().getStatusCode();
 			Assert.assertTrue(statusCode == 200 || statusCode == 201, "Got unexpected status code: " + statusCode);
 		}
@@ -2002,8 +2143,7 @@ public class Jobs extends CommonFixture {
 				baos.close();
 				System.out.println("HTTP Response Content: " + responseContentString);
 				httpResponse.getEntity().getContent().close();
-				ObjectMapper objectMapper = new ObjectMapper();
-				JsonNode resultsNode = objectMapper.readTree(responseContentString);
+				JsonNode resultsNode = JSON_READER.readTree(responseContentString);
 				JsonNode typeNode = resultsNode.get("type");
 				if (typeNode != null) {
 					String typeValue = typeNode.textValue();
@@ -2016,13 +2156,12 @@ public class Jobs extends CommonFixture {
 							.equals("http://www.opengis.net/def/exceptions/ogcapi-processes-1/1.0/result-not-ready"),
 						"Failed Abstract test A.46 (Step 4). The document did not contain an exception of type http://www.opengis.net/def/exceptions/ogcapi-processes-1/1.0/result-not-ready");
 
-				Assert.assertTrue(validateResponseAgainstSchema(EXCEPTION_SCHEMA_URL, responseContentString),
+				boolean isSchemaValid = validateResponseAgainstSchema(EXCEPTION_SCHEMA_URL, resultsNode);
+				TestSuiteLogger.log(Level.FINE, "Schema Validation Result: " + isSchemaValid);
+				Assert.assertTrue(isSchemaValid,
 						"Failed Abstract test A.46 (Step 5). Unable to validate the response document against: "
 								+ EXCEPTION_SCHEMA_URL);
 
-				boolean isSchemaValid = validateResponseAgainstSchema(EXCEPTION_SCHEMA_URL, responseContentString);
-				System.out.println("Schema Validation Result: " + isSchemaValid);
-
 			}
 			catch (Exception e) {
 				System.out.println("Checking error: An exception occurred: " + e.getMessage());
@@ -2373,40 +2512,19 @@ public class Jobs extends CommonFixture {
 		}
 	}
 
-	private boolean loopOverStatusReturnsFailed(JsonNode responseNode) {
-		try {
-
-			HttpClient client = HttpClientBuilder.create().build();
-			ArrayNode linksArrayNode = (ArrayNode) responseNode.get("links");
-
-			boolean hasMonitorOrResultLink = false;
-
-			JsonNode statusNode = responseNode.get("status");
-
-			if (statusNode != null) {
-				String statusNodeText = statusNode.asText();
-				if (statusNodeText.equals("failed")) {
-					return true;
-				}
-				else if (statusNodeText.equals("successful")) {
-					return false;
-				}
-			}
-
-			if (!hasMonitorOrResultLink)
-				for (JsonNode currentJsonNode : linksArrayNode) {
-
-					// Fetch status document
-					if (currentJsonNode.get("rel").asText() == "monitor") {
-						HttpUriRequest request = new HttpGet(currentJsonNode.get("href").asText());
-						request.setHeader("Accept", "application/json");
-						HttpResponse httpResponse = client.execute(request);
-						JsonNode resultNode = parseResponse(httpResponse);
-						loopOverStatus(resultNode);
-						hasMonitorOrResultLink = true;
-					}
-				}
+	private JsonNode awaitJob(String statusUri, JsonNode responseNode) throws IOException {
+		CompletableFuture<JsonNode> job = monitoredJobs.remove(statusUri);
+		if (job == null) {
+			job = jobMonitor.monitor(statusUri, responseNode, subscriptions.remove(statusUri));
+		}
+		return JobMonitor.await(job);
+	}
 
+	private boolean loopOverStatusReturnsFailed(String statusUri, JsonNode responseNode) {
+		try {
+			JsonNode statusInfo = awaitJob(statusUri, responseNode);
+			setResponseEntity(statusInfo.toString());
+			return JobMonitor.isFailed(statusInfo);
 		}
 		catch (Exception e) {
 			Assert.fail(e.getLocalizedMessage());
@@ -2414,76 +2532,25 @@ public class Jobs extends CommonFixture {
 		return false;
 	}
 
-	private void loopOverStatus(JsonNode responseNode) {
+	private void loopOverStatus(String statusUri, JsonNode responseNode) {
 		try {
-
-			if (attempts >= MAX_ATTEMPTS) {
-				throw new Exception(String.format("Server did not return result in %d seconds.",
-						MAX_ATTEMPTS * ASYNC_LOOP_WAITING_PERIOD / 1000));
+			JsonNode statusInfo = awaitJob(statusUri, responseNode);
+			setResponseEntity(statusInfo.toString());
+			if (JobMonitor.isFailed(statusInfo)) {
+				throw new SkipException("Process failed to execute.");
 			}
-
-			JsonNode statusNode = responseNode.get("status");
-
-			if (statusNode != null) {
-				String statusNodeText = statusNode.asText();
-				if (statusNodeText.equals("failed")) {
-					throw new SkipException("Process failed to execute.");
-				}
+			String resultsLink = JobMonitor.getResultsLink(statusInfo);
+			if (resultsLink == null) {
+				throw new AssertionError(
+						"No result (rel='http://www.opengis.net/def/rel/ogc/1.0/results') links were found in response.");
 			}
+			HttpUriRequest request = new HttpGet(resultsLink);
+			HttpResponse httpResponse = executeRequest(request);
+			String resultString = parseRawResponse(httpResponse);
 
-			HttpClient client = HttpClientBuilder.create().build();
-			ArrayNode linksArrayNode = (ArrayNode) responseNode.get("links");
-
-			boolean hasMonitorOrResultLink = false;
-			for (JsonNode currentJsonNode : linksArrayNode) {
-				// Fetch result document
-				if (currentJsonNode.get("rel").asText().equals("http://www.opengis.net/def/rel/ogc/1.0/results")) {
-
-					HttpUriRequest request = new HttpGet(currentJsonNode.get("href").asText());
-
-					HttpResponse httpResponse = client.execute(request);
-
-					String resultString = parseRawResponse(httpResponse);
-					this.rspEntity = responseNode.asText();
-
-					// May be more generic here
-					Assert.assertTrue(resultString.contains(TEST_STRING_INPUT),
-							"Response does not contain " + TEST_STRING_INPUT + "\n" + resultString);
-					hasMonitorOrResultLink = true;
-					System.out.println("currentNode (return): " + currentJsonNode.get("rel").asText());
-					return;
-				}
-
-			}
-
-			if (!hasMonitorOrResultLink)
-				for (JsonNode currentJsonNode : linksArrayNode) {
-					String relString = currentJsonNode.get("rel").asText();
-
-					// Fetch status document
-					if (relString.equals("monitor") || relString.equals("status")) {
-						HttpUriRequest request = new HttpGet(currentJsonNode.get("href").asText());
-						request.setHeader("Accept", "application/json");
-						HttpResponse httpResponse = client.execute(request);
-						JsonNode resultNode = parseResponse(httpResponse);
-						try {
-							Thread.sleep(ASYNC_LOOP_WAITING_PERIOD);
-						}
-						catch (Exception e) {
-							TestSuiteLogger.log(Level.WARNING, e.getMessage());
-						}
-						attempts++;
-						loopOverStatus(resultNode);
-						hasMonitorOrResultLink = true;
-						System.out.println("currentNode (return): " + relString);
-						return;
-					}
-				}
-			// if the code gets to this position, no result or monitor link were found
-			// imho we need to throw an exception
-			throw new AssertionError(
-					"No result (rel='http://www.opengis.net/def/rel/ogc/1.0/results') or monitor (rel='monitor') links were found in response.");
-
+			// May be more generic here
+			Assert.assertTrue(resultString.contains(TEST_STRING_INPUT),
+					"Response does not contain " + TEST_STRING_INPUT + "\n" + resultString);
 		}
 		catch (Exception e) {
 			Assert.fail(e.getLocalizedMessage());
@@ -2544,7 +2611,7 @@ public class Jobs extends CommonFixture {
 					JsonNode statusNode = objectMapper.readTree(responseContentString);
 					System.out.println("Status Node: " + statusNode);
 
-					loopOverStatus(statusNode);
+					loopOverStatus(locationString, statusNode);
 				}
 			}
 			catch (Exception e) {
@@ -2689,26 +2756,21 @@ public class Jobs extends CommonFixture {
 			JsonNode executeNode = createExecuteJsonNode(echoProcessId);
 			final ValidationData<Void> data = new ValidationData<>();
 			try {
-				HttpClient client = HttpClientBuilder.create().build();
 				String executeEndpoint = rootUri + echoProcessPath + "/execution";
 				HttpPost request = new HttpPost(executeEndpoint);
 				request.setHeader("Accept", "application/json");
 				request.setHeader("Prefer", "respond-async ");
 				ContentType contentType = ContentType.APPLICATION_JSON;
 				request.setEntity(new StringEntity(executeNode.toString(), contentType));
-				HttpResponse httpResponse = client.execute(request);
+				HttpResponse httpResponse = executeRequest(request);
 				int statusCode = httpResponse.getStatusLine().getStatusCode();
 				Assert.assertTrue(statusCode == 200 || statusCode == 201, "Got unexpected status code: " + statusCode);
 				Header locationHeader = httpResponse.getFirstHeader("location");
 				String locationString = locationHeader.getValue();
-				client = HttpClientBuilder.create().build();
 				HttpGet statusRequest = new HttpGet(locationString);
 				request.setHeader("Accept", "application/json");
-				httpResponse = client.execute(statusRequest);
-				StringWriter writer = new StringWriter();
-				String encoding = StandardCharsets.UTF_8.name();
-				IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-				JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
+				httpResponse = executeRequest(statusRequest);
+				JsonNode responseNode = readJsonResponse(httpResponse);
 				Body body = Body.from(responseNode);
 				Header responseContentType = httpResponse.getFirstHeader(CONTENT_TYPE);
 				Response response = new DefaultResponse.Builder(httpResponse.getStatusLine().getStatusCode()).body(body)
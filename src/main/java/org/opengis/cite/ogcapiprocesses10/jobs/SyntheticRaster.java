@@ -0,0 +1,113 @@
+package org.opengis.cite.ogcapiprocesses10.jobs;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * An uncompressed 8 bit greyscale TIFF of a given size, generated while it is read. It is
+ * used as binary input to test how an IUT handles large in-line inputs without holding
+ * the raster in memory.
+ */
+public class SyntheticRaster extends InputStream {
+
+	private static final int WIDTH = 4096;
+
+	private static final int ENTRIES = 8;
+
+	private static final int IFD_OFFSET = 8;
+
+	private static final int HEADER_LENGTH = IFD_OFFSET + 2 + ENTRIES * 12 + 4;
+
+	private final byte[] header;
+
+	private final long length;
+
+	private long position;
+
+	/**
+	 * @param minLength the minimum length in bytes of the raster, the raster is padded to
+	 * a full row; must be less than 2 GB
+	 */
+	public SyntheticRaster(long minLength) {
+		int height = (int) Math.max(1, (minLength - HEADER_LENGTH + WIDTH - 1) / WIDTH);
+		this.length = HEADER_LENGTH + (long) WIDTH * height;
+		this.header = createHeader(height);
+	}
+
+	/**
+	 * @return the length in bytes of the raster
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	@Override
+	public int read() {
+		if (position >= length) {
+			return -1;
+		}
+		return byteAt(position++);
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) {
+		if (len == 0) {
+			return 0;
+		}
+		if (position >= length) {
+			return -1;
+		}
+		int n = (int) Math.min(len, length - position);
+		for (int i = 0; i < n; i++) {
+			b[off + i] = (byte) byteAt(position++);
+		}
+		return n;
+	}
+
+	@Override
+	public long skip(long n) {
+		long skipped = Math.max(0, Math.min(n, length - position));
+		position += skipped;
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return (int) Math.min(Integer.MAX_VALUE, length - position);
+	}
+
+	private int byteAt(long offset) {
+		if (offset < HEADER_LENGTH) {
+			return header[(int) offset] & 0xff;
+		}
+		long pixel = offset - HEADER_LENGTH;
+		// a diagonal gradient
+		return (int) ((pixel % WIDTH + pixel / WIDTH) & 0xff);
+	}
+
+	private static byte[] createHeader(int height) {
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.put((byte) 'I').put((byte) 'I').putShort((short) 42).putInt(IFD_OFFSET);
+		buffer.putShort((short) ENTRIES);
+		putLongEntry(buffer, 256, WIDTH); // ImageWidth
+		putLongEntry(buffer, 257, height); // ImageLength
+		putShortEntry(buffer, 258, 8); // BitsPerSample
+		putShortEntry(buffer, 259, 1); // Compression: none
+		putShortEntry(buffer, 262, 1); // PhotometricInterpretation: black is zero
+		putLongEntry(buffer, 273, HEADER_LENGTH); // StripOffsets
+		putLongEntry(buffer, 278, height); // RowsPerStrip
+		putLongEntry(buffer, 279, WIDTH * height); // StripByteCounts
+		buffer.putInt(0); // no further IFD
+		return buffer.array();
+	}
+
+	private static void putShortEntry(ByteBuffer buffer, int tag, int value) {
+		buffer.putShort((short) tag).putShort((short) 3).putInt(1).putShort((short) value).putShort((short) 0);
+	}
+
+	private static void putLongEntry(ByteBuffer buffer, int tag, int value) {
+		buffer.putShort((short) tag).putShort((short) 4).putInt(1).putInt(value);
+	}
+
+}
@@ -38,10 +38,6 @@ import io.restassured.response.Response;
  */
 public class LandingPage extends CommonFixture {
 
-	private JsonPath response;
-
-	private String body;
-
 	// private static String
 	// utrlSchema="http://schemas.opengis.net/ogcapi/common/part1/0.1/core/openapi/schemas/landingPage.json";
 	// private static String
@@ -67,8 +63,6 @@ public class LandingPage extends CommonFixture {
 		Response request = init().baseUri(rootUri.toString()).accept(JSON).when().request(GET, "/");
 		TestSuiteLogger.log(Level.INFO, rootUri.toString());
 		request.then().statusCode(200);
-		response = request.jsonPath();
-		body = request.getBody().asString();
 	}
 
 	/**
@@ -83,7 +77,8 @@ public class LandingPage extends CommonFixture {
 		Response request = init().baseUri(rootUri.toString()).accept(JSON).when().request(GET, "/");
 		TestSuiteLogger.log(Level.INFO, rootUri.toString());
 		request.then().statusCode(200);
-		response = request.jsonPath();
+		JsonPath response = request.jsonPath();
+		String body = request.getBody().asString();
 
 		List<Object> links = response.getList("links");
 
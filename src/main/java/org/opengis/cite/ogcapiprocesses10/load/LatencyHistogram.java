@@ -0,0 +1,116 @@
+package org.opengis.cite.ogcapiprocesses10.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of latencies in microseconds. Latencies are counted in
+ * log-linear buckets (32 buckets per power of two), so percentiles are reported with a
+ * relative error of at most about 3 % while the memory used does not depend on the number
+ * of recorded latencies.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	private static final int MAX_SHIFT = 40;
+
+	private static final long MAX_VALUE = (2L * SUB_BUCKET_COUNT << MAX_SHIFT) - 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray((MAX_SHIFT + 2) * SUB_BUCKET_COUNT);
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder sum = new LongAdder();
+
+	private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Records a latency.
+	 * @param micros the latency in microseconds, negative values are recorded as 0
+	 */
+	public void record(long micros) {
+		long value = Math.min(Math.max(0, micros), MAX_VALUE);
+		counts.incrementAndGet(indexOf(value));
+		count.increment();
+		sum.add(value);
+		min.accumulate(value);
+		max.accumulate(value);
+	}
+
+	/**
+	 * @return the number of recorded latencies
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return the smallest recorded latency in microseconds, 0 if nothing was recorded
+	 */
+	public long getMin() {
+		return getCount() > 0 ? min.get() : 0;
+	}
+
+	/**
+	 * @return the largest recorded latency in microseconds, 0 if nothing was recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return the mean of the recorded latencies in microseconds, 0 if nothing was
+	 * recorded
+	 */
+	public double getMean() {
+		long n = getCount();
+		return n > 0 ? (double) sum.sum() / n : 0;
+	}
+
+	/**
+	 * Returns the latency below which the given percentage of the recorded latencies
+	 * fall.
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the latency in microseconds (the upper bound of the bucket containing the
+	 * percentile, but not more than {@link #getMax()}), 0 if nothing was recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long total = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			total += counts.get(i);
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+		long cumulative = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			cumulative += counts.get(i);
+			if (cumulative >= rank) {
+				return Math.min(upperBoundOf(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	static int indexOf(long value) {
+		int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+		return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+	}
+
+	static long upperBoundOf(int index) {
+		if (index < 2 * SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = (index >> SUB_BUCKET_BITS) - 1;
+		long mantissa = index - ((long) shift << SUB_BUCKET_BITS);
+		return ((mantissa + 1) << shift) - 1;
+	}
+
+}
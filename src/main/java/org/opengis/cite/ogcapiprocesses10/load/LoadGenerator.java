@@ -0,0 +1,99 @@
+package org.opengis.cite.ogcapiprocesses10.load;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opengis.cite.ogcapiprocesses10.util.ClientUtils;
+
+/**
+ * Runs an exchange with the IUT repeatedly from a fixed number of concurrent workers
+ * until the configured number of exchanges was sent or the configured duration has
+ * elapsed, whichever comes first. The workers run on their own executor, on virtual
+ * threads if available, so they never compete with the job monitor for threads.
+ */
+public class LoadGenerator {
+
+	/**
+	 * Default duration in seconds of a load test if neither a duration nor a number of
+	 * exchanges is configured.
+	 */
+	public static final int DEFAULT_DURATION = 60;
+
+	/**
+	 * A single exchange with the IUT.
+	 */
+	@FunctionalInterface
+	public interface Exchange {
+
+		/**
+		 * Sends a request and checks the response.
+		 * @return <code>true</code> if the exchange was successful
+		 * @throws Exception if the exchange failed
+		 */
+		boolean execute() throws Exception;
+
+	}
+
+	private final int concurrency;
+
+	private final long durationNanos;
+
+	private final long requests;
+
+	/**
+	 * @param concurrency the number of concurrent workers (at least 1)
+	 * @param duration the duration in seconds (a value less or equal to 0 means no limit)
+	 * @param requests the number of exchanges (a value less or equal to 0 means no
+	 * limit); if neither a duration nor a number of exchanges is given, the duration is
+	 * {@link #DEFAULT_DURATION}
+	 */
+	public LoadGenerator(int concurrency, int duration, int requests) {
+		this.concurrency = Math.max(1, concurrency);
+		int effectiveDuration = duration <= 0 && requests <= 0 ? DEFAULT_DURATION : duration;
+		this.durationNanos = effectiveDuration > 0 ? TimeUnit.SECONDS.toNanos(effectiveDuration) : -1;
+		this.requests = requests > 0 ? requests : Long.MAX_VALUE;
+	}
+
+	/**
+	 * Runs the load test.
+	 * @param name the name of the load test, never <code>null</code>
+	 * @param exchange the exchange sent by the workers, never <code>null</code>
+	 * @return the result of the load test, never <code>null</code>
+	 */
+	public LoadResult run(String name, Exchange exchange) {
+		LoadResult result = new LoadResult(name, concurrency);
+		AtomicLong remaining = new AtomicLong(requests);
+		long start = System.nanoTime();
+		Runnable worker = () -> {
+			while (remaining.getAndDecrement() > 0
+					&& (durationNanos < 0 || System.nanoTime() - start < durationNanos)) {
+				long exchangeStart = System.nanoTime();
+				boolean success;
+				try {
+					success = exchange.execute();
+				}
+				catch (Exception | AssertionError e) {
+					result.setLastError(e.toString());
+					success = false;
+				}
+				result.record(System.nanoTime() - exchangeStart, success);
+			}
+		};
+		ExecutorService executor = ClientUtils.buildExchangeExecutor(concurrency);
+		try {
+			CompletableFuture<?>[] workers = new CompletableFuture<?>[concurrency];
+			for (int i = 0; i < concurrency; i++) {
+				workers[i] = CompletableFuture.runAsync(worker, executor);
+			}
+			CompletableFuture.allOf(workers).join();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		result.setElapsedNanos(System.nanoTime() - start);
+		return result;
+	}
+
+}
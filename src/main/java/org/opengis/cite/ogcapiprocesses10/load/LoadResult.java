@@ -0,0 +1,155 @@
+package org.opengis.cite.ogcapiprocesses10.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * The outcome of one load test: the number of successful and failed exchanges, the
+ * elapsed time and a histogram of the latencies.
+ */
+public class LoadResult {
+
+	private static final double[] PERCENTILES = { 50, 90, 95, 99, 99.9 };
+
+	private final String name;
+
+	private final int concurrency;
+
+	private final LatencyHistogram latencies = new LatencyHistogram();
+
+	private final LongAdder successes = new LongAdder();
+
+	private final LongAdder errors = new LongAdder();
+
+	private volatile long elapsedNanos;
+
+	private volatile String lastError;
+
+	/**
+	 * @param name the name of the load test, never <code>null</code>
+	 * @param concurrency the number of concurrent exchanges
+	 */
+	public LoadResult(String name, int concurrency) {
+		this.name = name;
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Records the outcome of one exchange.
+	 * @param latencyNanos the latency of the exchange in nanoseconds
+	 * @param success <code>true</code> if the exchange was successful
+	 */
+	public void record(long latencyNanos, boolean success) {
+		latencies.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+		if (success) {
+			successes.increment();
+		}
+		else {
+			errors.increment();
+		}
+	}
+
+	/**
+	 * @return the name of the load test
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the histogram of the latencies in microseconds
+	 */
+	public LatencyHistogram getLatencies() {
+		return latencies;
+	}
+
+	/**
+	 * @return the number of exchanges
+	 */
+	public long getCount() {
+		return successes.sum() + errors.sum();
+	}
+
+	/**
+	 * @return the number of failed exchanges
+	 */
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	/**
+	 * @return the ratio of failed exchanges, between 0 and 1
+	 */
+	public double getErrorRate() {
+		long count = getCount();
+		return count > 0 ? (double) getErrors() / count : 0;
+	}
+
+	/**
+	 * @return the number of exchanges per second
+	 */
+	public double getThroughput() {
+		return elapsedNanos > 0 ? getCount() * 1e9 / elapsedNanos : 0;
+	}
+
+	/**
+	 * @param elapsedNanos the duration of the load test in nanoseconds
+	 */
+	void setElapsedNanos(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return the message of the last error, <code>null</code> if no exchange failed with
+	 * an exception
+	 */
+	public String getLastError() {
+		return lastError;
+	}
+
+	/**
+	 * @param lastError the message of the last error
+	 */
+	void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+	/**
+	 * @return the result as JSON object, latencies are given in milliseconds
+	 */
+	public ObjectNode toJson() {
+		ObjectNode node = JsonNodeFactory.instance.objectNode();
+		node.put("name", name);
+		node.put("concurrency", concurrency);
+		node.put("count", getCount());
+		node.put("errors", getErrors());
+		node.put("errorRate", getErrorRate());
+		node.put("durationSeconds", elapsedNanos / 1e9);
+		node.put("throughputPerSecond", getThroughput());
+		ObjectNode latencyNode = node.putObject("latencyMillis");
+		latencyNode.put("min", latencies.getMin() / 1e3);
+		latencyNode.put("mean", latencies.getMean() / 1e3);
+		for (double percentile : PERCENTILES) {
+			latencyNode.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile)
+					: String.valueOf(percentile)), latencies.getValueAtPercentile(percentile) / 1e3);
+		}
+		latencyNode.put("max", latencies.getMax() / 1e3);
+		if (lastError != null) {
+			node.put("lastError", lastError);
+		}
+		return node;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"%s: %d executions (%d failed, %.1f %%) with concurrency %d in %.1f s, %.1f/s, latency p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms",
+				name, getCount(), getErrors(), getErrorRate() * 100, concurrency, elapsedNanos / 1e9, getThroughput(),
+				latencies.getValueAtPercentile(50) / 1e3, latencies.getValueAtPercentile(95) / 1e3,
+				latencies.getValueAtPercentile(99) / 1e3, latencies.getMax() / 1e3);
+	}
+
+}
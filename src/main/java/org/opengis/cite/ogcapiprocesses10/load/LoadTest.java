@@ -0,0 +1,196 @@
+package org.opengis.cite.ogcapiprocesses10.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.opengis.cite.ogcapiprocesses10.CommonFixture;
+import org.opengis.cite.ogcapiprocesses10.JobMonitor;
+import org.opengis.cite.ogcapiprocesses10.ProcessDescriptionRepository.ProcessDescription;
+import org.opengis.cite.ogcapiprocesses10.SuiteAttribute;
+import org.opengis.cite.ogcapiprocesses10.jobs.Jobs;
+import org.opengis.cite.ogcapiprocesses10.util.TestSuiteLogger;
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.Reporter;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Load test executing the echo process concurrently, synchronously and asynchronously,
+ * with the execute requests of the {@link Jobs} tests. The tests are run only if the test
+ * run argument <code>loadconcurrency</code> is greater than 0; they fail if any execution
+ * failed. Throughput, error rate and latency percentiles are logged and written to
+ * <code>load-test-report.json</code> in the TestNG output directory.
+ */
+public class LoadTest extends CommonFixture {
+
+	private static final String REPORT_FILE_NAME = "load-test-report.json";
+
+	private static final String LOAD_TEST_DISABLED_MESSAGE = "The load test is run only if the test run argument loadconcurrency is greater than 0.";
+
+	private final List<LoadResult> results = Collections.synchronizedList(new ArrayList<>());
+
+	private final AtomicInteger nextExecuteNode = new AtomicInteger();
+
+	private LoadGenerator loadGenerator;
+
+	private ProcessDescription echoProcessDescription;
+
+	private String executeEndpoint;
+
+	private List<JsonNode> executeNodes;
+
+	/**
+	 * <p>
+	 * setup.
+	 * </p>
+	 * @param testContext a {@link org.testng.ITestContext} object
+	 */
+	@BeforeClass
+	public void setup(ITestContext testContext) {
+		Integer concurrency = (Integer) testContext.getSuite().getAttribute(SuiteAttribute.LOAD_CONCURRENCY.getName());
+		if (concurrency == null || concurrency <= 0) {
+			throw new SkipException(LOAD_TEST_DISABLED_MESSAGE);
+		}
+		Integer duration = (Integer) testContext.getSuite().getAttribute(SuiteAttribute.LOAD_DURATION.getName());
+		Integer requests = (Integer) testContext.getSuite().getAttribute(SuiteAttribute.LOAD_REQUESTS.getName());
+		loadGenerator = new LoadGenerator(concurrency, duration != null ? duration : -1,
+				requests != null ? requests : -1);
+		String echoProcessId = (String) testContext.getSuite().getAttribute(SuiteAttribute.ECHO_PROCESS_ID.getName());
+		try {
+			echoProcessDescription = processDescriptions.getProcessDescription(echoProcessId, this::executeRequest);
+			executeNodes = Jobs.createEchoExecuteJsonNodes(echoProcessDescription);
+		}
+		catch (IOException | RuntimeException e) {
+			Assert.fail("Could not parse echo process " + echoProcessId + ". Exception: " + e);
+		}
+		executeEndpoint = processDescriptions.getProcessDescriptionUri(echoProcessId) + "/execution";
+	}
+
+	/**
+	 * Executes the echo process synchronously from concurrent clients and fails if any
+	 * execution was not successful.
+	 */
+	@Test(description = "Executes the echo process synchronously under load")
+	public void testSyncExecutionLoad() {
+		if (!echoProcessDescription.isSyncExecuteSupported() && echoProcessDescription.isAsyncExecuteSupported()) {
+			throw new SkipException("The echo process does not support synchronous execution.");
+		}
+		LoadResult result = loadGenerator.run("sync-execute", () -> {
+			HttpResponse httpResponse = httpClient.execute(createPostRequest(false));
+			try {
+				int statusCode = httpResponse.getStatusLine().getStatusCode();
+				return statusCode == 200 || statusCode == 201;
+			}
+			finally {
+				EntityUtils.consumeQuietly(httpResponse.getEntity());
+			}
+		});
+		report(result);
+	}
+
+	/**
+	 * Executes the echo process asynchronously from concurrent clients, monitoring each
+	 * job until it is finished, and fails if any job was not successful. The latency of
+	 * an execution includes the time until the job finished.
+	 */
+	@Test(description = "Executes the echo process asynchronously under load")
+	public void testAsyncExecutionLoad() {
+		if (!echoProcessDescription.isAsyncExecuteSupported()) {
+			throw new SkipException("The echo process does not support asynchronous execution.");
+		}
+		LoadResult result = loadGenerator.run("async-execute", () -> {
+			String location;
+			JsonNode statusInfo;
+			HttpResponse httpResponse = httpClient.execute(createPostRequest(true));
+			try {
+				int statusCode = httpResponse.getStatusLine().getStatusCode();
+				if (statusCode == 200) {
+					// the server chose to execute the process synchronously
+					return true;
+				}
+				Header locationHeader = httpResponse.getFirstHeader("location");
+				if (statusCode != 201 || locationHeader == null || httpResponse.getEntity() == null) {
+					return false;
+				}
+				location = locationHeader.getValue();
+				statusInfo = JSON_READER.readTree(httpResponse.getEntity().getContent());
+			}
+			finally {
+				EntityUtils.consumeQuietly(httpResponse.getEntity());
+			}
+			JsonNode finishedStatusInfo = JobMonitor.await(jobMonitor.monitor(location, statusInfo));
+			return !JobMonitor.isFailed(finishedStatusInfo);
+		});
+		report(result);
+	}
+
+	/**
+	 * Writes the results of the load tests next to the TestNG results.
+	 * @param testContext a {@link org.testng.ITestContext} object
+	 */
+	@AfterClass(alwaysRun = true)
+	public void writeReport(ITestContext testContext) {
+		if (results.isEmpty()) {
+			return;
+		}
+		ObjectMapper objectMapper = new ObjectMapper();
+		ObjectNode reportNode = objectMapper.createObjectNode();
+		reportNode.put("iut", rootUri.toString());
+		reportNode.put("echoProcessId", echoProcessDescription.getProcessId());
+		ArrayNode resultsNode = reportNode.putArray("results");
+		synchronized (results) {
+			for (LoadResult result : results) {
+				resultsNode.add(result.toJson());
+			}
+		}
+		File reportFile = new File(testContext.getSuite().getOutputDirectory(), REPORT_FILE_NAME);
+		try {
+			reportFile.getParentFile().mkdirs();
+			objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile, reportNode);
+			TestSuiteLogger.log(Level.INFO, "Load test report written to " + reportFile.getAbsolutePath());
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not write load test report " + reportFile.getAbsolutePath(), e);
+		}
+	}
+
+	private void report(LoadResult result) {
+		results.add(result);
+		TestSuiteLogger.log(Level.INFO, result.toString());
+		Reporter.log(result.toString());
+		Assert.assertTrue(result.getCount() > 0, "No execution was sent in " + result.getName() + " load test.");
+		Assert.assertEquals(result.getErrors(), 0,
+				result + (result.getLastError() != null ? ". Last error: " + result.getLastError() : ""));
+	}
+
+	private HttpPost createPostRequest(boolean async) {
+		JsonNode executeNode = executeNodes.get(Math.floorMod(nextExecuteNode.getAndIncrement(), executeNodes.size()));
+		HttpPost request = new HttpPost(executeEndpoint);
+		request.setHeader("Accept", "application/json");
+		if (async) {
+			request.setHeader("Prefer", "respond-async");
+		}
+		request.setEntity(new StringEntity(executeNode.toString(), ContentType.APPLICATION_JSON));
+		return request;
+	}
+
+}
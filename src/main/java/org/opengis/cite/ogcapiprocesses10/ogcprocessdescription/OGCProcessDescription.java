@@ -1,33 +1,34 @@
 package org.opengis.cite.ogcapiprocesses10.ogcprocessdescription;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.apache.commons.io.IOUtils;
-import org.apache.http.Header;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.ClientProtocolException;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.openapi4j.core.exception.ResolutionException;
 import org.openapi4j.core.validation.ValidationException;
 import org.openapi4j.operation.validator.model.Response;
 import org.openapi4j.operation.validator.model.impl.Body;
 import org.openapi4j.operation.validator.model.impl.DefaultResponse;
 import org.openapi4j.operation.validator.validation.OperationValidator;
-import org.openapi4j.parser.OpenApi3Parser;
-import org.openapi4j.parser.model.v3.OpenApi3;
-import org.openapi4j.parser.model.v3.Operation;
-import org.openapi4j.parser.model.v3.Path;
 import org.openapi4j.schema.validator.ValidationData;
 import org.opengis.cite.ogcapiprocesses10.CommonFixture;
+import org.opengis.cite.ogcapiprocesses10.ProcessDescriptionRepository.ProcessDescription;
 import org.opengis.cite.ogcapiprocesses10.SuiteAttribute;
+import org.opengis.cite.ogcapiprocesses10.util.ClientUtils;
 import org.testng.Assert;
 import org.testng.ITestContext;
 import org.testng.SkipException;
@@ -35,21 +36,26 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
  *
  * A.3 OGC Process Description
  *
+ * <p>
+ * If all processes are tested, the descriptions of all processes in the process list are
+ * retrieved once, concurrently on the exchange executor, and shared by the test methods
+ * of this class. The checks of the descriptions run in parallel on the common
+ * {@link ForkJoinPool}; every process failing a check is reported in the message of the
+ * failed test.
+ * </p>
+ *
  * @author <a href="mailto:b.pross@52north.org">Benjamin Pross </a>
  */
 public class OGCProcessDescription extends CommonFixture {
 
 	private static final String OPERATION_ID = "getProcessDescription";
 
-	private OpenApi3 openApi3;
+	private static final String ONE_OF_KEY = "oneOf";
 
 	private String getProcessListPath = "/processes";
 
@@ -59,9 +65,13 @@ public class OGCProcessDescription extends CommonFixture {
 
 	private String echoProcessId;
 
-	private int processTestLimit = 1; // this is a minimum
+	private ExecutorService exchangeExecutor;
+
+	private int maxConcurrency = ClientUtils.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+	private List<ProcessDescription> processesUnderTest;
 
-	private final int maximumNumberOfProcessesTested = 5;
+	private Map<String, String> retrievalFailures;
 
 	/**
 	 * <p>
@@ -74,15 +84,15 @@ public class OGCProcessDescription extends CommonFixture {
 		String processListEndpointString = rootUri.toString() + getProcessListPath;
 		try {
 			echoProcessId = (String) testContext.getSuite().getAttribute(SuiteAttribute.ECHO_PROCESS_ID.getName());
+			exchangeExecutor = (ExecutorService) testContext.getSuite()
+				.getAttribute(SuiteAttribute.EXCHANGE_EXECUTOR.getName());
+			Integer maxConnectionsPerRoute = (Integer) testContext.getSuite()
+				.getAttribute(SuiteAttribute.MAX_CONNECTIONS_PER_ROUTE.getName());
+			if (maxConnectionsPerRoute != null && maxConnectionsPerRoute > 0) {
+				maxConcurrency = maxConnectionsPerRoute;
+			}
 
-			processTestLimit = (Integer) testContext.getSuite()
-				.getAttribute(SuiteAttribute.PROCESS_TEST_LIMIT.getName());
-
-			openApi3 = new OpenApi3Parser().parse(specURL, false);
-			addServerUnderTest(openApi3);
-			final Path path = openApi3.getPathItemByOperationId(OPERATION_ID);
-			final Operation operation = openApi3.getOperationById(OPERATION_ID);
-			validator = new OperationValidator(openApi3, path, operation);
+			validator = operationValidators.getValidator(OPERATION_ID);
 			getProcessListURL = new URL(processListEndpointString);
 		}
 		catch (MalformedURLException | ResolutionException | ValidationException e) {
@@ -106,80 +116,10 @@ public class OGCProcessDescription extends CommonFixture {
 	@Test(description = "Implements Requirement /req/ogc-process-description/json-encoding",
 			groups = "ogcprocessdescription")
 	public void testOGCProcessDescriptionJSON() {
-		final ValidationData<Void> data = new ValidationData<>();
 		try {
-
-			{
-				HttpClient client = HttpClientBuilder.create().build();
-				HttpUriRequest request = new HttpGet(getProcessListURL.toString());
-				request.setHeader("Accept", "application/json");
-				this.reqEntity = request;
-				HttpResponse httpResponse = client.execute(request);
-				StringWriter writer = new StringWriter();
-				String encoding = StandardCharsets.UTF_8.name();
-				IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-				JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
-				JsonNode processesNode = responseNode.get("processes");
-				if (processesNode.isArray()) {
-					ArrayNode processesArrayNode = (ArrayNode) processesNode;
-					if (testAllProcesses) {
-
-						for (int i = 0; i < Math.min(processTestLimit, maximumNumberOfProcessesTested); i++) { // we
-																												// intentionally
-																												// limit
-																												// this
-
-							JsonNode jsonNode = processesArrayNode.get(i);
-
-							HttpClient client2 = HttpClientBuilder.create().build();
-							HttpUriRequest request2 = new HttpGet(
-									getProcessListURL.toString() + "/" + jsonNode.get("id").textValue());
-							request2.setHeader("Accept", "application/json");
-							this.reqEntity = request2;
-							HttpResponse httpResponse2 = client2.execute(request2);
-							StringWriter writer2 = new StringWriter();
-							String encoding2 = StandardCharsets.UTF_8.name();
-							IOUtils.copy(httpResponse2.getEntity().getContent(), writer2, encoding2);
-							this.rspEntity = (this.rspEntity == null ? "" : this.rspEntity) + "\n" + writer2.toString();
-							JsonNode responseNode2 = new ObjectMapper().readTree(writer2.toString());
-							Body body2 = Body.from(responseNode2);
-							Header contentType2 = httpResponse2.getFirstHeader(CONTENT_TYPE);
-							Response response2 = new DefaultResponse.Builder(
-									httpResponse2.getStatusLine().getStatusCode())
-								.body(body2)
-								.header(CONTENT_TYPE, contentType2.getValue())
-								.build();
-							validator.validateResponse(response2, data);
-							Assert.assertTrue(data.isValid(), printResults(data.results()));
-
-						}
-					}
-					else { // test echo process only
-
-						HttpClient client2 = HttpClientBuilder.create().build();
-						HttpUriRequest request2 = new HttpGet(getProcessListURL.toString() + "/" + echoProcessId);
-						request2.setHeader("Accept", "application/json");
-						this.reqEntity = request2;
-						HttpResponse httpResponse2 = client2.execute(request2);
-						StringWriter writer2 = new StringWriter();
-						String encoding2 = StandardCharsets.UTF_8.name();
-						IOUtils.copy(httpResponse2.getEntity().getContent(), writer2, encoding2);
-						this.rspEntity = writer2.toString();
-						JsonNode responseNode2 = new ObjectMapper().readTree(writer2.toString());
-						Body body2 = Body.from(responseNode2);
-						Header contentType2 = httpResponse2.getFirstHeader(CONTENT_TYPE);
-						Response response2 = new DefaultResponse.Builder(httpResponse2.getStatusLine().getStatusCode())
-							.body(body2)
-							.header(CONTENT_TYPE, contentType2.getValue())
-							.build();
-						validator.validateResponse(response2, data);
-						Assert.assertTrue(data.isValid(), printResults(data.results()));
-					}
-				}
-			}
-
+			assertNoFailures(checkProcessesUnderTest(this::validateProcessDescription));
 		}
-		catch (Exception e) {
+		catch (IOException e) {
 			Assert.fail(e.getLocalizedMessage());
 		}
 	}
@@ -203,45 +143,11 @@ public class OGCProcessDescription extends CommonFixture {
 		// Whereas testOGCProcessDescriptionJSON validates process descriptions, the
 		// testOGCProcessDescriptionInputsDef test confirms that the validated processes
 		// had Inputs defined in them.
-		final ValidationData<Void> data = new ValidationData<>();
 		try {
-
-			{
-				HttpClient client = HttpClientBuilder.create().build();
-				HttpUriRequest request = new HttpGet(getProcessListURL.toString());
-				request.setHeader("Accept", "application/json");
-				this.reqEntity = request;
-				HttpResponse httpResponse = client.execute(request);
-				StringWriter writer = new StringWriter();
-				String encoding = StandardCharsets.UTF_8.name();
-				IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-				this.rspEntity = writer.toString();
-				JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
-				JsonNode processesNode = responseNode.get("processes");
-				if (processesNode.isArray()) {
-					ArrayNode processesArrayNode = (ArrayNode) processesNode;
-					if (testAllProcesses) {
-
-						for (int i = 0; i < Math.min(processTestLimit, maximumNumberOfProcessesTested); i++) { // we
-																												// intentionally
-																												// limit
-																												// this
-
-							JsonNode jsonNode = processesArrayNode.get(i);
-
-							checkProcessDescriptionHasInputsField(getProcessListURL.toString(),
-									jsonNode.get("id").textValue());
-						}
-					}
-					else { // test echo process only
-
-						checkProcessDescriptionHasInputsField(getProcessListURL.toString(), echoProcessId);
-					}
-				}
-			}
-
+			assertNoFailures(checkProcessesUnderTest(
+					processDescription -> checkProcessDescriptionHasField(processDescription, "inputs")));
 		}
-		catch (Exception e) {
+		catch (IOException e) {
 			Assert.fail(e.getLocalizedMessage());
 		}
 	}
@@ -263,48 +169,11 @@ public class OGCProcessDescription extends CommonFixture {
 		// Whereas testOGCProcessDescriptionJSON validates process descriptions, the
 		// testOGCProcessDescriptionInputDef test confirms that the validated processes
 		// have valid schemas defined in them.
-		final ValidationData<Void> data = new ValidationData<>();
 		try {
-
-			{
-				HttpClient client = HttpClientBuilder.create().build();
-				HttpUriRequest request = new HttpGet(getProcessListURL.toString());
-				request.setHeader("Accept", "application/json");
-				this.reqEntity = request;
-				HttpResponse httpResponse = client.execute(request);
-				StringWriter writer = new StringWriter();
-				String encoding = StandardCharsets.UTF_8.name();
-				IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-				this.rspEntity = writer.toString();
-				JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
-				JsonNode processesNode = responseNode.get("processes");
-				if (processesNode.isArray()) {
-					ArrayNode processesArrayNode = (ArrayNode) processesNode;
-					if (testAllProcesses) {
-
-						for (int i = 0; i < Math.min(processTestLimit, maximumNumberOfProcessesTested); i++) { // we
-																												// intentionally
-																												// limit
-																												// this
-																												// to
-																												// 5
-
-							JsonNode jsonNode = processesArrayNode.get(i);
-							checkEachInputDescriptionOfProcessHasSchema(getProcessListURL.toString(),
-									jsonNode.get("id").textValue(), false);
-
-						}
-					}
-					else { // test echo process only
-
-						checkEachInputDescriptionOfProcessHasSchema(getProcessListURL.toString(), echoProcessId, false);
-
-					}
-				}
-			}
-
+			assertNoFailures(checkProcessesUnderTest(
+					processDescription -> checkEachDescriptionHasSchema(processDescription, "inputs", "Input")));
 		}
-		catch (Exception e) {
+		catch (IOException e) {
 			Assert.fail(e.getLocalizedMessage());
 		}
 	}
@@ -330,55 +199,10 @@ public class OGCProcessDescription extends CommonFixture {
 		// Whereas testOGCProcessDescriptionJSON validates process descriptions, the
 		// testOGCProcessDescriptionInputDefinitionOfMixedType test confirms that the
 		// validated processes have valid schemas defined in them.
-		final ValidationData<Void> data = new ValidationData<>();
 		try {
-
-			{
-				HttpClient client = HttpClientBuilder.create().build();
-				HttpUriRequest request = new HttpGet(getProcessListURL.toString());
-				request.setHeader("Accept", "application/json");
-				this.reqEntity = request;
-				HttpResponse httpResponse = client.execute(request);
-				StringWriter writer = new StringWriter();
-				String encoding = StandardCharsets.UTF_8.name();
-				IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-				this.rspEntity = writer.toString();
-				JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
-				JsonNode processesNode = responseNode.get("processes");
-				if (processesNode.isArray()) {
-					ArrayNode processesArrayNode = (ArrayNode) processesNode;
-					if (testAllProcesses) {
-
-						for (int i = 0; i < Math.min(processTestLimit, maximumNumberOfProcessesTested); i++) { // we
-																												// intentionally
-																												// limit
-																												// this
-																												// to
-																												// 5
-
-							JsonNode jsonNode = processesArrayNode.get(i);
-							checkEachInputDescriptionOfProcessHasSchema(getProcessListURL.toString(),
-									jsonNode.get("id").textValue(), true);
-
-						}
-					}
-					else { // test echo process only
-
-						checkEachInputDescriptionOfProcessHasSchema(getProcessListURL.toString(), echoProcessId, true);
-
-					}
-				}
-			}
-
-		}
-		catch (SkipException e) {
-			throw e;
-		}
-		catch (UnsupportedOperationException e) {
-			Assert.fail(e.getLocalizedMessage());
-		}
-		catch (ClientProtocolException e) {
-			Assert.fail(e.getLocalizedMessage());
+			assertNoFailures(checkProcessesUnderTest(
+					processDescription -> checkEachDescriptionHasSchema(processDescription, "inputs", "Input")));
+			assertMixedTypeFound("inputs", "input");
 		}
 		catch (IOException e) {
 			Assert.fail(e.getLocalizedMessage());
@@ -404,45 +228,11 @@ public class OGCProcessDescription extends CommonFixture {
 		// Whereas testOGCProcessDescriptionJSON validates process descriptions, the
 		// testOGCProcessDescriptionOutputsDef test confirms that the validated processes
 		// have Outputs defined in them.
-		final ValidationData<Void> data = new ValidationData<>();
 		try {
-
-			{
-				HttpClient client = HttpClientBuilder.create().build();
-				HttpUriRequest request = new HttpGet(getProcessListURL.toString());
-				request.setHeader("Accept", "application/json");
-				this.reqEntity = request;
-				HttpResponse httpResponse = client.execute(request);
-				StringWriter writer = new StringWriter();
-				String encoding = StandardCharsets.UTF_8.name();
-				IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-				this.rspEntity = writer.toString();
-				JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
-				JsonNode processesNode = responseNode.get("processes");
-				if (processesNode.isArray()) {
-					ArrayNode processesArrayNode = (ArrayNode) processesNode;
-					if (testAllProcesses) {
-
-						for (int i = 0; i < Math.min(processTestLimit, maximumNumberOfProcessesTested); i++) { // we
-																												// intentionally
-																												// limit
-																												// this
-
-							JsonNode jsonNode = processesArrayNode.get(i);
-
-							checkProcessDescriptionHasOutputsField(getProcessListURL.toString(),
-									jsonNode.get("id").textValue());
-						}
-					}
-					else { // test echo process only
-
-						checkProcessDescriptionHasOutputsField(getProcessListURL.toString(), echoProcessId);
-					}
-				}
-			}
-
+			assertNoFailures(checkProcessesUnderTest(
+					processDescription -> checkProcessDescriptionHasField(processDescription, "outputs")));
 		}
-		catch (Exception e) {
+		catch (IOException e) {
 			Assert.fail(e.getLocalizedMessage());
 		}
 	}
@@ -464,49 +254,11 @@ public class OGCProcessDescription extends CommonFixture {
 		// Whereas testOGCProcessDescriptionJSON validates process descriptions, the
 		// testOGCProcessDescriptionOutputDef test confirms that the validated processes
 		// have valid schemas defined in them.
-		final ValidationData<Void> data = new ValidationData<>();
 		try {
-
-			{
-				HttpClient client = HttpClientBuilder.create().build();
-				HttpUriRequest request = new HttpGet(getProcessListURL.toString());
-				request.setHeader("Accept", "application/json");
-				this.reqEntity = request;
-				HttpResponse httpResponse = client.execute(request);
-				StringWriter writer = new StringWriter();
-				String encoding = StandardCharsets.UTF_8.name();
-				IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-				this.rspEntity = writer.toString();
-				JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
-				JsonNode processesNode = responseNode.get("processes");
-				if (processesNode.isArray()) {
-					ArrayNode processesArrayNode = (ArrayNode) processesNode;
-					if (testAllProcesses) {
-
-						for (int i = 0; i < Math.min(processTestLimit, maximumNumberOfProcessesTested); i++) { // we
-																												// intentionally
-																												// limit
-																												// this
-																												// to
-																												// 5
-
-							JsonNode jsonNode = processesArrayNode.get(i);
-							checkEachOutputDescriptionOfProcessHasSchema(getProcessListURL.toString(),
-									jsonNode.get("id").textValue(), false);
-
-						}
-					}
-					else { // test echo process only
-
-						checkEachOutputDescriptionOfProcessHasSchema(getProcessListURL.toString(), echoProcessId,
-								false);
-
-					}
-				}
-			}
-
+			assertNoFailures(checkProcessesUnderTest(
+					processDescription -> checkEachDescriptionHasSchema(processDescription, "outputs", "Output")));
 		}
-		catch (Exception e) {
+		catch (IOException e) {
 			Assert.fail(e.getLocalizedMessage());
 		}
 
@@ -533,197 +285,179 @@ public class OGCProcessDescription extends CommonFixture {
 		// Whereas testOGCProcessDescriptionJSON validates process descriptions, the
 		// testOGCProcessDescriptionOutputDefinitionOfMixedType test confirms that the
 		// validated processes have valid schemas defined in them.
-		final ValidationData<Void> data = new ValidationData<>();
 		try {
+			assertNoFailures(checkProcessesUnderTest(
+					processDescription -> checkEachDescriptionHasSchema(processDescription, "outputs", "Output")));
+			assertMixedTypeFound("outputs", "output");
+		}
+		catch (IOException e) {
+			Assert.fail(e.getLocalizedMessage());
+		}
+	}
 
-			{
-				HttpClient client = HttpClientBuilder.create().build();
+	/*
+	 * Returns the descriptions of the processes under test: all processes in the process
+	 * list if all processes are tested, the echo process otherwise. The descriptions are
+	 * retrieved on first access only.
+	 */
+	private synchronized List<ProcessDescription> getProcessesUnderTest() throws IOException {
+		if (processesUnderTest == null) {
+			List<String> processIds = new ArrayList<>();
+			Map<String, String> failures = new LinkedHashMap<>();
+			if (testAllProcesses) {
 				HttpUriRequest request = new HttpGet(getProcessListURL.toString());
 				request.setHeader("Accept", "application/json");
-				this.reqEntity = request;
-				HttpResponse httpResponse = client.execute(request);
-				StringWriter writer = new StringWriter();
-				String encoding = StandardCharsets.UTF_8.name();
-				IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-				this.rspEntity = writer.toString();
-				JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
-				JsonNode processesNode = responseNode.get("processes");
-				if (processesNode.isArray()) {
-					ArrayNode processesArrayNode = (ArrayNode) processesNode;
-					if (testAllProcesses) {
-
-						for (int i = 0; i < Math.min(processTestLimit, maximumNumberOfProcessesTested); i++) { // we
-																												// intentionally
-																												// limit
-																												// this
-																												// to
-																												// 5
-
-							JsonNode jsonNode = processesArrayNode.get(i);
-							checkEachOutputDescriptionOfProcessHasSchema(getProcessListURL.toString(),
-									jsonNode.get("id").textValue(), true);
-
-						}
+				setRequestEntity(request);
+				HttpResponse httpResponse = executeRequest(request);
+				JsonNode processesNode = readJsonResponse(httpResponse).get("processes");
+				if (processesNode == null || !processesNode.isArray()) {
+					throw new IOException("No 'processes' array was found in the process list.");
+				}
+				for (int i = 0; i < processesNode.size(); i++) {
+					JsonNode idNode = processesNode.get(i).path("id");
+					if (idNode.isTextual()) {
+						processIds.add(idNode.textValue());
 					}
-					else { // test echo process only
-
-						checkEachOutputDescriptionOfProcessHasSchema(getProcessListURL.toString(), echoProcessId, true);
-
+					else {
+						// reported with the per-process failures
+						failures.put("processes[" + i + "]", "The process list entry has no textual 'id'.");
 					}
 				}
 			}
-
-		}
-		catch (SkipException e) {
-			throw e;
-		}
-		catch (UnsupportedOperationException e) {
-			Assert.fail(e.getLocalizedMessage());
-		}
-		catch (ClientProtocolException e) {
-			Assert.fail(e.getLocalizedMessage());
-		}
-		catch (IOException e) {
-			Assert.fail(e.getLocalizedMessage());
+			else { // test echo process only
+				processIds.add(echoProcessId);
+			}
+			Map<String, CompletableFuture<ProcessDescription>> futures = processDescriptions
+				.getProcessDescriptions(processIds, getRequestExecutor(), exchangeExecutor, maxConcurrency);
+			List<ProcessDescription> descriptions = new ArrayList<>();
+			for (Map.Entry<String, CompletableFuture<ProcessDescription>> future : futures.entrySet()) {
+				try {
+					descriptions.add(future.getValue().join());
+				}
+				catch (CompletionException e) {
+					failures.put(future.getKey(),
+							"Could not retrieve the process description. " + e.getCause().getLocalizedMessage());
+				}
+			}
+			processesUnderTest = descriptions;
+			retrievalFailures = failures;
 		}
+		return processesUnderTest;
 	}
 
 	/*
-	 * This method is used by the testOGCProcessDescriptionOutputsDef method.
+	 * Applies the given check to each process under test, in parallel on the common
+	 * fork-join pool. A check returns a failure message, or null if the process passed.
+	 * Returns the failure messages by process identifier, including the processes whose
+	 * description could not be retrieved and the process list entries without identifier.
 	 */
-	private void checkProcessDescriptionHasOutputsField(String processListURL, String processIdentifier)
-			throws ClientProtocolException, IOException {
-		HttpClient client2 = HttpClientBuilder.create().build();
-		HttpUriRequest request2 = new HttpGet(processListURL + "/" + processIdentifier);
-		request2.setHeader("Accept", "application/json");
-		this.reqEntity = request2;
-		HttpResponse httpResponse2 = client2.execute(request2);
-		StringWriter writer2 = new StringWriter();
-		String encoding2 = StandardCharsets.UTF_8.name();
-		IOUtils.copy(httpResponse2.getEntity().getContent(), writer2, encoding2);
-		JsonNode responseNode2 = new ObjectMapper().readTree(writer2.toString());
-		Body body2 = Body.from(responseNode2);
-		Header contentType2 = httpResponse2.getFirstHeader(CONTENT_TYPE);
-		Response response2 = new DefaultResponse.Builder(httpResponse2.getStatusLine().getStatusCode()).body(body2)
-			.header(CONTENT_TYPE, contentType2.getValue())
-			.build();
-		Assert.assertTrue(responseNode2.has("outputs"),
-				"No 'outputs' field was found in the process description of '" + processIdentifier + "'. ");
+	private Map<String, String> checkProcessesUnderTest(Function<ProcessDescription, String> check) throws IOException {
+		List<ProcessDescription> processes = getProcessesUnderTest();
+		setRequestEntity(new HttpGet(testAllProcesses ? getProcessListURL.toString()
+				: processDescriptions.getProcessDescriptionUri(echoProcessId)));
+		List<String> results = processes.parallelStream().map(processDescription -> {
+			try {
+				return check.apply(processDescription);
+			}
+			catch (RuntimeException e) {
+				return e.toString();
+			}
+		}).collect(Collectors.toList());
+		Map<String, String> failures = new LinkedHashMap<>(retrievalFailures);
+		for (int i = 0; i < processes.size(); i++) {
+			if (results.get(i) != null) {
+				failures.put(processes.get(i).getProcessId(), results.get(i));
+				appendResponseEntity(processes.get(i).getContent());
+			}
+		}
+		return failures;
+	}
 
+	private void assertNoFailures(Map<String, String> failures) throws IOException {
+		if (!failures.isEmpty()) {
+			StringBuilder message = new StringBuilder();
+			message.append(failures.size())
+				.append(" of ")
+				.append(getProcessesUnderTest().size() + retrievalFailures.size())
+				.append(" process descriptions failed:\n");
+			for (Map.Entry<String, String> failure : failures.entrySet()) {
+				message.append("'").append(failure.getKey()).append("': ").append(failure.getValue()).append("\n");
+			}
+			Assert.fail(message.toString());
+		}
 	}
 
 	/*
-	 * This method is used by the testOGCProcessDescriptionInputsDef method.
+	 * Skips the test if none of the processes under test has an input or output of mixed
+	 * type, i.e. whose schema uses the oneOf keyword.
 	 */
-	private void checkProcessDescriptionHasInputsField(String processListURL, String processIdentifier)
-			throws ClientProtocolException, IOException {
-		HttpClient client2 = HttpClientBuilder.create().build();
-		HttpUriRequest request2 = new HttpGet(processListURL + "/" + processIdentifier);
-		request2.setHeader("Accept", "application/json");
-		this.reqEntity = request2;
-		HttpResponse httpResponse2 = client2.execute(request2);
-		StringWriter writer2 = new StringWriter();
-		String encoding2 = StandardCharsets.UTF_8.name();
-		IOUtils.copy(httpResponse2.getEntity().getContent(), writer2, encoding2);
-		JsonNode responseNode2 = new ObjectMapper().readTree(writer2.toString());
-		Body body2 = Body.from(responseNode2);
-		Header contentType2 = httpResponse2.getFirstHeader(CONTENT_TYPE);
-		Response response2 = new DefaultResponse.Builder(httpResponse2.getStatusLine().getStatusCode()).body(body2)
-			.header(CONTENT_TYPE, contentType2.getValue())
-			.build();
-		Assert.assertTrue(responseNode2.has("inputs"),
-				"No 'inputs' field was found in the process description of '" + processIdentifier + "'. ");
+	private void assertMixedTypeFound(String fieldName, String description) throws IOException {
+		boolean mixedTypeFound = getProcessesUnderTest().parallelStream()
+			.anyMatch(processDescription -> hasMixedType(processDescription, fieldName));
+		if (!mixedTypeFound) {
+			throw new SkipException(
+					"No " + description + " definition of the tested processes identifies a mixed type " + description);
+		}
+	}
 
+	private String validateProcessDescription(ProcessDescription processDescription) {
+		final ValidationData<Void> data = new ValidationData<>();
+		Body body = Body.from(processDescription.getNode());
+		Response response = new DefaultResponse.Builder(processDescription.getStatusCode()).body(body)
+			.header(CONTENT_TYPE, processDescription.getContentType())
+			.build();
+		validator.validateResponse(response, data);
+		return data.isValid() ? null : printResults(data.results());
 	}
 
 	/*
-	 * This method is used by the testOGCProcessDescriptionInputDef and
-	 * testOGCProcessDescriptionInputDefinitionOfMixedType methods.
+	 * This method is used by the testOGCProcessDescriptionInputsDef and
+	 * testOGCProcessDescriptionOutputsDef methods.
 	 */
-	private void checkEachInputDescriptionOfProcessHasSchema(String processListURL, String processIdentifier,
-			boolean checkHasMixedTypeInput) throws ClientProtocolException, IOException {
-		HttpClient client3 = HttpClientBuilder.create().build();
-		HttpUriRequest request3 = new HttpGet(processListURL + "/" + processIdentifier);
-		request3.setHeader("Accept", "application/json");
-		this.reqEntity = request3;
-		HttpResponse httpResponse3 = client3.execute(request3);
-		StringWriter writer3 = new StringWriter();
-		String encoding3 = StandardCharsets.UTF_8.name();
-		IOUtils.copy(httpResponse3.getEntity().getContent(), writer3, encoding3);
-		JsonNode responseNode3 = new ObjectMapper().readTree(writer3.toString());
-		Body body3 = Body.from(responseNode3);
-		Header contentType3 = httpResponse3.getFirstHeader(CONTENT_TYPE);
-		Response response3 = new DefaultResponse.Builder(httpResponse3.getStatusLine().getStatusCode()).body(body3)
-			.header(CONTENT_TYPE, contentType3.getValue())
-			.build();
-		JsonNode inputsNode3 = responseNode3.get("inputs");
-		Iterator inputsIter3 = inputsNode3.elements();
-		boolean atLeastOneMixedTypeInputFound = false;
-		while (inputsIter3.hasNext()) {
-			ObjectNode input = (ObjectNode) inputsIter3.next();
-			if (input.has("schema")) {
-				if (checkHasMixedTypeInput) {
-					JsonNode schemaNode3 = input.get("schema");
-					if (schemaNode3.has("oneOf")) {
-						atLeastOneMixedTypeInputFound = true;
-					}
-				}
-			}
-			else {
-				// fail if there is no schema element
-				Assert.assertTrue(input.has("schema"), "At least one Input element in the process description of '"
-						+ processIdentifier + "' is missing a 'schema' element. ");
-			}
-		}
-		if (checkHasMixedTypeInput & !atLeastOneMixedTypeInputFound) {
-			throw new SkipException(
-					"No input definition of '" + processIdentifier + "' process identifies a mixed type input");
+	private static String checkProcessDescriptionHasField(ProcessDescription processDescription, String fieldName) {
+		if (processDescription.getNode().has(fieldName)) {
+			return null;
 		}
+		return "No '" + fieldName + "' field was found in the process description of '"
+				+ processDescription.getProcessId() + "'. ";
 	}
 
 	/*
-	 * This method is used by the testOGCProcessDescriptionOutputDef and
+	 * This method is used by the testOGCProcessDescriptionInputDef,
+	 * testOGCProcessDescriptionInputDefinitionOfMixedType,
+	 * testOGCProcessDescriptionOutputDef and
 	 * testOGCProcessDescriptionOutputDefinitionOfMixedType methods.
 	 */
-	private void checkEachOutputDescriptionOfProcessHasSchema(String processListURL, String processIdentifier,
-			boolean checkHasMixedTypeOutput) throws ClientProtocolException, IOException {
-		HttpClient client3 = HttpClientBuilder.create().build();
-		HttpUriRequest request3 = new HttpGet(processListURL + "/" + processIdentifier);
-		request3.setHeader("Accept", "application/json");
-		this.reqEntity = request3;
-		HttpResponse httpResponse3 = client3.execute(request3);
-		StringWriter writer3 = new StringWriter();
-		String encoding3 = StandardCharsets.UTF_8.name();
-		IOUtils.copy(httpResponse3.getEntity().getContent(), writer3, encoding3);
-		JsonNode responseNode3 = new ObjectMapper().readTree(writer3.toString());
-		Body body3 = Body.from(responseNode3);
-		Header contentType3 = httpResponse3.getFirstHeader(CONTENT_TYPE);
-		Response response3 = new DefaultResponse.Builder(httpResponse3.getStatusLine().getStatusCode()).body(body3)
-			.header(CONTENT_TYPE, contentType3.getValue())
-			.build();
-		JsonNode outputsNode3 = responseNode3.get("outputs");
-		Iterator outputsIter3 = outputsNode3.elements();
-		boolean atLeastOneMixedTypeOutputFound = false;
-		while (outputsIter3.hasNext()) {
-			ObjectNode output = (ObjectNode) outputsIter3.next();
-			if (output.has("schema")) {
-				if (checkHasMixedTypeOutput) {
-					JsonNode schemaNode3 = output.get("schema");
-					if (schemaNode3.has("oneOf")) {
-						atLeastOneMixedTypeOutputFound = true;
-					}
-				}
-			}
-			else {
-				// fail if there is no schema element
-				Assert.assertTrue(output.has("schema"), "At least one Output element in the process description of '"
-						+ processIdentifier + "' is missing a 'schema' element. ");
+	private static String checkEachDescriptionHasSchema(ProcessDescription processDescription, String fieldName,
+			String elementName) {
+		JsonNode descriptionsNode = processDescription.getNode().get(fieldName);
+		if (descriptionsNode == null) {
+			return "No '" + fieldName + "' field was found in the process description of '"
+					+ processDescription.getProcessId() + "'. ";
+		}
+		Iterator<JsonNode> descriptions = descriptionsNode.elements();
+		while (descriptions.hasNext()) {
+			if (!descriptions.next().has("schema")) {
+				return "At least one " + elementName + " element in the process description of '"
+						+ processDescription.getProcessId() + "' is missing a 'schema' element. ";
 			}
 		}
-		if (checkHasMixedTypeOutput & !atLeastOneMixedTypeOutputFound) {
-			throw new SkipException(
-					"No output definition of '" + processIdentifier + "' process identifies a mixed type output");
+		return null;
+	}
+
+	private static boolean hasMixedType(ProcessDescription processDescription, String fieldName) {
+		JsonNode descriptionsNode = processDescription.getNode().get(fieldName);
+		if (descriptionsNode == null) {
+			return false;
+		}
+		Iterator<JsonNode> descriptions = descriptionsNode.elements();
+		while (descriptions.hasNext()) {
+			JsonNode schemaNode = descriptions.next().get("schema");
+			if (schemaNode != null && schemaNode.has(ONE_OF_KEY)) {
+				return true;
+			}
 		}
+		return false;
 	}
 
 }
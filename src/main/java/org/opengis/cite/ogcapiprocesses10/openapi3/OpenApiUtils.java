@@ -10,6 +10,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -32,6 +33,13 @@ import com.reprezen.kaizen.oasparser.model3.Server;
  * OpenApiUtils class.
  * </p>
  *
+ * <p>
+ * The path templates of the most recently used OpenAPI document are indexed (see
+ * {@link PathTemplateIndex}) and the test points retrieved from it are memoized per
+ * requested path and IUT, so that repeated lookups neither scan all paths nor expand the
+ * server URLs and template replacements again.
+ * </p>
+ *
  * @author <a href="mailto:goltz@lat-lon.de">Lyn Goltz </a>
  */
 public class OpenApiUtils {
@@ -40,6 +48,8 @@ public class OpenApiUtils {
 	// https://github.com/OAI/OpenAPI-Specification/blob/master/versions/3.0.0.md#fixed-fields
 	private static final String DEFAULT_SERVER_URL = "/";
 
+	private static final AtomicReference<PathTemplateIndex> PATH_TEMPLATE_INDEX = new AtomicReference<>();
+
 	@FunctionalInterface
 	private interface PathMatcherFunction<A, B, C> {
 
@@ -75,6 +85,15 @@ public class OpenApiUtils {
 
 	}
 
+	private static class RegexPathMatcher implements PathMatcherFunction<Boolean, String, String> {
+
+		@Override
+		public Boolean apply(String pathUnderTest, String pathToMatch) {
+			return pathUnderTest.matches(pathToMatch);
+		}
+
+	}
+
 	private static class ExactMatchFilter implements Predicate<TestPoint> {
 
 		private final String requestedPath;
@@ -110,9 +129,11 @@ public class OpenApiUtils {
 	 * @return the parsed test points, may be empty but never <code>null</code>
 	 */
 	static List<TestPoint> retrieveTestPoints(OpenApi3 apiModel, URI iut) {
-		List<Path> pathItemObjects = identifyTestPoints(apiModel);
-		List<PathItemAndServer> pathItemAndServers = identifyServerUrls(apiModel, iut, pathItemObjects);
-		return processServerObjects(pathItemAndServers, true);
+		return getPathTemplateIndex(apiModel).getTestPoints(createTestPointsKey("all", "", iut, true), () -> {
+			List<Path> pathItemObjects = identifyTestPoints(apiModel);
+			List<PathItemAndServer> pathItemAndServers = identifyServerUrls(apiModel, iut, pathItemObjects);
+			return processServerObjects(pathItemAndServers, true);
+		});
 	}
 
 	/**
@@ -174,7 +195,7 @@ public class OpenApiUtils {
 		requestedPath.append("/.*/items");
 
 		List<TestPoint> allTestPoints = retrieveTestPoints(apiModel, iut, requestedPath.toString(),
-				(a, b) -> a.matches(b), true);
+				new RegexPathMatcher(), true);
 		if (noOfCollection < 0 || allTestPoints.size() <= noOfCollection) {
 			return allTestPoints;
 		}
@@ -313,9 +334,31 @@ public class OpenApiUtils {
 
 	private static List<TestPoint> retrieveTestPoints(OpenApi3 apiModel, URI iut, String requestedPath,
 			PathMatcherFunction<Boolean, String, String> pathMatcher, boolean allowEmptyTemplateReplacements) {
-		List<Path> pathItemObjects = identifyTestPoints(apiModel, requestedPath, pathMatcher);
-		List<PathItemAndServer> pathItemAndServers = identifyServerUrls(apiModel, iut, pathItemObjects);
-		return processServerObjects(pathItemAndServers, allowEmptyTemplateReplacements);
+		String key = createTestPointsKey(pathMatcher.getClass().getSimpleName(), requestedPath, iut,
+				allowEmptyTemplateReplacements);
+		return getPathTemplateIndex(apiModel).getTestPoints(key, () -> {
+			List<Path> pathItemObjects = identifyTestPoints(apiModel, requestedPath, pathMatcher);
+			List<PathItemAndServer> pathItemAndServers = identifyServerUrls(apiModel, iut, pathItemObjects);
+			return processServerObjects(pathItemAndServers, allowEmptyTemplateReplacements);
+		});
+	}
+
+	private static String createTestPointsKey(String matcher, String requestedPath, URI iut,
+			boolean allowEmptyTemplateReplacements) {
+		return matcher + " " + allowEmptyTemplateReplacements + " " + iut + " " + requestedPath;
+	}
+
+	/*
+	 * Returns the index of the given document, replacing the index of the document used
+	 * before.
+	 */
+	private static PathTemplateIndex getPathTemplateIndex(OpenApi3 apiModel) {
+		PathTemplateIndex index = PATH_TEMPLATE_INDEX.get();
+		if (index == null || !index.isIndexOf(apiModel)) {
+			index = new PathTemplateIndex(apiModel);
+			PATH_TEMPLATE_INDEX.set(index);
+		}
+		return index;
 	}
 
 	/**
@@ -352,6 +395,10 @@ public class OpenApiUtils {
 
 	private static List<Path> identifyTestPoints(OpenApi3 apiModel, String path,
 			PathMatcherFunction<Boolean, String, String> pathMatch) {
+		if (pathMatch instanceof PathMatcher) {
+			// the index matches the templates segment by segment, as the PathMatcher does
+			return getPathTemplateIndex(apiModel).match(path);
+		}
 		List<Path> pathItems = new ArrayList<>();
 		Map<String, Path> pathItemObjects = apiModel.getPaths();
 		for (Path pathItemObject : pathItemObjects.values()) {
@@ -0,0 +1,173 @@
+package org.opengis.cite.ogcapiprocesses10.openapi3;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.openapi4j.core.exception.ResolutionException;
+import org.openapi4j.core.validation.ValidationException;
+import org.openapi4j.operation.validator.validation.OperationValidator;
+import org.openapi4j.parser.OpenApi3Parser;
+import org.openapi4j.parser.model.v3.OpenApi3;
+import org.openapi4j.parser.model.v3.Operation;
+import org.openapi4j.parser.model.v3.Path;
+import org.openapi4j.parser.model.v3.Server;
+
+/**
+ * Holds the OGC API - Processes OpenAPI definition parsed with openapi4j and the
+ * {@link OperationValidator}s created from it. The definition is parsed only once per
+ * test run, the validators are created once per operationId and shared by all test
+ * classes.
+ *
+ * <p>
+ * The IUT is added as server to the parsed definition, so that requests to the IUT can be
+ * validated.
+ * </p>
+ *
+ * <p>
+ * Registries obtained by {@link #getShared(URL, URI)} are shared by all test runs in this
+ * JVM against the same host, so that a batch of test runs parses the definition once per
+ * host.
+ * </p>
+ */
+public class OperationValidatorRegistry {
+
+	private static final String LOCAL_SPEC = "/org/opengis/cite/ogcapiprocesses10/openapi/api-processes10.yaml";
+
+	private static final String REMOTE_SPEC = "https://developer.ogc.org/api/processes/openapi.yaml";
+
+	/**
+	 * Maximum number of shared registries kept, so that a long running JVM testing ever
+	 * new hosts does not keep all parsed definitions.
+	 */
+	static final int MAX_SHARED = 16;
+
+	private static final Map<String, OperationValidatorRegistry> SHARED = new HashMap<>();
+
+	private final ConcurrentMap<String, OperationValidator> validators = new ConcurrentHashMap<>();
+
+	private final URL specURL;
+
+	private final URI iut;
+
+	private OpenApi3 apiModel;
+
+	/**
+	 * Creates a registry for the given OpenAPI definition.
+	 * @param specURL the URL of the OpenAPI definition, never <code>null</code>
+	 * @param iut the landing page of the IUT, may be <code>null</code>
+	 */
+	public OperationValidatorRegistry(URL specURL, URI iut) {
+		this.specURL = specURL;
+		this.iut = iut;
+	}
+
+	/**
+	 * Returns the registry for the given OpenAPI definition that is shared by all test
+	 * runs against the host of the given IUT. If {@link #MAX_SHARED} registries are
+	 * shared already, a registry that is not shared is returned.
+	 * @param specURL the URL of the OpenAPI definition, never <code>null</code>
+	 * @param iut the landing page of the IUT, may be <code>null</code>
+	 * @return the registry, never <code>null</code>
+	 */
+	public static OperationValidatorRegistry getShared(URL specURL, URI iut) {
+		String key = specURL + " " + (iut != null ? iut.getScheme() + "://" + iut.getAuthority() : "");
+		// the limit is checked and the registry shared under one lock, so that concurrent
+		// test runs against new hosts cannot exceed it
+		synchronized (SHARED) {
+			OperationValidatorRegistry registry = SHARED.get(key);
+			if (registry == null) {
+				registry = new OperationValidatorRegistry(specURL, iut);
+				if (SHARED.size() < MAX_SHARED) {
+					SHARED.put(key, registry);
+				}
+			}
+			return registry;
+		}
+	}
+
+	/**
+	 * Returns the URL of the OpenAPI definition to use.
+	 * @param useLocalSchema <code>true</code> if the definition included in the ETS
+	 * should be used, <code>false</code> if the definition published by the OGC should be
+	 * used
+	 * @return the URL of the OpenAPI definition, may be <code>null</code> if the remote
+	 * URL is invalid
+	 */
+	public static URL getSpecURL(boolean useLocalSchema) {
+		if (useLocalSchema) {
+			return OperationValidatorRegistry.class.getResource(LOCAL_SPEC);
+		}
+		try {
+			return new URI(REMOTE_SPEC).toURL();
+		}
+		catch (MalformedURLException | URISyntaxException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * @return the URL of the OpenAPI definition
+	 */
+	public URL getSpecURL() {
+		return specURL;
+	}
+
+	/**
+	 * Returns the parsed OpenAPI definition, parsing it on first access. Callers must not
+	 * modify the returned model.
+	 * @return the parsed OpenAPI definition, never <code>null</code>
+	 * @throws org.openapi4j.core.exception.ResolutionException if the definition or one
+	 * of its references could not be resolved
+	 * @throws org.openapi4j.core.validation.ValidationException if the definition is
+	 * invalid
+	 */
+	public synchronized OpenApi3 getApiModel() throws ResolutionException, ValidationException {
+		if (apiModel == null) {
+			OpenApi3 openApi3 = new OpenApi3Parser().parse(specURL, false);
+			if (iut != null) {
+				Server serverUnderTest = new Server();
+				serverUnderTest.setUrl(iut.getScheme() + "://" + iut.getAuthority());
+				openApi3.addServer(serverUnderTest);
+			}
+			apiModel = openApi3;
+		}
+		return apiModel;
+	}
+
+	/**
+	 * Returns the validator for the operation with the given operationId, creating it on
+	 * first access.
+	 * @param operationId the operationId as declared in the OpenAPI definition, never
+	 * <code>null</code>
+	 * @return the validator of the operation, never <code>null</code>
+	 * @throws org.openapi4j.core.exception.ResolutionException if the definition or one
+	 * of its references could not be resolved
+	 * @throws org.openapi4j.core.validation.ValidationException if the definition is
+	 * invalid
+	 * @throws java.lang.IllegalArgumentException if the definition does not declare the
+	 * operation
+	 */
+	public OperationValidator getValidator(String operationId) throws ResolutionException, ValidationException {
+		OperationValidator validator = validators.get(operationId);
+		if (validator != null) {
+			return validator;
+		}
+		OpenApi3 openApi3 = getApiModel();
+		Path path = openApi3.getPathItemByOperationId(operationId);
+		Operation operation = openApi3.getOperationById(operationId);
+		if (path == null || operation == null) {
+			throw new IllegalArgumentException("Operation " + operationId + " is not declared in " + specURL);
+		}
+		validator = new OperationValidator(openApi3, path, operation);
+		OperationValidator existing = validators.putIfAbsent(operationId, validator);
+		return existing != null ? existing : validator;
+	}
+
+}
@@ -0,0 +1,146 @@
+package org.opengis.cite.ogcapiprocesses10.openapi3;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.glassfish.jersey.uri.internal.UriTemplateParser;
+
+import com.reprezen.kaizen.oasparser.model3.OpenApi3;
+import com.reprezen.kaizen.oasparser.model3.Path;
+
+/**
+ * An index of the path templates of an OpenAPI document, built once per document. The
+ * templates are organised as a trie of path segments: literal segments are looked up by
+ * value, segments with template variables are matched with the pattern of the segment.
+ * Looking up the templates matching a path therefore costs O(path depth) instead of
+ * matching the path against every template of the document.
+ *
+ * <p>
+ * The test points derived from the document are memoized per key, see
+ * {@link #getTestPoints(String, Supplier)}.
+ * </p>
+ */
+class PathTemplateIndex {
+
+	private static final String SEPARATOR = "/";
+
+	private final OpenApi3 apiModel;
+
+	private final Node root = new Node();
+
+	private final Map<Path, Integer> positions = new IdentityHashMap<>();
+
+	private final ConcurrentMap<String, List<TestPoint>> testPoints = new ConcurrentHashMap<>();
+
+	/**
+	 * Indexes the path templates of the given document.
+	 * @param apiModel never <code>null</code>
+	 */
+	PathTemplateIndex(OpenApi3 apiModel) {
+		this.apiModel = apiModel;
+		Collection<Path> paths = apiModel.getPaths().values();
+		for (Path path : paths) {
+			positions.put(path, positions.size());
+			Node node = root;
+			for (String segment : split(path.getPathString())) {
+				node = node.getChild(segment);
+			}
+			node.paths.add(path);
+		}
+	}
+
+	/**
+	 * @param apiModel the document, may be <code>null</code>
+	 * @return <code>true</code> if this is the index of the given document
+	 */
+	boolean isIndexOf(OpenApi3 apiModel) {
+		return this.apiModel == apiModel;
+	}
+
+	/**
+	 * Looks up the path templates matching the given path.
+	 * @param requestedPath the path, never <code>null</code>
+	 * @return the matching paths in the order of the document, may be empty but never
+	 * <code>null</code>
+	 */
+	List<Path> match(String requestedPath) {
+		List<Path> matches = new ArrayList<>();
+		match(root, split(requestedPath), 0, matches);
+		if (matches.size() > 1) {
+			matches.sort(Comparator.comparing(positions::get));
+		}
+		return matches;
+	}
+
+	/**
+	 * Returns the test points memoized under the given key, computing them on first
+	 * access.
+	 * @param key identifies the test points, never <code>null</code>
+	 * @param testPointsSupplier computes the test points, never <code>null</code>
+	 * @return a copy of the memoized test points, never <code>null</code>
+	 */
+	List<TestPoint> getTestPoints(String key, Supplier<List<TestPoint>> testPointsSupplier) {
+		return new ArrayList<>(testPoints.computeIfAbsent(key, k -> new ArrayList<>(testPointsSupplier.get())));
+	}
+
+	private static void match(Node node, String[] segments, int index, List<Path> matches) {
+		if (index == segments.length) {
+			matches.addAll(node.paths);
+			return;
+		}
+		String segment = segments[index];
+		Node literalChild = node.literalChildren.get(segment);
+		if (literalChild != null) {
+			match(literalChild, segments, index + 1, matches);
+		}
+		for (TemplateChild templateChild : node.templateChildren.values()) {
+			if (templateChild.pattern.matcher(segment).matches()) {
+				match(templateChild.node, segments, index + 1, matches);
+			}
+		}
+	}
+
+	private static String[] split(String path) {
+		return path.split(SEPARATOR, -1);
+	}
+
+	private static class Node {
+
+		private final Map<String, Node> literalChildren = new HashMap<>();
+
+		private final Map<String, TemplateChild> templateChildren = new LinkedHashMap<>();
+
+		private final List<Path> paths = new ArrayList<>();
+
+		private Node getChild(String segment) {
+			if (segment.indexOf('{') < 0) {
+				return literalChildren.computeIfAbsent(segment, s -> new Node());
+			}
+			return templateChildren.computeIfAbsent(segment, TemplateChild::new).node;
+		}
+
+	}
+
+	private static class TemplateChild {
+
+		private final Pattern pattern;
+
+		private final Node node = new Node();
+
+		private TemplateChild(String segment) {
+			this.pattern = new UriTemplateParser(segment).getPattern();
+		}
+
+	}
+
+}
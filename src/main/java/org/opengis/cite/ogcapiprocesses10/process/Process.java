@@ -3,20 +3,15 @@
  */
 package org.opengis.cite.ogcapiprocesses10.process;
 
-import java.io.StringWriter;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.openapi4j.core.exception.ResolutionException;
 import org.openapi4j.core.validation.ValidationException;
 import org.openapi4j.operation.validator.model.Request;
@@ -24,12 +19,9 @@ import org.openapi4j.operation.validator.model.Response;
 import org.openapi4j.operation.validator.model.impl.Body;
 import org.openapi4j.operation.validator.model.impl.DefaultResponse;
 import org.openapi4j.operation.validator.validation.OperationValidator;
-import org.openapi4j.parser.OpenApi3Parser;
-import org.openapi4j.parser.model.v3.OpenApi3;
-import org.openapi4j.parser.model.v3.Operation;
-import org.openapi4j.parser.model.v3.Path;
 import org.openapi4j.schema.validator.ValidationData;
 import org.opengis.cite.ogcapiprocesses10.CommonFixture;
+import org.opengis.cite.ogcapiprocesses10.ProcessDescriptionRepository.ProcessDescription;
 import org.opengis.cite.ogcapiprocesses10.SuiteAttribute;
 import org.opengis.cite.ogcapiprocesses10.util.PathSettingRequest;
 import org.testng.Assert;
@@ -38,7 +30,6 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  *
@@ -50,8 +41,6 @@ public class Process extends CommonFixture {
 
 	private static final String OPERATION_ID_GET_PROCESS_DESCRIPTION = "getProcessDescription";
 
-	private OpenApi3 openApi3;
-
 	private String getProcessListPath = "/processes";
 
 	private OperationValidator getProcessDescriptionValidator;
@@ -73,11 +62,7 @@ public class Process extends CommonFixture {
 		String processListEndpointString = rootUri.toString() + getProcessListPath;
 		try {
 
-			openApi3 = new OpenApi3Parser().parse(specURL, false);
-			addServerUnderTest(openApi3);
-			final Path path = openApi3.getPathItemByOperationId(OPERATION_ID_GET_PROCESS_DESCRIPTION);
-			final Operation operation = openApi3.getOperationById(OPERATION_ID_GET_PROCESS_DESCRIPTION);
-			getProcessDescriptionValidator = new OperationValidator(openApi3, path, operation);
+			getProcessDescriptionValidator = operationValidators.getValidator(OPERATION_ID_GET_PROCESS_DESCRIPTION);
 			getInvalidProcessURL = new URL(processListEndpointString + "/invalid-process-" + UUID.randomUUID());
 		}
 		catch (MalformedURLException | ResolutionException | ValidationException e) {
@@ -115,16 +100,11 @@ public class Process extends CommonFixture {
 	public void testProcessExceptionNoSuchProcess() {
 		final ValidationData<Void> data = new ValidationData<>();
 		try {
-			HttpClient client = HttpClientBuilder.create().build();
 			HttpUriRequest request = new HttpGet(getInvalidProcessURL.toString());
-			this.reqEntity = request;
+			setRequestEntity(request);
 			request.setHeader("Accept", "application/json");
-			HttpResponse httpResponse = client.execute(request);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			this.rspEntity = writer.toString();
-			JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
+			HttpResponse httpResponse = executeRequest(request);
+			JsonNode responseNode = readJsonResponse(httpResponse);
 			Body body = Body.from(responseNode);
 			// https://github.com/opengeospatial/ets-ogcapi-processes10/issues/14
 			// Treat Content-Type application/problem+json as application/json for now
@@ -163,21 +143,15 @@ public class Process extends CommonFixture {
 			// echoProcessPath, Request.Method.GET);
 			// getProcessDescriptionValidator.validatePath(request, data);
 
-			HttpClient client = HttpClientBuilder.create().build();
-			HttpUriRequest request = new HttpGet(rootUri.toString() + echoProcessPath);
-			this.reqEntity = request;
+			HttpUriRequest request = new HttpGet(processDescriptions.getProcessDescriptionUri(echoProcessId));
+			setRequestEntity(request);
 			request.setHeader("Accept", "application/json");
-			HttpResponse httpResponse = client.execute(request);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			this.rspEntity = writer.toString();
-			JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
-			Body body = Body.from(responseNode);
-			Header contentType = httpResponse.getFirstHeader(CONTENT_TYPE);
-
-			Response response = new DefaultResponse.Builder(httpResponse.getStatusLine().getStatusCode()).body(body)
-				.header(CONTENT_TYPE, contentType.getValue())
+			ProcessDescription processDescription = processDescriptions.getProcessDescription(echoProcessId,
+					this::executeRequest);
+			setResponseEntity(processDescription.getContent());
+			Body body = Body.from(processDescription.getNode());
+			Response response = new DefaultResponse.Builder(processDescription.getStatusCode()).body(body)
+				.header(CONTENT_TYPE, processDescription.getContentType())
 				.build();
 			getProcessDescriptionValidator.validateResponse(response, data);
 			Assert.assertTrue(data.isValid(), printResults(data.results()));
@@ -212,20 +186,15 @@ public class Process extends CommonFixture {
 	public void testProcessSuccess() {
 		final ValidationData<Void> data = new ValidationData<>();
 		try {
-			HttpClient client = HttpClientBuilder.create().build();
-			HttpUriRequest request = new HttpGet(rootUri + echoProcessPath);
-			this.reqEntity = request;
+			HttpUriRequest request = new HttpGet(processDescriptions.getProcessDescriptionUri(echoProcessId));
+			setRequestEntity(request);
 			request.setHeader("Accept", "application/json");
-			HttpResponse httpResponse = client.execute(request);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			this.rspEntity = writer.toString();
-			JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
-			Body body = Body.from(responseNode);
-			Header contentType = httpResponse.getFirstHeader(CONTENT_TYPE);
-			Response response = new DefaultResponse.Builder(httpResponse.getStatusLine().getStatusCode()).body(body)
-				.header(CONTENT_TYPE, contentType.getValue())
+			ProcessDescription processDescription = processDescriptions.getProcessDescription(echoProcessId,
+					this::executeRequest);
+			setResponseEntity(processDescription.getContent());
+			Body body = Body.from(processDescription.getNode());
+			Response response = new DefaultResponse.Builder(processDescription.getStatusCode()).body(body)
+				.header(CONTENT_TYPE, processDescription.getContentType())
 				.build();
 			getProcessDescriptionValidator.validateResponse(response, data);
 			Assert.assertTrue(data.isValid(), printResults(data.results()));
@@ -3,19 +3,14 @@ package org.opengis.cite.ogcapiprocesses10.processlist;
 import static org.testng.Assert.assertTrue;
 
 import java.io.FileWriter;
-import java.io.StringWriter;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.openapi4j.core.exception.ResolutionException;
 import org.openapi4j.core.validation.ValidationException;
 import org.openapi4j.core.validation.ValidationResults.ValidationItem;
@@ -24,20 +19,16 @@ import org.openapi4j.operation.validator.model.Response;
 import org.openapi4j.operation.validator.model.impl.Body;
 import org.openapi4j.operation.validator.model.impl.DefaultResponse;
 import org.openapi4j.operation.validator.validation.OperationValidator;
-import org.openapi4j.parser.OpenApi3Parser;
-import org.openapi4j.parser.model.v3.OpenApi3;
-import org.openapi4j.parser.model.v3.Operation;
-import org.openapi4j.parser.model.v3.Path;
 import org.openapi4j.schema.validator.ValidationData;
 import org.opengis.cite.ogcapiprocesses10.CommonFixture;
 import org.opengis.cite.ogcapiprocesses10.conformance.Conformance;
+import org.opengis.cite.ogcapiprocesses10.util.PagedListWalker;
 import org.opengis.cite.ogcapiprocesses10.util.PathSettingRequest;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
 /**
@@ -50,8 +41,6 @@ public class ProcessList extends CommonFixture {
 
 	private static final String OPERATION_ID = "getProcesses";
 
-	private OpenApi3 openApi3;
-
 	private String getProcessListPath = "/processes";
 
 	private OperationValidator validator;
@@ -69,11 +58,7 @@ public class ProcessList extends CommonFixture {
 	public void setup() {
 		String processListEndpointString = rootUri.toString() + getProcessListPath;
 		try {
-			openApi3 = new OpenApi3Parser().parse(specURL, false);
-			addServerUnderTest(openApi3);
-			final Path path = openApi3.getPathItemByOperationId(OPERATION_ID);
-			final Operation operation = openApi3.getOperationById(OPERATION_ID);
-			validator = new OperationValidator(openApi3, path, operation);
+			validator = operationValidators.getValidator(OPERATION_ID);
 			getProcessListURL = new URL(processListEndpointString);
 		}
 		catch (MalformedURLException | ResolutionException | ValidationException e) {
@@ -98,7 +83,7 @@ public class ProcessList extends CommonFixture {
 		try {
 			Request request = new PathSettingRequest(rootUri.toString(), getProcessListPath + "?limit=10",
 					Request.Method.GET);
-			this.reqEntity = new HttpGet(rootUri.toString() + getProcessListPath + "?limit=10");
+			setRequestEntity(new HttpGet(rootUri.toString() + getProcessListPath + "?limit=10"));
 			validator.validateQuery(request, data);
 		}
 		catch (Exception e) {
@@ -116,6 +101,7 @@ public class ProcessList extends CommonFixture {
 	 * Test Method:
 	 * 1.  Verify that this count is not greater than the value specified by the `limit` parameter
 	 * 2.  If the API definition specifies a maximum value for `limit` parameter, verify that the count does not exceed this maximum value
+	 * 3.  Follow the next links and verify that no page lists more processes than requested and that no process is listed twice
 	 * |===
 	 * TODO: Check additional content
 	 * </pre>
@@ -124,16 +110,11 @@ public class ProcessList extends CommonFixture {
 	public void testPlLimitResponse() {
 		String testEndpoint = getProcessListURL.toString() + "?limit=1";
 		try {
-			HttpClient client = HttpClientBuilder.create().build();
 			HttpUriRequest request = new HttpGet(testEndpoint);
 			request.setHeader("Accept", "application/json");
-			this.reqEntity = request;
-			HttpResponse httpResponse = client.execute(request);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			this.rspEntity = writer.toString();
-			JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
+			setRequestEntity(request);
+			HttpResponse httpResponse = executeRequest(request);
+			JsonNode responseNode = readJsonResponse(httpResponse);
 			JsonNode processesNode = responseNode.get("processes");
 			if (!(processesNode instanceof ArrayNode)) {
 				Assert.fail("No processes available.");
@@ -143,6 +124,9 @@ public class ProcessList extends CommonFixture {
 				Assert.assertTrue(processesArrayNode.size() == 1,
 						"Wrong number of processes, expected 1, got " + processesArrayNode.size());
 			}
+			PagedListWalker.Result result = walkPages(getProcessListURL.toString(), "processes", "id");
+			Assert.assertTrue(result.isConsistent(),
+					"The pages of the process list are inconsistent: " + result.toString());
 		}
 		catch (Exception e) {
 			e.printStackTrace();
@@ -165,16 +149,11 @@ public class ProcessList extends CommonFixture {
 	public void testPlLinks() {
 		String testEndpoint = getProcessListURL.toString() + "?limit=1";
 		try {
-			HttpClient client = HttpClientBuilder.create().build();
 			HttpUriRequest request = new HttpGet(testEndpoint);
-			this.reqEntity = request;
+			setRequestEntity(request);
 			request.setHeader("Accept", "application/json");
-			HttpResponse httpResponse = client.execute(request);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			this.rspEntity = writer.toString();
-			JsonNode responseNode = new ObjectMapper().readTree(writer.toString());
+			HttpResponse httpResponse = executeRequest(request);
+			JsonNode responseNode = readJsonResponse(httpResponse);
 			JsonNode linksNode = responseNode.get("links");
 			if (!(linksNode instanceof ArrayNode)) {
 				Assert.fail("No links available.");
@@ -207,17 +186,11 @@ public class ProcessList extends CommonFixture {
 		final ValidationData<Void> data = new ValidationData<>();
 		try {
 
-			HttpClient client = HttpClientBuilder.create().build();
 			HttpUriRequest request = new HttpGet(getProcessListURL.toString());
 			request.setHeader("Accept", "application/json");
-			this.reqEntity = request;
-			HttpResponse httpResponse = client.execute(request);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			this.rspEntity = writer.toString();
-			String responsePayload = writer.toString();
-			JsonNode responseNode = new ObjectMapper().readTree(responsePayload);
+			setRequestEntity(request);
+			HttpResponse httpResponse = executeRequest(request);
+			JsonNode responseNode = readJsonResponse(httpResponse);
 			ArrayNode arrayNode = (ArrayNode) responseNode.get("processes");
 			Assert.assertTrue(arrayNode.size() > 0, "No processes listed at " + getProcessListURL.toString());
 
@@ -254,17 +227,11 @@ public class ProcessList extends CommonFixture {
 	public void testProcessListSuccess() {
 		final ValidationData<Void> data = new ValidationData<>();
 		try {
-			HttpClient client = HttpClientBuilder.create().build();
 			HttpUriRequest request = new HttpGet(getProcessListURL.toString());
 			request.setHeader("Accept", "application/json");
-			this.reqEntity = request;
-			HttpResponse httpResponse = client.execute(request);
-			StringWriter writer = new StringWriter();
-			String encoding = StandardCharsets.UTF_8.name();
-			IOUtils.copy(httpResponse.getEntity().getContent(), writer, encoding);
-			this.rspEntity = writer.toString();
-			String responsePayload = writer.toString();
-			JsonNode responseNode = new ObjectMapper().readTree(responsePayload);
+			setRequestEntity(request);
+			HttpResponse httpResponse = executeRequest(request);
+			JsonNode responseNode = readJsonResponse(httpResponse);
 			Body body = Body.from(responseNode);
 			Header contentType = httpResponse.getFirstHeader(CONTENT_TYPE);
 			Response response = new DefaultResponse.Builder(httpResponse.getStatusLine().getStatusCode()).body(body)
@@ -272,7 +239,7 @@ public class ProcessList extends CommonFixture {
 				.build();
 			validator.validateResponse(response, data);
 
-			assertTrue(validateResponseAgainstSchema(ProcessList.urlSchema, responsePayload),
+			assertTrue(validateResponseAgainstSchema(ProcessList.urlSchema, responseNode),
 					"The response document failed validation against: " + ProcessList.urlSchema + " ");
 
 		}
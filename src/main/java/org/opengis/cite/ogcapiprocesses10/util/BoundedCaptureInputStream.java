@@ -0,0 +1,108 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An input stream that keeps a copy of the first bytes read from the underlying stream,
+ * e.g. to report the beginning of a response entity that was parsed while streaming. The
+ * total number of bytes read is counted.
+ */
+public class BoundedCaptureInputStream extends FilterInputStream {
+
+	private final ByteArrayOutputStream capture;
+
+	private final int maxCaptureLength;
+
+	private long byteCount;
+
+	/**
+	 * @param in the underlying input stream, never <code>null</code>
+	 * @param maxCaptureLength the maximum number of bytes to keep
+	 */
+	public BoundedCaptureInputStream(InputStream in, int maxCaptureLength) {
+		super(in);
+		this.maxCaptureLength = maxCaptureLength;
+		this.capture = new ByteArrayOutputStream(Math.min(maxCaptureLength, 8192));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int read() throws IOException {
+		int b = super.read();
+		if (b >= 0) {
+			byteCount++;
+			if (capture.size() < maxCaptureLength) {
+				capture.write(b);
+			}
+		}
+		return b;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		int read = super.read(b, off, len);
+		if (read > 0) {
+			byteCount += read;
+			int remaining = maxCaptureLength - capture.size();
+			if (remaining > 0) {
+				capture.write(b, off, Math.min(read, remaining));
+			}
+		}
+		return read;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long skip(long n) throws IOException {
+		byte[] buffer = new byte[(int) Math.min(n, 8192)];
+		long skipped = 0;
+		while (skipped < n) {
+			int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+			if (read < 0) {
+				break;
+			}
+			skipped += read;
+		}
+		return skipped;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	/**
+	 * @return the total number of bytes read so far
+	 */
+	public long getByteCount() {
+		return byteCount;
+	}
+
+	/**
+	 * @return <code>true</code> if more bytes were read than kept
+	 */
+	public boolean isTruncated() {
+		return byteCount > capture.size();
+	}
+
+	/**
+	 * @return a copy of the bytes kept
+	 */
+	public byte[] getCapturedBytes() {
+		return capture.toByteArray();
+	}
+
+	/**
+	 * @return the bytes kept, decoded as UTF-8
+	 */
+	public String getCapturedContent() {
+		return new String(capture.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+}
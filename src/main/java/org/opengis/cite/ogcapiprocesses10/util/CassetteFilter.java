@@ -0,0 +1,111 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.http.message.BasicHeader;
+import org.opengis.cite.ogcapiprocesses10.util.ExchangeCassette.Exchange;
+import org.opengis.cite.ogcapiprocesses10.util.ExchangeCassette.Mode;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * A REST Assured filter recording the exchanges to or replaying them from an
+ * {@link ExchangeCassette}. REST Assured keeps the response body in memory, so it is
+ * stored in the cassette from there.
+ */
+class CassetteFilter implements Filter {
+
+	private final ExchangeCassette cassette;
+
+	CassetteFilter(ExchangeCassette cassette) {
+		this.cassette = cassette;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		String method = requestSpec.getMethod();
+		String uri = requestSpec.getURI();
+		org.apache.http.Header[] requestHeaders = toHeaders(requestSpec.getHeaders());
+		String requestBodyHash = ExchangeCassette.hashBody(getBody(requestSpec.getBody()));
+		if (cassette.getMode() == Mode.REPLAY) {
+			return replay(cassette.find(method, uri, requestHeaders, requestBodyHash));
+		}
+		Response response = ctx.next(requestSpec, responseSpec);
+		try {
+			String responseBodyHash = cassette.storeBody(new ByteArrayInputStream(response.asByteArray()));
+			cassette.record(new Exchange(method, uri, requestHeaders, requestBodyHash, response.getStatusCode(),
+					getReason(response.getStatusLine()), toHeaders(response.getHeaders()), responseBodyHash));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not record " + method + " " + uri, e);
+		}
+		return response;
+	}
+
+	private Response replay(Exchange exchange) {
+		ResponseBuilder builder = new ResponseBuilder();
+		if (exchange == null) {
+			return builder.setStatusCode(404)
+				.setStatusLine("HTTP/1.1 404 Not Found")
+				.setBody("No recorded exchange")
+				.setContentType("text/plain")
+				.build();
+		}
+		List<Header> headers = new ArrayList<>();
+		for (org.apache.http.Header header : exchange.getResponseHeaders()) {
+			headers.add(new Header(header.getName(), header.getValue()));
+		}
+		String statusLine = "HTTP/1.1 " + exchange.getStatus();
+		builder.setStatusCode(exchange.getStatus())
+			.setStatusLine(exchange.getReason() != null ? statusLine + " " + exchange.getReason() : statusLine)
+			.setHeaders(new Headers(headers));
+		String contentType = exchange.getResponseHeader("Content-Type");
+		if (contentType != null) {
+			builder.setContentType(contentType);
+		}
+		try {
+			builder.setBody(exchange.getResponseBodyHash() != null
+					? Files.readAllBytes(cassette.getBody(exchange.getResponseBodyHash())) : new byte[0]);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Could not replay " + exchange.getMethod() + " " + exchange.getUri(), e);
+		}
+		return builder.build();
+	}
+
+	private static byte[] getBody(Object body) {
+		if (body == null) {
+			return null;
+		}
+		return body instanceof byte[] ? (byte[]) body : body.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String getReason(String statusLine) {
+		String[] parts = statusLine != null ? statusLine.split(" ", 3) : new String[0];
+		return parts.length == 3 ? parts[2] : null;
+	}
+
+	private static org.apache.http.Header[] toHeaders(Headers headers) {
+		List<org.apache.http.Header> converted = new ArrayList<>();
+		for (Header header : headers) {
+			converted.add(new BasicHeader(header.getName(), header.getValue()));
+		}
+		return converted.toArray(new org.apache.http.Header[0]);
+	}
+
+}
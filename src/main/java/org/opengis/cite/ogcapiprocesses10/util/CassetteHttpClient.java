@@ -0,0 +1,176 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.FileEntity;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.protocol.HttpContext;
+import org.opengis.cite.ogcapiprocesses10.util.ExchangeCassette.Exchange;
+import org.opengis.cite.ogcapiprocesses10.util.ExchangeCassette.Mode;
+
+/**
+ * An HTTP client recording its exchanges to or replaying them from an
+ * {@link ExchangeCassette}. When recording, the response body is stored in the cassette
+ * and the response returned reads it from there.
+ */
+class CassetteHttpClient extends CloseableHttpClient {
+
+	private final CloseableHttpClient client;
+
+	private final ExchangeCassette cassette;
+
+	CassetteHttpClient(CloseableHttpClient client, ExchangeCassette cassette) {
+		this.client = client;
+		this.cassette = cassette;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context)
+			throws IOException {
+		String method = request.getRequestLine().getMethod();
+		String uri = getUri(target, request);
+		Header[] requestHeaders = getRequestHeaders(request);
+		String requestBodyHash = hashRequestBody(request);
+		if (cassette.getMode() == Mode.REPLAY) {
+			return replay(cassette.find(method, uri, requestHeaders, requestBodyHash));
+		}
+		CloseableHttpResponse response = client.execute(target, request, context);
+		try {
+			HttpEntity entity = response.getEntity();
+			String responseBodyHash = null;
+			if (entity != null) {
+				try (InputStream body = entity.getContent()) {
+					responseBodyHash = cassette.storeBody(body);
+				}
+				response.setEntity(createEntity(responseBodyHash, entity.getContentType()));
+			}
+			cassette.record(
+					new Exchange(method, uri, requestHeaders, requestBodyHash, response.getStatusLine().getStatusCode(),
+							response.getStatusLine().getReasonPhrase(), response.getAllHeaders(), responseBodyHash));
+			return response;
+		}
+		catch (IOException | RuntimeException e) {
+			response.close();
+			throw e;
+		}
+	}
+
+	private CloseableHttpResponse replay(Exchange exchange) {
+		if (exchange == null) {
+			ReplayedResponse response = new ReplayedResponse(HttpStatus.SC_NOT_FOUND, "Not Found");
+			response.setEntity(new StringEntity("No recorded exchange", StandardCharsets.UTF_8));
+			return response;
+		}
+		ReplayedResponse response = new ReplayedResponse(exchange.getStatus(), exchange.getReason());
+		response.setHeaders(exchange.getResponseHeaders());
+		if (exchange.getResponseBodyHash() != null) {
+			response.setEntity(
+					createEntity(exchange.getResponseBodyHash(), response.getFirstHeader(HttpHeaders.CONTENT_TYPE)));
+		}
+		return response;
+	}
+
+	private FileEntity createEntity(String bodyHash, Header contentType) {
+		FileEntity entity = new FileEntity(cassette.getBody(bodyHash).toFile());
+		entity.setContentType(contentType);
+		return entity;
+	}
+
+	private static String getUri(HttpHost target, HttpRequest request) {
+		if (request instanceof HttpUriRequest) {
+			URI uri = ((HttpUriRequest) request).getURI();
+			if (uri.isAbsolute()) {
+				return uri.toString();
+			}
+		}
+		return target.toURI() + request.getRequestLine().getUri();
+	}
+
+	private static Header[] getRequestHeaders(HttpRequest request) {
+		List<Header> headers = new ArrayList<>(Arrays.asList(request.getAllHeaders()));
+		if (request instanceof HttpEntityEnclosingRequest) {
+			HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+			if (entity != null && entity.getContentType() != null
+					&& !request.containsHeader(HttpHeaders.CONTENT_TYPE)) {
+				headers.add(entity.getContentType());
+			}
+		}
+		return headers.toArray(new Header[0]);
+	}
+
+	/**
+	 * Computes the digest of a repeatable request body by writing it once more; the body
+	 * of a non-repeatable request is not digested, so that it can still be sent.
+	 */
+	private static String hashRequestBody(HttpRequest request) throws IOException {
+		if (!(request instanceof HttpEntityEnclosingRequest)) {
+			return null;
+		}
+		HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+		if (entity == null || !entity.isRepeatable()) {
+			return null;
+		}
+		MessageDigest digest = ExchangeCassette.createDigest();
+		try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+			entity.writeTo(out);
+		}
+		return DiagnosticContent.toHex(digest.digest());
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void close() throws IOException {
+		client.close();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	@SuppressWarnings("deprecation")
+	public org.apache.http.params.HttpParams getParams() {
+		return client.getParams();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	@SuppressWarnings("deprecation")
+	public org.apache.http.conn.ClientConnectionManager getConnectionManager() {
+		return client.getConnectionManager();
+	}
+
+	private static class ReplayedResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+		ReplayedResponse(int status, String reason) {
+			super(new BasicStatusLine(HttpVersion.HTTP_1_1, status, reason));
+		}
+
+		@Override
+		public void close() {
+			// the body is read from the cassette, no connection is held
+		}
+
+	}
+
+}
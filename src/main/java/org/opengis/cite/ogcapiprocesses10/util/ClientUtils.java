@@ -7,12 +7,22 @@ import java.net.Proxy;
 import java.net.SocketAddress;
 import java.net.URI;
 import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
 
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
 import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.client.ClientProperties;
@@ -31,6 +41,17 @@ import jakarta.ws.rs.core.MediaType;
  */
 public class ClientUtils {
 
+	/**
+	 * Default maximum number of pooled connections per route.
+	 */
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+
+	private static final int CONNECT_TIMEOUT = 10000;
+
+	private static final int CONNECTION_REQUEST_TIMEOUT = 60000;
+
+	private static final AtomicInteger EXCHANGE_THREAD_COUNT = new AtomicInteger();
+
 	/**
 	 * Builds a client component for interacting with HTTP endpoints. The client will
 	 * automatically redirect to the URI declared in 3xx responses. The connection timeout
@@ -47,6 +68,98 @@ public class ClientUtils {
 		return client;
 	}
 
+	/**
+	 * Builds a pooled Apache HTTP client that keeps connections alive between requests,
+	 * so that consecutive requests to the IUT reuse established TCP/TLS connections. The
+	 * connection timeout is 10 s; a request waits at most 60 s for a free connection
+	 * before failing. The client is shared by all test classes and must be closed at the
+	 * end of the test run. Exchanges are timed as described in
+	 * {@link ExchangeTimingInstrumentation}.
+	 * @param maxConnectionsPerRoute The maximum number of connections per route (a value
+	 * less or equal to 0 means {@link #DEFAULT_MAX_CONNECTIONS_PER_ROUTE}).
+	 * @return A CloseableHttpClient backed by a pooling connection manager.
+	 */
+	public static CloseableHttpClient buildPooledHttpClient(int maxConnectionsPerRoute) {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+				ExchangeTimingInstrumentation.createSocketFactoryRegistry(),
+				ExchangeTimingInstrumentation.createDnsResolver());
+		setMaxConnectionsPerRoute(connectionManager, maxConnectionsPerRoute);
+		return buildPooledHttpClient(connectionManager);
+	}
+
+	/**
+	 * Leases a pooled Apache HTTP client as built by {@link #buildPooledHttpClient(int)}
+	 * that is shared by all test runs in this JVM against the same host, e.g. when
+	 * several IUTs of a server are tested in one batch. Connections kept alive by one
+	 * test run are thereby reused by the others. The connection pool grows by the given
+	 * number of connections per route for every lease and shrinks again when the lease is
+	 * closed; the total number of connections is twice the number per route. The client
+	 * is closed with its last lease.
+	 * @param iut The IUT, only its scheme and authority are considered.
+	 * @param maxConnectionsPerRoute The maximum number of connections per route needed by
+	 * the test run (a value less or equal to 0 means
+	 * {@link #DEFAULT_MAX_CONNECTIONS_PER_ROUTE}).
+	 * @return A CloseableHttpClient that must be closed at the end of the test run.
+	 */
+	public static CloseableHttpClient leasePooledHttpClient(URI iut, int maxConnectionsPerRoute) {
+		int maxPerRoute = maxConnectionsPerRoute > 0 ? maxConnectionsPerRoute : DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+		return SharedConnectionPool.lease(iut.getScheme() + "://" + iut.getAuthority(), maxPerRoute);
+	}
+
+	static void setMaxConnectionsPerRoute(PoolingHttpClientConnectionManager connectionManager,
+			int maxConnectionsPerRoute) {
+		int maxPerRoute = maxConnectionsPerRoute > 0 ? maxConnectionsPerRoute : DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+		connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+		connectionManager.setMaxTotal(maxPerRoute * 2);
+	}
+
+	static CloseableHttpClient buildPooledHttpClient(PoolingHttpClientConnectionManager connectionManager) {
+		RequestConfig requestConfig = RequestConfig.custom()
+			.setConnectTimeout(CONNECT_TIMEOUT)
+			.setConnectionRequestTimeout(CONNECTION_REQUEST_TIMEOUT)
+			.build();
+		return HttpClients.custom()
+			.setConnectionManager(connectionManager)
+			.setDefaultRequestConfig(requestConfig)
+			.addInterceptorLast(ExchangeTimingInstrumentation.createRequestInterceptor())
+			.addInterceptorFirst(ExchangeTimingInstrumentation.createResponseInterceptor())
+			.build();
+	}
+
+	/**
+	 * Builds an executor running exchanges with the IUT, e.g. job status polls or
+	 * submitted execute requests. On Java 21 or later every task runs on its own virtual
+	 * thread, so a blocked request does not occupy a platform thread; the number of
+	 * concurrent requests is bounded by the connection pool of the HTTP client only. On
+	 * older runtimes the tasks run on a bounded pool of platform threads. The executor
+	 * must be shut down at the end of the test run.
+	 * @param maxThreads The maximum number of platform threads if virtual threads are not
+	 * available (a value less or equal to 0 means
+	 * {@link #DEFAULT_MAX_CONNECTIONS_PER_ROUTE}).
+	 * @return An ExecutorService, never <code>null</code>.
+	 */
+	public static ExecutorService buildExchangeExecutor(int maxThreads) {
+		try {
+			ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+				.invoke(null);
+			TestSuiteLogger.log(Level.CONFIG, "Running exchanges with the IUT on virtual threads.");
+			return executor;
+		}
+		catch (ReflectiveOperationException | RuntimeException e) {
+			// virtual threads are not available before Java 21
+		}
+		int poolSize = maxThreads > 0 ? maxThreads : DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "iut-exchange-" + EXCHANGE_THREAD_COUNT.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		TestSuiteLogger.log(Level.CONFIG, "Running exchanges with the IUT on " + poolSize + " platform threads.");
+		return executor;
+	}
+
 	/**
 	 * Constructs a client component that uses a specified web proxy. Proxy authentication
 	 * is not supported. Configuring the client to use an intercepting proxy can be useful
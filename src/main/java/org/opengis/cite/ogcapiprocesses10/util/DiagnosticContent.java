@@ -0,0 +1,170 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * The content of the responses received by a test method invocation, kept for the failure
+ * report. Setting or appending content only keeps a reference to it; the content is
+ * rendered when a failure is reported. Rendering keeps the first bytes of the content,
+ * counts its size and computes its SHA-256 digest while streaming it, and pretty-prints
+ * the retained prefix only.
+ *
+ * <p>
+ * Content may be given as {@link CharSequence}, <code>byte[]</code>, {@link InputStream}
+ * (read when rendered) or {@link BoundedCaptureInputStream} (of which only the captured
+ * bytes are available, so no digest is computed).
+ * </p>
+ */
+public class DiagnosticContent {
+
+	private static final int CHUNK_SIZE = 8192;
+
+	private final List<Object> parts = new ArrayList<>();
+
+	/**
+	 * Replaces the content.
+	 * @param content the content, <code>null</code> to clear it
+	 */
+	public synchronized void set(Object content) {
+		parts.clear();
+		append(content);
+	}
+
+	/**
+	 * Appends content, separated by a line feed from the content before.
+	 * @param content the content, ignored if <code>null</code>
+	 */
+	public synchronized void append(Object content) {
+		if (content == null) {
+			return;
+		}
+		if (!parts.isEmpty()) {
+			parts.add("\n");
+		}
+		parts.add(content);
+	}
+
+	/**
+	 * @return <code>true</code> if no content was set
+	 */
+	public synchronized boolean isEmpty() {
+		return parts.isEmpty();
+	}
+
+	/**
+	 * Renders the content for a failure report.
+	 * @param maxLength the maximum number of bytes of the content to keep
+	 * @return the first <code>maxLength</code> bytes of the content, pretty-printed if
+	 * JSON and cut to <code>maxLength</code> characters, followed by the size and digest
+	 * of the content if it was truncated
+	 */
+	public synchronized String render(int maxLength) {
+		ByteArrayOutputStream prefix = new ByteArrayOutputStream(Math.min(maxLength, CHUNK_SIZE));
+		MessageDigest digest = createDigest();
+		long size = 0;
+		for (Object part : parts) {
+			if (part instanceof BoundedCaptureInputStream) {
+				BoundedCaptureInputStream capture = (BoundedCaptureInputStream) part;
+				if (capture.isTruncated()) {
+					digest = null;
+				}
+				byte[] bytes = capture.getCapturedBytes();
+				write(bytes, 0, bytes.length, prefix, maxLength, digest);
+				size += capture.getByteCount();
+			}
+			else if (part instanceof byte[]) {
+				byte[] bytes = (byte[]) part;
+				write(bytes, 0, bytes.length, prefix, maxLength, digest);
+				size += bytes.length;
+			}
+			else if (part instanceof InputStream) {
+				size += write((InputStream) part, prefix, maxLength, digest);
+			}
+			else {
+				size += write(part.toString(), prefix, maxLength, digest);
+			}
+		}
+		String content = JsonUtils.prettifyPrefix(new String(prefix.toByteArray(), StandardCharsets.UTF_8));
+		if (content.length() > maxLength) {
+			// pretty-printing added indentation
+			content = content.substring(0, maxLength);
+		}
+		if (size <= prefix.size()) {
+			return content;
+		}
+		StringBuilder rendered = new StringBuilder(content);
+		rendered.append("\n[truncated, ").append(size).append(" bytes");
+		if (digest != null) {
+			rendered.append(", SHA-256 ").append(toHex(digest.digest()));
+		}
+		return rendered.append(']').toString();
+	}
+
+	private static long write(String content, ByteArrayOutputStream prefix, int maxLength, MessageDigest digest) {
+		long size = 0;
+		for (int start = 0; start < content.length();) {
+			int end = Math.min(content.length(), start + CHUNK_SIZE);
+			if (end < content.length() && Character.isHighSurrogate(content.charAt(end - 1))) {
+				end--;
+			}
+			byte[] bytes = content.substring(start, end).getBytes(StandardCharsets.UTF_8);
+			write(bytes, 0, bytes.length, prefix, maxLength, digest);
+			size += bytes.length;
+			start = end;
+		}
+		return size;
+	}
+
+	private static long write(InputStream content, ByteArrayOutputStream prefix, int maxLength, MessageDigest digest) {
+		long size = 0;
+		byte[] buffer = new byte[CHUNK_SIZE];
+		try {
+			int n;
+			while ((n = content.read(buffer)) >= 0) {
+				write(buffer, 0, n, prefix, maxLength, digest);
+				size += n;
+			}
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not read response content.", e);
+		}
+		return size;
+	}
+
+	private static void write(byte[] bytes, int off, int len, ByteArrayOutputStream prefix, int maxLength,
+			MessageDigest digest) {
+		int remaining = maxLength - prefix.size();
+		if (remaining > 0) {
+			prefix.write(bytes, off, Math.min(len, remaining));
+		}
+		if (digest != null) {
+			digest.update(bytes, off, len);
+		}
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	static String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return hex.toString();
+	}
+
+}
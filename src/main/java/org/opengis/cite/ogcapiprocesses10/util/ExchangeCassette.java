@@ -0,0 +1,509 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+import org.apache.http.Header;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHeader;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.restassured.filter.Filter;
+
+/**
+ * A cassette on disk holding the exchanges with the IUT, so that a test run can be
+ * repeated without the IUT. In {@link Mode#RECORD record} mode every exchange of the
+ * shared HTTP clients is appended to the cassette; in {@link Mode#REPLAY replay} mode the
+ * exchanges are served from the cassette and no request is sent.
+ *
+ * <p>
+ * The cassette is a directory holding the index {@value #INDEX_FILE}, with one JSON
+ * object per exchange (request method, URI, headers and SHA-256 digest of the body;
+ * response status, headers and SHA-256 digest of the body), and the response bodies in
+ * the directory {@value #BODIES_DIRECTORY}, named by their digest.
+ * </p>
+ *
+ * <p>
+ * A request is replayed with the first recorded exchange matching, in this order, its
+ * method, URI, <code>Accept</code> and <code>Prefer</code> headers and body digest; the
+ * same with UUIDs in the URI ignored, since the test suite generates some of them
+ * randomly; the same without the body digest; its method and URI with UUIDs ignored.
+ * Exchanges matching a request alike are replayed in the order they were recorded, the
+ * last one repeatedly, e.g. the status of a job polled until it finished. A request
+ * without a matching exchange is answered with status 404.
+ * </p>
+ */
+public class ExchangeCassette implements Closeable {
+
+	/**
+	 * Whether exchanges are recorded or replayed.
+	 */
+	public enum Mode {
+
+		/**
+		 * The exchanges with the IUT are recorded.
+		 */
+		RECORD,
+
+		/**
+		 * The exchanges are replayed from the cassette.
+		 */
+		REPLAY
+
+	}
+
+	/**
+	 * The name of the index of the recorded exchanges.
+	 */
+	public static final String INDEX_FILE = "exchanges.jsonl";
+
+	/**
+	 * The name of the directory holding the response bodies.
+	 */
+	public static final String BODIES_DIRECTORY = "bodies";
+
+	private static final Pattern UUID_PATTERN = Pattern
+		.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+	/** Headers describing the transfer of the body rather than the body itself. */
+	private static final Set<String> TRANSFER_HEADERS = Set.of("connection", "content-encoding", "content-length",
+			"keep-alive", "transfer-encoding");
+
+	private static final int MATCH_LEVELS = 4;
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private final Path directory;
+
+	private final Mode mode;
+
+	private final Writer index;
+
+	private final List<Map<String, Sequence>> lookups = new ArrayList<>();
+
+	private ExchangeCassette(Path directory, Mode mode) throws IOException {
+		this.directory = directory;
+		this.mode = mode;
+		Path indexFile = directory.resolve(INDEX_FILE);
+		if (mode == Mode.RECORD) {
+			Files.createDirectories(directory.resolve(BODIES_DIRECTORY));
+			this.index = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		}
+		else {
+			this.index = null;
+			for (int level = 0; level < MATCH_LEVELS; level++) {
+				lookups.add(new HashMap<>());
+			}
+			load(indexFile);
+		}
+	}
+
+	/**
+	 * Opens a cassette. Recording replaces the exchanges recorded before.
+	 * @param directory the directory of the cassette, created when recording
+	 * @param mode whether exchanges are recorded or replayed
+	 * @return the cassette, never <code>null</code>
+	 * @throws IOException if the cassette could not be created or read
+	 */
+	public static ExchangeCassette open(Path directory, Mode mode) throws IOException {
+		return new ExchangeCassette(directory, mode);
+	}
+
+	/**
+	 * @return whether exchanges are recorded or replayed
+	 */
+	public Mode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Wraps an HTTP client, so that its exchanges are recorded to or replayed from this
+	 * cassette.
+	 * @param client the client sending the requests when recording, never
+	 * <code>null</code>
+	 * @return the wrapping client, closing the wrapped client when closed
+	 */
+	public CloseableHttpClient wrap(CloseableHttpClient client) {
+		return new CassetteHttpClient(client, this);
+	}
+
+	/**
+	 * @return a REST Assured filter recording the exchanges to or replaying them from
+	 * this cassette; it should be the last filter of a request
+	 */
+	public Filter createFilter() {
+		return new CassetteFilter(this);
+	}
+
+	/**
+	 * Stores a response body in the cassette.
+	 * @param body the body, read to the end but not closed
+	 * @return the SHA-256 digest of the body naming the stored body
+	 * @throws IOException if the body could not be read or stored
+	 */
+	public String storeBody(InputStream body) throws IOException {
+		Path bodies = directory.resolve(BODIES_DIRECTORY);
+		Path temp = Files.createTempFile(bodies, "body-", ".tmp");
+		MessageDigest digest = createDigest();
+		try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+			body.transferTo(out);
+		}
+		catch (IOException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		String hash = DiagnosticContent.toHex(digest.digest());
+		Files.move(temp, bodies.resolve(hash), StandardCopyOption.REPLACE_EXISTING);
+		return hash;
+	}
+
+	/**
+	 * @param hash the SHA-256 digest of a stored body
+	 * @return the file of the stored body
+	 */
+	public Path getBody(String hash) {
+		return directory.resolve(BODIES_DIRECTORY).resolve(hash);
+	}
+
+	/**
+	 * Appends an exchange to the index; headers describing the transfer of the response
+	 * body are not recorded, since the stored body is decoded.
+	 * @param exchange the exchange, never <code>null</code>
+	 * @throws IOException if the index could not be written
+	 */
+	public synchronized void record(Exchange exchange) throws IOException {
+		if (mode != Mode.RECORD) {
+			throw new IllegalStateException("Exchanges are replayed from the cassette " + directory);
+		}
+		index.write(OBJECT_MAPPER.writeValueAsString(exchange.toJson()));
+		index.write('\n');
+		// keep the exchanges recorded so far if the test run is interrupted
+		index.flush();
+	}
+
+	/**
+	 * Finds the recorded exchange replaying a request.
+	 * @param method the request method
+	 * @param uri the request URI
+	 * @param requestHeaders the request headers
+	 * @param requestBodyHash the SHA-256 digest of the request body, <code>null</code> if
+	 * the request has no body
+	 * @return the next matching exchange, <code>null</code> if none matches
+	 */
+	public Exchange find(String method, String uri, Header[] requestHeaders, String requestBodyHash) {
+		if (mode != Mode.REPLAY) {
+			throw new IllegalStateException("Exchanges are recorded to the cassette " + directory);
+		}
+		String[] keys = createKeys(method, uri, requestHeaders, requestBodyHash);
+		for (int level = 0; level < MATCH_LEVELS; level++) {
+			Sequence sequence = lookups.get(level).get(keys[level]);
+			if (sequence != null) {
+				return sequence.next();
+			}
+		}
+		TestSuiteLogger.log(Level.WARNING, "No recorded exchange for " + method + " " + uri);
+		return null;
+	}
+
+	/**
+	 * Replays a GET request of a resource and writes the response body to a temporary
+	 * file, like {@link URIUtils#dereferenceURI(URI)}.
+	 * @param uri the URI of the resource, never <code>null</code>
+	 * @return the file holding the recorded resource
+	 * @throws IOException if no exchange was recorded for the resource or the file could
+	 * not be written
+	 */
+	public File dereference(URI uri) throws IOException {
+		Exchange exchange = find("GET", uri.toString(), new Header[0], null);
+		if (exchange == null || exchange.getResponseBodyHash() == null) {
+			throw new IOException("No recorded response body for GET " + uri);
+		}
+		File destFile = File.createTempFile("entity-", null);
+		Files.copy(getBody(exchange.getResponseBodyHash()), destFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		return destFile;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public synchronized void close() throws IOException {
+		if (index != null) {
+			index.close();
+		}
+	}
+
+	/**
+	 * Computes the SHA-256 digest of a request body.
+	 * @param body the body, <code>null</code> if the request has no body
+	 * @return the digest, <code>null</code> if the request has no body
+	 */
+	static String hashBody(byte[] body) {
+		return body != null ? DiagnosticContent.toHex(createDigest().digest(body)) : null;
+	}
+
+	static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void load(Path indexFile) throws IOException {
+		int count = 0;
+		try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				Exchange exchange;
+				try {
+					exchange = Exchange.fromJson(OBJECT_MAPPER.readTree(line));
+				}
+				catch (IOException | RuntimeException e) {
+					// e.g. the last line of an interrupted recording
+					TestSuiteLogger.log(Level.WARNING, "Skipping unreadable exchange in " + indexFile + ": " + line);
+					continue;
+				}
+				String[] keys = createKeys(exchange.getMethod(), exchange.getUri(), exchange.getRequestHeaders(),
+						exchange.getRequestBodyHash());
+				for (int level = 0; level < MATCH_LEVELS; level++) {
+					lookups.get(level).computeIfAbsent(keys[level], key -> new Sequence()).add(exchange);
+				}
+				count++;
+			}
+		}
+		TestSuiteLogger.log(Level.CONFIG, "Replaying " + count + " exchanges from " + indexFile);
+	}
+
+	private static String[] createKeys(String method, String uri, Header[] requestHeaders, String requestBodyHash) {
+		String normalizedUri = UUID_PATTERN.matcher(uri).replaceAll("{uuid}");
+		String headers = getHeader(requestHeaders, "Accept") + '\n' + getHeader(requestHeaders, "Prefer");
+		String[] keys = new String[MATCH_LEVELS];
+		keys[0] = method + ' ' + uri + '\n' + headers + '\n' + requestBodyHash;
+		keys[1] = method + ' ' + normalizedUri + '\n' + headers + '\n' + requestBodyHash;
+		keys[2] = method + ' ' + normalizedUri + '\n' + headers;
+		keys[3] = method + ' ' + normalizedUri;
+		return keys;
+	}
+
+	private static String getHeader(Header[] headers, String name) {
+		for (Header header : headers) {
+			if (header.getName().equalsIgnoreCase(name)) {
+				return header.getValue();
+			}
+		}
+		return "";
+	}
+
+	/**
+	 * Exchanges matching a request alike, replayed in the order they were recorded.
+	 */
+	private static class Sequence {
+
+		private final List<Exchange> exchanges = new ArrayList<>();
+
+		private int next;
+
+		void add(Exchange exchange) {
+			exchanges.add(exchange);
+		}
+
+		synchronized Exchange next() {
+			return exchanges.get(Math.min(next++, exchanges.size() - 1));
+		}
+
+	}
+
+	/**
+	 * An exchange recorded to the cassette.
+	 */
+	public static final class Exchange {
+
+		private final String method;
+
+		private final String uri;
+
+		private final Header[] requestHeaders;
+
+		private final String requestBodyHash;
+
+		private final int status;
+
+		private final String reason;
+
+		private final Header[] responseHeaders;
+
+		private final String responseBodyHash;
+
+		/**
+		 * @param method the request method
+		 * @param uri the request URI
+		 * @param requestHeaders the request headers
+		 * @param requestBodyHash the SHA-256 digest of the request body,
+		 * <code>null</code> if the request has no body
+		 * @param status the response status code
+		 * @param reason the reason phrase of the response, may be <code>null</code>
+		 * @param responseHeaders the response headers
+		 * @param responseBodyHash the digest naming the stored response body,
+		 * <code>null</code> if the response has no body
+		 */
+		public Exchange(String method, String uri, Header[] requestHeaders, String requestBodyHash, int status,
+				String reason, Header[] responseHeaders, String responseBodyHash) {
+			this.method = method;
+			this.uri = uri;
+			this.requestHeaders = requestHeaders;
+			this.requestBodyHash = requestBodyHash;
+			this.status = status;
+			this.reason = reason;
+			this.responseHeaders = responseHeaders;
+			this.responseBodyHash = responseBodyHash;
+		}
+
+		/**
+		 * @return the request method
+		 */
+		public String getMethod() {
+			return method;
+		}
+
+		/**
+		 * @return the request URI
+		 */
+		public String getUri() {
+			return uri;
+		}
+
+		/**
+		 * @return the request headers
+		 */
+		public Header[] getRequestHeaders() {
+			return requestHeaders.clone();
+		}
+
+		/**
+		 * @return the SHA-256 digest of the request body, <code>null</code> if the
+		 * request has no body
+		 */
+		public String getRequestBodyHash() {
+			return requestBodyHash;
+		}
+
+		/**
+		 * @return the response status code
+		 */
+		public int getStatus() {
+			return status;
+		}
+
+		/**
+		 * @return the reason phrase of the response, may be <code>null</code>
+		 */
+		public String getReason() {
+			return reason;
+		}
+
+		/**
+		 * @return the response headers
+		 */
+		public Header[] getResponseHeaders() {
+			return responseHeaders.clone();
+		}
+
+		/**
+		 * @param name the header name
+		 * @return the value of the first response header with that name,
+		 * <code>null</code> if there is none
+		 */
+		public String getResponseHeader(String name) {
+			String value = getHeader(responseHeaders, name);
+			return value.isEmpty() ? null : value;
+		}
+
+		/**
+		 * @return the digest naming the stored response body, <code>null</code> if the
+		 * response has no body
+		 */
+		public String getResponseBodyHash() {
+			return responseBodyHash;
+		}
+
+		ObjectNode toJson() {
+			ObjectNode node = OBJECT_MAPPER.createObjectNode();
+			node.put("method", method);
+			node.put("uri", uri);
+			writeHeaders(node.putArray("requestHeaders"), requestHeaders);
+			if (requestBodyHash != null) {
+				node.put("requestBody", requestBodyHash);
+			}
+			node.put("status", status);
+			if (reason != null) {
+				node.put("reason", reason);
+			}
+			writeHeaders(node.putArray("responseHeaders"), responseHeaders);
+			if (responseBodyHash != null) {
+				node.put("responseBody", responseBodyHash);
+			}
+			return node;
+		}
+
+		static Exchange fromJson(JsonNode node) {
+			return new Exchange(node.get("method").asText(), node.get("uri").asText(),
+					readHeaders(node.get("requestHeaders")), textOrNull(node.get("requestBody")),
+					node.get("status").asInt(), textOrNull(node.get("reason")),
+					readHeaders(node.get("responseHeaders")), textOrNull(node.get("responseBody")));
+		}
+
+		private static void writeHeaders(ArrayNode array, Header[] headers) {
+			for (Header header : headers) {
+				if (!TRANSFER_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+					array.addArray().add(header.getName()).add(header.getValue());
+				}
+			}
+		}
+
+		private static Header[] readHeaders(JsonNode array) {
+			List<Header> headers = new ArrayList<>();
+			if (array != null) {
+				for (JsonNode header : array) {
+					headers.add(new BasicHeader(header.get(0).asText(), header.get(1).asText()));
+				}
+			}
+			return headers.toArray(new Header[0]);
+		}
+
+		private static String textOrNull(JsonNode node) {
+			return node != null && !node.isNull() ? node.asText() : null;
+		}
+
+	}
+
+}
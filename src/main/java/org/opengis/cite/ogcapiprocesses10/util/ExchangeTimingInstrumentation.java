@@ -0,0 +1,256 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+import org.opengis.cite.ogcapiprocesses10.ExchangeTiming;
+import org.opengis.cite.ogcapiprocesses10.ExchangeTiming.Phase;
+
+/**
+ * Instruments the pooled HTTP client to measure the phases of an exchange. An exchange is
+ * timed if its {@link HttpContext} holds an {@link ExchangeTiming} in the attribute
+ * {@link #TIMING_ATTRIBUTE}; exchanges without it are not affected.
+ *
+ * <p>
+ * Connection establishment does not see the context of the request when resolving the
+ * host name, so the timing of the exchange is bound to the executing thread while the
+ * request is sent. This relies on the blocking client executing a request on the calling
+ * thread.
+ * </p>
+ */
+public final class ExchangeTimingInstrumentation {
+
+	/**
+	 * The attribute of the {@link HttpContext} holding the {@link ExchangeTiming} of an
+	 * exchange.
+	 */
+	public static final String TIMING_ATTRIBUTE = ExchangeTiming.class.getName();
+
+	private static final ThreadLocal<ExchangeTiming> CURRENT = new ThreadLocal<>();
+
+	private ExchangeTimingInstrumentation() {
+	}
+
+	/**
+	 * @return a resolver timing the DNS resolution with the system resolver
+	 */
+	public static DnsResolver createDnsResolver() {
+		return new DnsResolver() {
+			@Override
+			public InetAddress[] resolve(String host) throws UnknownHostException {
+				long start = System.nanoTime();
+				try {
+					return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+				}
+				finally {
+					ExchangeTiming timing = CURRENT.get();
+					if (timing != null) {
+						timing.add(Phase.DNS, System.nanoTime() - start);
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * @return socket factories for <code>http</code> and <code>https</code> timing the
+	 * TCP connect and the TLS handshake
+	 */
+	public static Registry<ConnectionSocketFactory> createSocketFactoryRegistry() {
+		return RegistryBuilder.<ConnectionSocketFactory>create()
+			.register("http", new TimingPlainSocketFactory())
+			.register("https", new TimingSslSocketFactory())
+			.build();
+	}
+
+	/**
+	 * @return an interceptor binding the timing of an exchange to the executing thread
+	 */
+	public static HttpRequestInterceptor createRequestInterceptor() {
+		return (request, context) -> CURRENT.set(getTiming(context));
+	}
+
+	/**
+	 * @return an interceptor recording the time to the first byte of the response and
+	 * timing the download of the response entity
+	 */
+	public static HttpResponseInterceptor createResponseInterceptor() {
+		return (response, context) -> {
+			CURRENT.remove();
+			ExchangeTiming timing = getTiming(context);
+			if (timing == null) {
+				return;
+			}
+			long elapsed = System.nanoTime() - timing.getStartNanos();
+			timing.add(Phase.TTFB, elapsed - Math.max(0, timing.get(Phase.DNS)) - Math.max(0, timing.get(Phase.CONNECT))
+					- Math.max(0, timing.get(Phase.TLS)));
+			timing.setStatusCode(response.getStatusLine().getStatusCode());
+			if (response.getEntity() != null) {
+				response.setEntity(new TimingEntity(response.getEntity(), timing));
+			}
+			else {
+				timing.finish();
+			}
+		};
+	}
+
+	private static ExchangeTiming getTiming(HttpContext context) {
+		Object timing = context != null ? context.getAttribute(TIMING_ATTRIBUTE) : null;
+		return timing instanceof ExchangeTiming ? (ExchangeTiming) timing : null;
+	}
+
+	private static class TimingPlainSocketFactory extends PlainConnectionSocketFactory {
+
+		@Override
+		public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+				InetSocketAddress localAddress, HttpContext context) throws IOException {
+			long start = System.nanoTime();
+			try {
+				return super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+			}
+			finally {
+				ExchangeTiming timing = getTiming(context);
+				if (timing != null) {
+					timing.add(Phase.CONNECT, System.nanoTime() - start);
+				}
+			}
+		}
+
+	}
+
+	private static class TimingSslSocketFactory extends SSLConnectionSocketFactory {
+
+		TimingSslSocketFactory() {
+			super(SSLContexts.createDefault(), getDefaultHostnameVerifier());
+		}
+
+		@Override
+		public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+				InetSocketAddress localAddress, HttpContext context) throws IOException {
+			ExchangeTiming timing = getTiming(context);
+			long tlsBefore = timing != null ? Math.max(0, timing.get(Phase.TLS)) : 0;
+			long start = System.nanoTime();
+			try {
+				// the handshake is timed by createLayeredSocket
+				return super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+			}
+			finally {
+				if (timing != null) {
+					long tls = Math.max(0, timing.get(Phase.TLS)) - tlsBefore;
+					timing.add(Phase.CONNECT, System.nanoTime() - start - tls);
+				}
+			}
+		}
+
+		@Override
+		public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context)
+				throws IOException {
+			long start = System.nanoTime();
+			try {
+				return super.createLayeredSocket(socket, target, port, context);
+			}
+			finally {
+				ExchangeTiming timing = getTiming(context);
+				if (timing != null) {
+					timing.add(Phase.TLS, System.nanoTime() - start);
+				}
+			}
+		}
+
+	}
+
+	private static class TimingEntity extends HttpEntityWrapper {
+
+		private final ExchangeTiming timing;
+
+		TimingEntity(HttpEntity entity, ExchangeTiming timing) {
+			super(entity);
+			this.timing = timing;
+		}
+
+		@Override
+		public InputStream getContent() throws IOException {
+			return new TimingInputStream(super.getContent(), timing);
+		}
+
+	}
+
+	/**
+	 * Sums the time spent in blocking reads; the exchange is finished at the end of the
+	 * stream or when the stream is closed.
+	 */
+	private static class TimingInputStream extends FilterInputStream {
+
+		private final ExchangeTiming timing;
+
+		private long readNanos;
+
+		private boolean finished;
+
+		TimingInputStream(InputStream in, ExchangeTiming timing) {
+			super(in);
+			this.timing = timing;
+		}
+
+		@Override
+		public int read() throws IOException {
+			long start = System.nanoTime();
+			int b = super.read();
+			readNanos += System.nanoTime() - start;
+			if (b < 0) {
+				finish();
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			long start = System.nanoTime();
+			int n = super.read(b, off, len);
+			readNanos += System.nanoTime() - start;
+			if (n < 0) {
+				finish();
+			}
+			return n;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			}
+			finally {
+				finish();
+			}
+		}
+
+		private void finish() {
+			if (!finished) {
+				finished = true;
+				timing.add(Phase.DOWNLOAD, readNanos);
+				timing.finish();
+			}
+		}
+
+	}
+
+}
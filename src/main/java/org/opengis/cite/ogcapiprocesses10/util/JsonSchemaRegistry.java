@@ -0,0 +1,158 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SchemaValidatorsConfig;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.ValidationMessage;
+
+/**
+ * Loads and compiles JSON schemas (JSON or YAML) once per JVM and keeps the compiled
+ * schemas for reuse across tests and test runs. The number of compiled schemas kept is
+ * bounded, the least recently used schema is evicted first.
+ *
+ * <p>
+ * By default schemas are retrieved from their location. If the schema catalog is used,
+ * schemas contained in the {@link SchemaCatalog} are read from the classpath instead of
+ * the network; the schemas compiled from the catalog are kept apart from the others.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe. The validators of a schema, including those of referenced
+ * schemas, are initialized when the schema is compiled; afterwards the compiled schema is
+ * immutable and validates concurrently without locking.
+ * </p>
+ */
+public class JsonSchemaRegistry {
+
+	/**
+	 * Maximum number of compiled schemas kept, for each of the two ways of resolving
+	 * schemas.
+	 */
+	static final int MAX_SCHEMAS = 32;
+
+	private static final JsonSchemaFactory FACTORY = JsonSchemaFactory
+		.builder(JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7))
+		.objectMapper(new ObjectMapper(new YAMLFactory()))
+		.build();
+
+	private static final JsonSchemaFactory CATALOG_FACTORY = JsonSchemaFactory
+		.builder(JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7))
+		.objectMapper(new ObjectMapper(new YAMLFactory()))
+		.uriFetcher(SchemaCatalog.getInstance(), "http", "https")
+		.build();
+
+	private static final Map<String, JsonSchema> SCHEMAS = createCache();
+
+	private static final Map<String, JsonSchema> CATALOG_SCHEMAS = createCache();
+
+	private JsonSchemaRegistry() {
+	}
+
+	/**
+	 * Returns the compiled schema located at the given URI, retrieving and compiling it
+	 * on first access.
+	 * @param schemaUri the URI of the schema, never <code>null</code>
+	 * @return the compiled schema, never <code>null</code>
+	 * @throws java.lang.IllegalArgumentException if the URI is invalid
+	 * @throws com.networknt.schema.JsonSchemaException if the schema could not be loaded
+	 * or compiled
+	 */
+	public static JsonSchema getSchema(String schemaUri) {
+		return getSchema(schemaUri, false);
+	}
+
+	/**
+	 * Returns the compiled schema located at the given URI, loading and compiling it on
+	 * first access.
+	 * @param schemaUri the URI of the schema, never <code>null</code>
+	 * @param useCatalog <code>true</code> if schemas contained in the
+	 * {@link SchemaCatalog} are read from the classpath, <code>false</code> if all
+	 * schemas are retrieved from their location
+	 * @return the compiled schema, never <code>null</code>
+	 * @throws java.lang.IllegalArgumentException if the URI is invalid
+	 * @throws com.networknt.schema.JsonSchemaException if the schema could not be loaded
+	 * or compiled
+	 */
+	public static JsonSchema getSchema(String schemaUri, boolean useCatalog) {
+		Map<String, JsonSchema> schemas = useCatalog ? CATALOG_SCHEMAS : SCHEMAS;
+		synchronized (schemas) {
+			JsonSchema jsonSchema = schemas.get(schemaUri);
+			if (jsonSchema != null) {
+				return jsonSchema;
+			}
+		}
+		// compile outside of the lock, a concurrent compilation of the same schema is
+		// harmless
+		JsonSchemaFactory factory = useCatalog ? CATALOG_FACTORY : FACTORY;
+		JsonSchema jsonSchema = factory.getSchema(URI.create(schemaUri), createConfig());
+		// resolve the references now instead of lazily during the first validations
+		jsonSchema.initializeValidators();
+		synchronized (schemas) {
+			JsonSchema existing = schemas.putIfAbsent(schemaUri, jsonSchema);
+			return existing != null ? existing : jsonSchema;
+		}
+	}
+
+	/**
+	 * Validates the given JSON node against the schema located at the given URI, which is
+	 * retrieved from its location.
+	 * @param schemaUri the URI of the schema, never <code>null</code>
+	 * @param node the node to validate, never <code>null</code>
+	 * @return the validation messages, empty if the node is valid
+	 */
+	public static Set<ValidationMessage> validate(String schemaUri, JsonNode node) {
+		return validate(schemaUri, node, false);
+	}
+
+	/**
+	 * Validates the given JSON node against the schema located at the given URI.
+	 * @param schemaUri the URI of the schema, never <code>null</code>
+	 * @param node the node to validate, never <code>null</code>
+	 * @param useCatalog <code>true</code> if schemas contained in the
+	 * {@link SchemaCatalog} are read from the classpath, <code>false</code> if all
+	 * schemas are retrieved from their location
+	 * @return the validation messages, empty if the node is valid
+	 */
+	public static Set<ValidationMessage> validate(String schemaUri, JsonNode node, boolean useCatalog) {
+		return getSchema(schemaUri, useCatalog).validate(node);
+	}
+
+	/**
+	 * Removes all compiled schemas.
+	 */
+	public static void clear() {
+		synchronized (SCHEMAS) {
+			SCHEMAS.clear();
+		}
+		synchronized (CATALOG_SCHEMAS) {
+			CATALOG_SCHEMAS.clear();
+		}
+	}
+
+	private static Map<String, JsonSchema> createCache() {
+		return new LinkedHashMap<String, JsonSchema>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, JsonSchema> eldest) {
+				return size() > MAX_SCHEMAS;
+			}
+
+		};
+	}
+
+	private static SchemaValidatorsConfig createConfig() {
+		SchemaValidatorsConfig config = new SchemaValidatorsConfig();
+		config.setTypeLoose(false);
+		return config;
+	}
+
+}
@@ -22,6 +22,10 @@ import java.util.Set;
 
 import org.apache.commons.io.IOUtils;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.restassured.path.json.JsonPath;
@@ -176,11 +180,12 @@ public class JsonUtils {
 	 */
 	public static List<Map<String, Object>> findLinksWithSupportedMediaTypeByRel(List<Map<String, Object>> links,
 			List<String> mediaTypesToSupport, String expectedRel) {
+		MediaTypeMatcher supportedMediaTypes = new MediaTypeMatcher(mediaTypesToSupport);
 		List<Map<String, Object>> alternateLinks = new ArrayList<>();
 		for (Map<String, Object> link : links) {
 			Object type = link.get("type");
 			Object rel = link.get("rel");
-			if (expectedRel.equals(rel) && isSupportedMediaType(type, mediaTypesToSupport))
+			if (expectedRel.equals(rel) && supportedMediaTypes.accepts(type))
 				alternateLinks.add(link);
 		}
 		return alternateLinks;
@@ -195,10 +200,16 @@ public class JsonUtils {
 	 */
 	public static List<String> findUnsupportedTypes(List<Map<String, Object>> links,
 			List<String> mediaTypesToSuppport) {
+		// collect the media types of all links in one pass, then look up each media type
+		Set<ParsedMediaType> linkTypes = new HashSet<>();
+		for (Map<String, Object> link : links) {
+			Object type = link.get("type");
+			if (type instanceof String)
+				linkTypes.add(ParsedMediaType.parse((String) type));
+		}
 		List<String> unsupportedType = new ArrayList<>();
 		for (String contentMediaType : mediaTypesToSuppport) {
-			boolean hasLinkForContentType = hasLinkForContentType(links, contentMediaType);
-			if (!hasLinkForContentType)
+			if (!linkTypes.contains(ParsedMediaType.parse(contentMediaType)))
 				unsupportedType.add(contentMediaType);
 		}
 		return unsupportedType;
@@ -348,60 +359,49 @@ public class JsonUtils {
 		}
 	}
 
-	private static ObjectMapper getObjectMapper() {
-		if (objectMapper == null) {
-			objectMapper = new ObjectMapper();
+	/**
+	 * Pretty-prints a JSON document that may be truncated, e.g. the beginning of a
+	 * response entity. The tokens up to the end of the document or the first error are
+	 * pretty-printed, the remainder is appended as is.
+	 * @param string the beginning of a JSON document or any other string, never
+	 * <code>null</code>
+	 * @return the pretty-printed string, the string itself if it does not start with a
+	 * JSON object or array
+	 */
+	public static String prettifyPrefix(String string) {
+		String trimmed = string.trim();
+		if (!trimmed.startsWith("{") && !trimmed.startsWith("[")) {
+			return string;
 		}
-		return objectMapper;
-	}
-
-	private static boolean isSameMediaType(String mediaType1, String mediaType2) {
-		if (mediaType1.contains(";") || mediaType2.contains(";")) {
-			// media types are not case sensitive
-			String[] components1 = mediaType1.toLowerCase().split(";");
-			String[] components2 = mediaType2.toLowerCase().split(";");
-			// type and subtype must match
-			if (!components1[0].trim().equals(components2[0].trim()))
-				return false;
-			Set<String> parameters1 = new HashSet<>();
-			Set<String> parameters2 = new HashSet<>();
-			// normalize parameter values and compare them
-			for (int i = 1; i < components1.length; i++) {
-				String parameter = components1[i].trim().replace("\"", "");
-				if (!parameter.isEmpty())
-					parameters1.add(parameter);
+		StringWriter writer = new StringWriter();
+		long consumed = 0;
+		JsonFactory factory = getObjectMapper().getFactory();
+		try (JsonParser parser = factory.createParser(string);
+				JsonGenerator generator = factory.createGenerator(writer)
+					.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)
+					.useDefaultPrettyPrinter()) {
+			try {
+				while (parser.nextToken() != null) {
+					generator.copyCurrentEvent(parser);
+					consumed = parser.getCurrentLocation().getCharOffset();
+				}
 			}
-			for (int i = 1; i < components2.length; i++) {
-				String parameter = components2[i].trim().replace("\"", "");
-				if (!parameter.isEmpty())
-					parameters2.add(parameter);
+			catch (JsonProcessingException e) {
+				// truncated or not JSON, the remainder is appended as is
 			}
-			if (parameters1.size() != parameters2.size())
-				return false;
-			if (!parameters1.containsAll(parameters2))
-				return false;
+			generator.flush();
 		}
-		else if (!mediaType1.trim().equalsIgnoreCase(mediaType2.trim()))
-			return false;
-
-		return true;
-	}
-
-	private static boolean hasLinkForContentType(List<Map<String, Object>> alternateLinks, String mediaType) {
-		for (Map<String, Object> alternateLink : alternateLinks) {
-			Object type = alternateLink.get("type");
-			if (type instanceof String && isSameMediaType(mediaType, (String) type))
-				return true;
+		catch (IOException e) {
+			return string;
 		}
-		return false;
+		return writer.toString() + string.substring((int) Math.min(consumed, string.length()));
 	}
 
-	private static boolean isSupportedMediaType(Object type, List<String> mediaTypes) {
-		for (String mediaType : mediaTypes) {
-			if (type instanceof String && isSameMediaType(mediaType, (String) type))
-				return true;
+	private static ObjectMapper getObjectMapper() {
+		if (objectMapper == null) {
+			objectMapper = new ObjectMapper();
 		}
-		return false;
+		return objectMapper;
 	}
 
 	private static double parseValueAsDouble(Object cords) {
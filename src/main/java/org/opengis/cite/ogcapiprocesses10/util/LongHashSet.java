@@ -0,0 +1,101 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A compact set of 64-bit hashes, using open addressing with linear probing. It takes 16
+ * to 32 bytes per element, independent of the size of the hashed values, so that the
+ * identifiers of very long lists can be tracked in bounded memory. Two different values
+ * are taken for the same one if their hashes collide, which for a million values happens
+ * with a probability of about 3 in 100 million.
+ */
+class LongHashSet {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private long[] slots = new long[INITIAL_CAPACITY];
+
+	private boolean containsZero;
+
+	private int size;
+
+	/**
+	 * Adds the hash of the given value.
+	 * @param value the value, never <code>null</code>
+	 * @return <code>true</code> if the hash was not in the set before
+	 */
+	boolean add(String value) {
+		return add(hash(value));
+	}
+
+	/**
+	 * Adds a hash.
+	 * @param hash the hash
+	 * @return <code>true</code> if the hash was not in the set before
+	 */
+	boolean add(long hash) {
+		if (hash == 0) {
+			// 0 marks an empty slot
+			if (containsZero) {
+				return false;
+			}
+			containsZero = true;
+			size++;
+			return true;
+		}
+		int index = indexOf(slots, hash);
+		if (slots[index] == hash) {
+			return false;
+		}
+		slots[index] = hash;
+		if (++size * 2 > slots.length) {
+			rehash();
+		}
+		return true;
+	}
+
+	/**
+	 * @return the number of hashes in the set
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Computes the 64-bit FNV-1a hash of the UTF-8 encoding of the given value.
+	 * @param value the value, never <code>null</code>
+	 * @return the hash
+	 */
+	static long hash(String value) {
+		long hash = FNV_OFFSET_BASIS;
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b & 0xff;
+			hash *= FNV_PRIME;
+		}
+		return hash;
+	}
+
+	private void rehash() {
+		long[] rehashed = new long[slots.length * 2];
+		for (long hash : slots) {
+			if (hash != 0) {
+				rehashed[indexOf(rehashed, hash)] = hash;
+			}
+		}
+		slots = rehashed;
+	}
+
+	private static int indexOf(long[] slots, long hash) {
+		int mask = slots.length - 1;
+		int index = (int) (hash ^ (hash >>> 32)) & mask;
+		while (slots[index] != 0 && slots[index] != hash) {
+			index = (index + 1) & mask;
+		}
+		return index;
+	}
+
+}
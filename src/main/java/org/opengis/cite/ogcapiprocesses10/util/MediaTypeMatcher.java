@@ -0,0 +1,37 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Answers whether a media type, e.g. the <code>type</code> of a link, is one of a set of
+ * acceptable media types. The acceptable media types are parsed once (see
+ * {@link ParsedMediaType}), so that each check is a hash lookup of the parsed media type;
+ * parameters are compared as described there.
+ */
+public final class MediaTypeMatcher {
+
+	private final Set<ParsedMediaType> acceptedMediaTypes = new HashSet<>();
+
+	/**
+	 * @param acceptedMediaTypes the acceptable media types, may be empty but never
+	 * <code>null</code>
+	 */
+	public MediaTypeMatcher(Collection<String> acceptedMediaTypes) {
+		for (String acceptedMediaType : acceptedMediaTypes) {
+			this.acceptedMediaTypes.add(ParsedMediaType.parse(acceptedMediaType));
+		}
+	}
+
+	/**
+	 * @param mediaType the media type to check, may be <code>null</code> or any object,
+	 * e.g. the value of the <code>type</code> property of a link
+	 * @return <code>true</code> if the media type is a string and one of the acceptable
+	 * media types, <code>false</code> otherwise
+	 */
+	public boolean accepts(Object mediaType) {
+		return mediaType instanceof String && acceptedMediaTypes.contains(ParsedMediaType.parse((String) mediaType));
+	}
+
+}
@@ -0,0 +1,514 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeUtility;
+
+/**
+ * Reads the parts of a MIME multipart entity (RFC 2046) one after another from a stream,
+ * e.g. the entity of a raw multi-output result. The content of a part is kept in memory
+ * up to a threshold and spilled to a temporary file beyond it, so the memory used does
+ * not grow with the size of the entity. The temporary files are deleted when the reader
+ * is closed.
+ *
+ * <p>
+ * Optionally, the content of each part is searched for a marker while it is read; parts
+ * with a <code>Content-Transfer-Encoding</code> other than the identity encodings are
+ * decoded and searched when {@link Part#containsMarker()} is called.
+ * </p>
+ */
+public class MultipartStreamReader implements Closeable {
+
+	/**
+	 * The size in bytes up to which the content of a part is kept in memory.
+	 */
+	public static final int DEFAULT_MEMORY_THRESHOLD = 64 * 1024;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final int MAX_HEADER_SIZE = 64 * 1024;
+
+	private static final byte[] CRLF = { '\r', '\n' };
+
+	private static final byte[] LF = { '\n' };
+
+	private final InputStream in;
+
+	private final byte[] marker;
+
+	private final int memoryThreshold;
+
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	private final byte[] line = new byte[BUFFER_SIZE];
+
+	private final List<Path> tempFiles = new ArrayList<>();
+
+	private byte[] delimiter;
+
+	private int position;
+
+	private int limit;
+
+	private boolean atLineStart = true;
+
+	private boolean started;
+
+	private boolean finished;
+
+	/**
+	 * @param in the multipart entity, never <code>null</code>
+	 * @param boundary the boundary of the parts, if <code>null</code> the first line
+	 * starting with <code>--</code> is taken as delimiter
+	 * @param marker the bytes to search in the content of the parts, may be
+	 * <code>null</code>
+	 */
+	public MultipartStreamReader(InputStream in, String boundary, byte[] marker) {
+		this(in, boundary, marker, DEFAULT_MEMORY_THRESHOLD);
+	}
+
+	/**
+	 * @param in the multipart entity, never <code>null</code>
+	 * @param boundary the boundary of the parts, if <code>null</code> the first line
+	 * starting with <code>--</code> is taken as delimiter
+	 * @param marker the bytes to search in the content of the parts, may be
+	 * <code>null</code>
+	 * @param memoryThreshold the size in bytes up to which the content of a part is kept
+	 * in memory
+	 */
+	public MultipartStreamReader(InputStream in, String boundary, byte[] marker, int memoryThreshold) {
+		this.in = in;
+		this.delimiter = boundary != null ? ("--" + boundary).getBytes(StandardCharsets.US_ASCII) : null;
+		this.marker = marker != null && marker.length > 0 ? marker.clone() : null;
+		this.memoryThreshold = memoryThreshold;
+	}
+
+	/**
+	 * Parses the boundary parameter of a multipart media type.
+	 * @param contentType the value of a <code>Content-Type</code> header, may be
+	 * <code>null</code>
+	 * @return the boundary, <code>null</code> if the content type has no boundary
+	 */
+	public static String getBoundary(String contentType) {
+		if (contentType == null) {
+			return null;
+		}
+		for (String parameter : contentType.split(";")) {
+			int separator = parameter.indexOf('=');
+			if (separator > 0 && parameter.substring(0, separator).trim().equalsIgnoreCase("boundary")) {
+				String boundary = parameter.substring(separator + 1).trim();
+				if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+					boundary = boundary.substring(1, boundary.length() - 1);
+				}
+				return boundary.isEmpty() ? null : boundary;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the next part; the content of the previous part is still available
+	 * afterwards.
+	 * @return the next part, <code>null</code> if all parts were read
+	 * @throws IOException if the entity could not be read or a part could not be spilled
+	 * to a temporary file
+	 */
+	public Part next() throws IOException {
+		if (finished) {
+			return null;
+		}
+		if (!started) {
+			started = true;
+			if (!skipPreamble()) {
+				finished = true;
+				return null;
+			}
+		}
+		Map<String, String> headers = readHeaders();
+		if (headers == null) {
+			finished = true;
+			return null;
+		}
+		Part part = new Part(headers);
+		readContent(part);
+		return part;
+	}
+
+	/**
+	 * Deletes the temporary files the contents of parts were spilled to. The underlying
+	 * stream is not closed.
+	 */
+	@Override
+	public void close() {
+		for (Path tempFile : tempFiles) {
+			try {
+				Files.deleteIfExists(tempFile);
+			}
+			catch (IOException e) {
+				TestSuiteLogger.log(Level.WARNING, "Could not delete temporary file " + tempFile, e);
+			}
+		}
+		tempFiles.clear();
+	}
+
+	/**
+	 * @return <code>true</code> if a delimiter was found, <code>false</code> if the
+	 * entity ended or has no parts
+	 */
+	private boolean skipPreamble() throws IOException {
+		int length;
+		while ((length = readLine()) >= 0) {
+			boolean lineStart = atLineStart;
+			atLineStart = endsWithLineFeed(length);
+			if (!lineStart) {
+				continue;
+			}
+			if (delimiter == null && length > 2 && line[0] == '-' && line[1] == '-') {
+				delimiter = trimLine(length);
+			}
+			int delimiterType = getDelimiterType(length);
+			if (delimiterType != 0) {
+				return delimiterType > 0;
+			}
+		}
+		return false;
+	}
+
+	private Map<String, String> readHeaders() throws IOException {
+		Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		ByteArrayOutputStream headerLine = new ByteArrayOutputStream();
+		int headerSize = 0;
+		int length;
+		String name = null;
+		while ((length = readLine()) >= 0) {
+			headerSize += length;
+			if (headerSize > MAX_HEADER_SIZE) {
+				throw new IOException("The headers of a part exceed " + MAX_HEADER_SIZE + " bytes.");
+			}
+			headerLine.write(line, 0, length);
+			atLineStart = endsWithLineFeed(length);
+			if (!atLineStart) {
+				continue;
+			}
+			String header = new String(headerLine.toByteArray(), StandardCharsets.ISO_8859_1);
+			headerLine.reset();
+			boolean folded = header.startsWith(" ") || header.startsWith("\t");
+			header = header.trim();
+			if (header.isEmpty()) {
+				return headers;
+			}
+			if (folded && name != null) {
+				headers.put(name, headers.get(name) + " " + header);
+				continue;
+			}
+			int separator = header.indexOf(':');
+			if (separator > 0) {
+				name = header.substring(0, separator).trim();
+				headers.put(name, header.substring(separator + 1).trim());
+			}
+		}
+		// the entity ended in the headers of a part
+		return headers.isEmpty() ? null : headers;
+	}
+
+	private void readContent(Part part) throws IOException {
+		int length;
+		int pendingLineEnd = 0;
+		while ((length = readLine()) >= 0) {
+			boolean lineStart = atLineStart;
+			boolean lineFeed = endsWithLineFeed(length);
+			atLineStart = lineFeed;
+			if (lineStart) {
+				int delimiterType = getDelimiterType(length);
+				if (delimiterType != 0) {
+					// the line end before the delimiter belongs to the delimiter
+					part.finish();
+					finished = delimiterType < 0;
+					return;
+				}
+			}
+			if (pendingLineEnd > 0) {
+				part.write(pendingLineEnd == 2 ? CRLF : LF, 0, pendingLineEnd);
+			}
+			pendingLineEnd = 0;
+			if (lineFeed) {
+				pendingLineEnd = length > 1 && line[length - 2] == '\r' ? 2 : 1;
+			}
+			part.write(line, 0, length - pendingLineEnd);
+		}
+		// the entity ended without closing delimiter
+		part.finish();
+		finished = true;
+	}
+
+	/**
+	 * @return 1 if the line is a delimiter, -1 if it is the closing delimiter, 0
+	 * otherwise
+	 */
+	private int getDelimiterType(int length) {
+		if (delimiter == null || length < delimiter.length) {
+			return 0;
+		}
+		for (int i = 0; i < delimiter.length; i++) {
+			if (line[i] != delimiter[i]) {
+				return 0;
+			}
+		}
+		int end = delimiter.length;
+		boolean closing = length >= end + 2 && line[end] == '-' && line[end + 1] == '-';
+		for (int i = closing ? end + 2 : end; i < length; i++) {
+			// transport padding
+			if (line[i] != ' ' && line[i] != '\t' && line[i] != '\r' && line[i] != '\n') {
+				return 0;
+			}
+		}
+		return closing ? -1 : 1;
+	}
+
+	private boolean endsWithLineFeed(int length) {
+		return length > 0 && line[length - 1] == '\n';
+	}
+
+	private byte[] trimLine(int length) {
+		int end = length;
+		while (end > 0 && Character.isWhitespace(line[end - 1])) {
+			end--;
+		}
+		byte[] trimmed = new byte[end];
+		System.arraycopy(line, 0, trimmed, 0, end);
+		return trimmed;
+	}
+
+	/**
+	 * Reads the next line, or as much of it as fits into {@link #line}.
+	 * @return the number of bytes read including the line feed, -1 at the end of the
+	 * entity
+	 */
+	private int readLine() throws IOException {
+		int length = 0;
+		while (length < line.length) {
+			if (position == limit) {
+				limit = in.read(buffer, 0, buffer.length);
+				position = 0;
+				if (limit <= 0) {
+					limit = 0;
+					return length > 0 ? length : -1;
+				}
+			}
+			byte b = buffer[position++];
+			line[length++] = b;
+			if (b == '\n') {
+				break;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * A part of a multipart entity.
+	 */
+	public final class Part {
+
+		private final Map<String, String> headers;
+
+		private final MarkerMatcher matcher;
+
+		private ByteArrayOutputStream memoryContent = new ByteArrayOutputStream();
+
+		private Path fileContent;
+
+		private OutputStream fileOut;
+
+		private long length;
+
+		private Part(Map<String, String> headers) {
+			this.headers = Collections.unmodifiableMap(headers);
+			this.matcher = marker != null && isIdentityEncoded() ? new MarkerMatcher(marker) : null;
+		}
+
+		/**
+		 * @return the headers of the part, names are case-insensitive
+		 */
+		public Map<String, String> getHeaders() {
+			return headers;
+		}
+
+		/**
+		 * @return the value of the <code>Content-Type</code> header,
+		 * <code>text/plain</code> if the part has none
+		 */
+		public String getContentType() {
+			String contentType = headers.get("Content-Type");
+			return contentType != null ? contentType : "text/plain";
+		}
+
+		/**
+		 * @return the length in bytes of the content as transferred
+		 */
+		public long getLength() {
+			return length;
+		}
+
+		/**
+		 * @return the content as transferred
+		 * @throws IOException if the content could not be read
+		 */
+		public InputStream openContent() throws IOException {
+			if (fileContent != null) {
+				return Files.newInputStream(fileContent);
+			}
+			return new ByteArrayInputStream(memoryContent.toByteArray());
+		}
+
+		/**
+		 * @return the content decoded according to its
+		 * <code>Content-Transfer-Encoding</code>
+		 * @throws IOException if the content could not be read or decoded
+		 */
+		public InputStream openDecodedContent() throws IOException {
+			String encoding = headers.get("Content-Transfer-Encoding");
+			if (encoding == null) {
+				return openContent();
+			}
+			try {
+				return MimeUtility.decode(openContent(), encoding.trim());
+			}
+			catch (MessagingException e) {
+				throw new IOException("Unsupported Content-Transfer-Encoding " + encoding, e);
+			}
+		}
+
+		/**
+		 * @return <code>true</code> if the decoded content contains the marker of the
+		 * reader, <code>false</code> if it does not or the reader has no marker
+		 * @throws IOException if the content could not be read or decoded
+		 */
+		public boolean containsMarker() throws IOException {
+			if (marker == null) {
+				return false;
+			}
+			if (matcher != null) {
+				return matcher.isFound();
+			}
+			MarkerMatcher decodedMatcher = new MarkerMatcher(marker);
+			byte[] decoded = new byte[BUFFER_SIZE];
+			try (InputStream content = openDecodedContent()) {
+				int n;
+				while (!decodedMatcher.isFound() && (n = content.read(decoded)) >= 0) {
+					decodedMatcher.update(decoded, 0, n);
+				}
+			}
+			return decodedMatcher.isFound();
+		}
+
+		private boolean isIdentityEncoded() {
+			String encoding = headers.get("Content-Transfer-Encoding");
+			if (encoding == null) {
+				return true;
+			}
+			String normalized = encoding.trim().toLowerCase(Locale.ROOT);
+			return normalized.equals("7bit") || normalized.equals("8bit") || normalized.equals("binary");
+		}
+
+		private void write(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return;
+			}
+			length += len;
+			if (matcher != null) {
+				matcher.update(b, off, len);
+			}
+			if (fileOut == null && memoryContent.size() + len > memoryThreshold) {
+				fileContent = Files.createTempFile("multipart-part-", ".bin");
+				tempFiles.add(fileContent);
+				fileOut = new BufferedOutputStream(Files.newOutputStream(fileContent));
+				memoryContent.writeTo(fileOut);
+				memoryContent = null;
+			}
+			if (fileOut != null) {
+				fileOut.write(b, off, len);
+			}
+			else {
+				memoryContent.write(b, off, len);
+			}
+		}
+
+		private void finish() throws IOException {
+			if (fileOut != null) {
+				fileOut.close();
+				fileOut = null;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return getContentType() + ", " + length + " bytes";
+		}
+
+	}
+
+	/**
+	 * Searches a marker incrementally in a sequence of bytes (Knuth-Morris-Pratt).
+	 */
+	static final class MarkerMatcher {
+
+		private final byte[] marker;
+
+		private final int[] failure;
+
+		private int matched;
+
+		private boolean found;
+
+		MarkerMatcher(byte[] marker) {
+			this.marker = marker;
+			this.failure = new int[marker.length];
+			for (int i = 1, k = 0; i < marker.length; i++) {
+				while (k > 0 && marker[i] != marker[k]) {
+					k = failure[k - 1];
+				}
+				if (marker[i] == marker[k]) {
+					k++;
+				}
+				failure[i] = k;
+			}
+		}
+
+		void update(byte[] b, int off, int len) {
+			for (int i = off; i < off + len && !found; i++) {
+				while (matched > 0 && b[i] != marker[matched]) {
+					matched = failure[matched - 1];
+				}
+				if (b[i] == marker[matched]) {
+					matched++;
+				}
+				if (matched == marker.length) {
+					found = true;
+				}
+			}
+		}
+
+		boolean isFound() {
+			return found;
+		}
+
+	}
+
+}
@@ -0,0 +1,456 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Walks the pages of a paged list such as the process list ({root}/processes) or the job
+ * list ({root}/jobs) by following the links with <code>rel=next</code>, and checks that
+ * the pages are consistent: no item is listed twice, no page lists more items than
+ * requested, no page is empty unless it is the last one, no next link leads back to a
+ * page already walked, and the number of distinct items matches
+ * <code>numberMatched</code> if the server states it.
+ *
+ * <p>
+ * A list that may change while it is walked, such as the job list while jobs are created,
+ * can legitimately shift items between pages. For such a list, duplicate items and a
+ * <code>numberMatched</code> differing from the number of distinct items are reported as
+ * warnings instead of problems.
+ * </p>
+ *
+ * <p>
+ * Each page is read with the Jackson streaming API; only the identifiers of the items are
+ * kept, as hashes in a compact set, so that lists of hundreds of thousands of items are
+ * walked in bounded memory. The latency of each page, from sending the request until the
+ * page was read, is recorded.
+ * </p>
+ */
+public class PagedListWalker {
+
+	/**
+	 * Default number of items requested per page.
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 100;
+
+	/**
+	 * Maximum number of pages walked, as a safeguard against servers generating next
+	 * links forever.
+	 */
+	static final int MAX_PAGES = 100000;
+
+	private static final int MAX_REPORTED_PROBLEMS = 10;
+
+	private static final int MAX_CAPTURE_LENGTH = 4096;
+
+	private static final String LINKS_FIELD = "links";
+
+	private static final String NUMBER_MATCHED_FIELD = "numberMatched";
+
+	private static final String NUMBER_RETURNED_FIELD = "numberReturned";
+
+	private static final String NEXT_REL = "next";
+
+	private static final JsonFactory JSON_FACTORY = new ObjectMapper().getFactory();
+
+	private final RequestExecutor executor;
+
+	private final String itemsField;
+
+	private final String idField;
+
+	private final boolean changing;
+
+	/**
+	 * @param executor executes the requests for the pages, never <code>null</code>
+	 * @param itemsField the name of the array listing the items of a page, e.g.
+	 * <code>processes</code>
+	 * @param idField the name of the member identifying an item, e.g. <code>id</code>
+	 */
+	public PagedListWalker(RequestExecutor executor, String itemsField, String idField) {
+		this(executor, itemsField, idField, false);
+	}
+
+	/**
+	 * @param executor executes the requests for the pages, never <code>null</code>
+	 * @param itemsField the name of the array listing the items of a page, e.g.
+	 * <code>processes</code>
+	 * @param idField the name of the member identifying an item, e.g. <code>id</code>
+	 * @param changing <code>true</code> if the list may change while it is walked;
+	 * duplicate items and a mismatching <code>numberMatched</code> are then reported as
+	 * warnings
+	 */
+	public PagedListWalker(RequestExecutor executor, String itemsField, String idField, boolean changing) {
+		this.executor = executor;
+		this.itemsField = itemsField;
+		this.idField = idField;
+		this.changing = changing;
+	}
+
+	/**
+	 * Walks all pages, starting with the given one.
+	 * @param firstPageUri the URI of the first page, never <code>null</code>
+	 * @param limit the number of items requested per page; a value less or equal to 0
+	 * means the number of items on a page is not checked
+	 * @return the result of the walk, never <code>null</code>
+	 * @throws IOException if a page could not be retrieved or is not a JSON object
+	 */
+	public Result walk(String firstPageUri, int limit) throws IOException {
+		Result result = new Result();
+		LongHashSet ids = new LongHashSet();
+		LongHashSet pageUris = new LongHashSet();
+		String pageUri = firstPageUri;
+		while (pageUri != null) {
+			int pageNumber = result.getPageCount() + 1;
+			if (!pageUris.add(pageUri)) {
+				result.addProblem("The next link of page " + result.getPageCount() + " leads back to " + pageUri);
+				break;
+			}
+			if (pageNumber > MAX_PAGES) {
+				result.addProblem("Stopped walking after " + MAX_PAGES + " pages");
+				break;
+			}
+			HttpGet request = new HttpGet(pageUri);
+			request.setHeader("Accept", "application/json");
+			result.lastPageUri = pageUri;
+			long start = System.nanoTime();
+			HttpResponse response = executor.execute(request);
+			Page page;
+			try {
+				HttpEntity entity = response.getEntity();
+				int status = response.getStatusLine().getStatusCode();
+				if (status != HttpStatus.SC_OK || entity == null) {
+					result.addProblem("Page " + pageNumber + " (" + pageUri + ") was answered with status " + status
+							+ (entity == null ? " and no content" : ""));
+					result.lastPageContent = entity != null ? EntityUtils.toString(entity) : "";
+					break;
+				}
+				try (BoundedCaptureInputStream content = new BoundedCaptureInputStream(entity.getContent(),
+						MAX_CAPTURE_LENGTH)) {
+					try {
+						page = readPage(content, pageNumber, ids, result);
+					}
+					finally {
+						result.lastPageContent = content.getCapturedContent();
+					}
+				}
+			}
+			finally {
+				EntityUtils.consumeQuietly(response.getEntity());
+			}
+			result.addPage(System.nanoTime() - start, page.itemCount);
+			if (limit > 0 && page.itemCount > limit) {
+				result.addProblem("Page " + pageNumber + " lists " + page.itemCount + " items, but only " + limit
+						+ " were requested");
+			}
+			if (page.numberReturned >= 0 && page.numberReturned != page.itemCount) {
+				result.addProblem("Page " + pageNumber + " states numberReturned " + page.numberReturned
+						+ ", but lists " + page.itemCount + " items");
+			}
+			if (page.numberMatched >= 0 && result.numberMatched < 0) {
+				result.numberMatched = page.numberMatched;
+			}
+			if (page.nextHref != null && page.itemCount == 0) {
+				result.addProblem("Page " + pageNumber + " lists no items, but links to a next page");
+			}
+			pageUri = page.nextHref != null ? URI.create(pageUri).resolve(page.nextHref).toString() : null;
+		}
+		result.distinctItemCount = ids.size();
+		if (result.numberMatched >= 0 && result.numberMatched != result.distinctItemCount) {
+			addInconsistency(result, "The first page states numberMatched " + result.numberMatched + ", but "
+					+ result.distinctItemCount + " distinct items were listed");
+		}
+		return result;
+	}
+
+	private Page readPage(BoundedCaptureInputStream content, int pageNumber, LongHashSet ids, Result result)
+			throws IOException {
+		Page page = new Page();
+		try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Page " + pageNumber + " is not a JSON object");
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken token = parser.nextToken();
+				if (itemsField.equals(field) && token == JsonToken.START_ARRAY) {
+					readItems(parser, page, pageNumber, ids, result);
+				}
+				else if (LINKS_FIELD.equals(field) && token == JsonToken.START_ARRAY) {
+					while (parser.nextToken() != JsonToken.END_ARRAY) {
+						JsonNode link = parser.readValueAsTree();
+						if (page.nextHref == null && NEXT_REL.equals(link.path("rel").asText())
+								&& link.hasNonNull("href")) {
+							page.nextHref = link.get("href").asText();
+						}
+					}
+				}
+				else if (NUMBER_MATCHED_FIELD.equals(field) && token == JsonToken.VALUE_NUMBER_INT) {
+					page.numberMatched = parser.getLongValue();
+				}
+				else if (NUMBER_RETURNED_FIELD.equals(field) && token == JsonToken.VALUE_NUMBER_INT) {
+					page.numberReturned = parser.getLongValue();
+				}
+				else {
+					parser.skipChildren();
+				}
+			}
+		}
+		return page;
+	}
+
+	private void readItems(JsonParser parser, Page page, int pageNumber, LongHashSet ids, Result result)
+			throws IOException {
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			page.itemCount++;
+			String id = null;
+			if (parser.currentToken() == JsonToken.START_OBJECT) {
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String field = parser.getCurrentName();
+					if (parser.nextToken() == JsonToken.VALUE_STRING && idField.equals(field)) {
+						id = parser.getText();
+					}
+					else {
+						parser.skipChildren();
+					}
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+			if (id == null) {
+				result.addProblem("Item " + page.itemCount + " of page " + pageNumber + " has no '" + idField + "'");
+			}
+			else if (!ids.add(id)) {
+				result.duplicateCount++;
+				addInconsistency(result, "Item '" + id + "' of page " + pageNumber + " was listed before");
+			}
+		}
+	}
+
+	private void addInconsistency(Result result, String inconsistency) {
+		if (changing) {
+			result.addWarning(inconsistency);
+		}
+		else {
+			result.addProblem(inconsistency);
+		}
+	}
+
+	private static class Page {
+
+		private int itemCount;
+
+		private String nextHref;
+
+		private long numberMatched = -1;
+
+		private long numberReturned = -1;
+
+	}
+
+	/**
+	 * The result of walking the pages of a list.
+	 */
+	public static class Result {
+
+		private final List<String> problems = new ArrayList<>();
+
+		private int problemCount;
+
+		private final List<String> warnings = new ArrayList<>();
+
+		private int warningCount;
+
+		private long[] pageLatencies = new long[16];
+
+		private int pageCount;
+
+		private long itemCount;
+
+		private long distinctItemCount;
+
+		private long duplicateCount;
+
+		private long numberMatched = -1;
+
+		private String lastPageUri;
+
+		private String lastPageContent;
+
+		private void addPage(long latencyNanos, int pageItemCount) {
+			if (pageCount == pageLatencies.length) {
+				pageLatencies = Arrays.copyOf(pageLatencies, pageCount * 2);
+			}
+			pageLatencies[pageCount++] = latencyNanos;
+			itemCount += pageItemCount;
+		}
+
+		private void addProblem(String problem) {
+			if (problemCount++ < MAX_REPORTED_PROBLEMS) {
+				problems.add(problem);
+			}
+		}
+
+		private void addWarning(String warning) {
+			if (warningCount++ < MAX_REPORTED_PROBLEMS) {
+				warnings.add(warning);
+			}
+		}
+
+		/**
+		 * @return <code>true</code> if no problem was found, warnings are not considered
+		 */
+		public boolean isConsistent() {
+			return problemCount == 0;
+		}
+
+		/**
+		 * @return the first problems found (unmodifiable), the number of all problems is
+		 * given by {@link #getProblemCount()}
+		 */
+		public List<String> getProblems() {
+			return Collections.unmodifiableList(problems);
+		}
+
+		/**
+		 * @return the number of problems found
+		 */
+		public int getProblemCount() {
+			return problemCount;
+		}
+
+		/**
+		 * @return the first warnings found (unmodifiable), i.e. inconsistencies explained
+		 * by a list changing while it is walked; the number of all warnings is given by
+		 * {@link #getWarningCount()}
+		 */
+		public List<String> getWarnings() {
+			return Collections.unmodifiableList(warnings);
+		}
+
+		/**
+		 * @return the number of warnings found
+		 */
+		public int getWarningCount() {
+			return warningCount;
+		}
+
+		/**
+		 * @return the number of pages read
+		 */
+		public int getPageCount() {
+			return pageCount;
+		}
+
+		/**
+		 * @return the number of items listed on all pages read, including duplicates
+		 */
+		public long getItemCount() {
+			return itemCount;
+		}
+
+		/**
+		 * @return the number of distinct items listed
+		 */
+		public long getDistinctItemCount() {
+			return distinctItemCount;
+		}
+
+		/**
+		 * @return the number of items listed more than once
+		 */
+		public long getDuplicateCount() {
+			return duplicateCount;
+		}
+
+		/**
+		 * @return the latency in milliseconds of each page read, in the order of the
+		 * pages
+		 */
+		public long[] getPageLatencies() {
+			long[] latencies = new long[pageCount];
+			for (int i = 0; i < pageCount; i++) {
+				latencies[i] = TimeUnit.NANOSECONDS.toMillis(pageLatencies[i]);
+			}
+			return latencies;
+		}
+
+		/**
+		 * @return the URI of the last page requested, may be <code>null</code>
+		 */
+		public String getLastPageUri() {
+			return lastPageUri;
+		}
+
+		/**
+		 * @return the beginning of the content of the last page requested, may be
+		 * <code>null</code>
+		 */
+		public String getLastPageContent() {
+			return lastPageContent;
+		}
+
+		/**
+		 * @return a summary of the walk and the problems found
+		 */
+		@Override
+		public String toString() {
+			StringBuilder summary = new StringBuilder();
+			summary.append(itemCount)
+				.append(" items (")
+				.append(distinctItemCount)
+				.append(" distinct) on ")
+				.append(pageCount)
+				.append(" pages");
+			if (pageCount > 0) {
+				long[] latencies = getPageLatencies();
+				Arrays.sort(latencies);
+				summary.append(", page latency min/median/max ")
+					.append(latencies[0])
+					.append("/")
+					.append(latencies[pageCount / 2])
+					.append("/")
+					.append(latencies[pageCount - 1])
+					.append(" ms");
+			}
+			if (problemCount > 0) {
+				summary.append(", ").append(problemCount).append(" problems:");
+				for (String problem : problems) {
+					summary.append("\n").append(problem);
+				}
+				if (problemCount > problems.size()) {
+					summary.append("\n...");
+				}
+			}
+			if (warningCount > 0) {
+				summary.append(", ").append(warningCount).append(" warnings:");
+				for (String warning : warnings) {
+					summary.append("\n").append(warning);
+				}
+				if (warningCount > warnings.size()) {
+					summary.append("\n...");
+				}
+			}
+			return summary.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,109 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A parsed media type in a canonical form: type, subtype and parameters are lower case,
+ * surrounding white space and the quotes of parameter values are removed, and the
+ * distinct parameters are sorted. Two media types are the same if their canonical forms
+ * are equal, e.g. <code>text/html; charset="UTF-8"</code> and
+ * <code>TEXT/HTML;charset=utf-8</code>.
+ *
+ * <p>
+ * Parsed media types are interned: parsing the same string again returns the same
+ * instance without parsing it, as long as no more than {@link #MAX_INTERNED} distinct
+ * strings were parsed.
+ * </p>
+ */
+public final class ParsedMediaType {
+
+	/**
+	 * Maximum number of distinct media type strings kept, so that media types sent by the
+	 * IUT cannot grow the table without bound.
+	 */
+	static final int MAX_INTERNED = 1024;
+
+	private static final ConcurrentMap<String, ParsedMediaType> INTERNED = new ConcurrentHashMap<>();
+
+	private final String canonical;
+
+	private final String typeAndSubtype;
+
+	private ParsedMediaType(String canonical, String typeAndSubtype) {
+		this.canonical = canonical;
+		this.typeAndSubtype = typeAndSubtype;
+	}
+
+	/**
+	 * Parses the given media type.
+	 * @param mediaType the media type, never <code>null</code>
+	 * @return the parsed media type, never <code>null</code>
+	 */
+	public static ParsedMediaType parse(String mediaType) {
+		ParsedMediaType parsed = INTERNED.get(mediaType);
+		if (parsed == null) {
+			parsed = create(mediaType);
+			if (INTERNED.size() < MAX_INTERNED) {
+				ParsedMediaType interned = INTERNED.putIfAbsent(mediaType, parsed);
+				if (interned != null) {
+					parsed = interned;
+				}
+			}
+		}
+		return parsed;
+	}
+
+	private static ParsedMediaType create(String mediaType) {
+		// media types are not case sensitive
+		String[] components = mediaType.toLowerCase(Locale.ROOT).split(";");
+		String typeAndSubtype = components[0].trim();
+		Set<String> parameters = new TreeSet<>();
+		for (int i = 1; i < components.length; i++) {
+			String parameter = components[i].trim().replace("\"", "");
+			if (!parameter.isEmpty()) {
+				parameters.add(parameter);
+			}
+		}
+		if (parameters.isEmpty()) {
+			return new ParsedMediaType(typeAndSubtype, typeAndSubtype);
+		}
+		return new ParsedMediaType(typeAndSubtype + ";" + String.join(";", parameters), typeAndSubtype);
+	}
+
+	/**
+	 * @return the type and subtype in lower case, without parameters
+	 */
+	public String getTypeAndSubtype() {
+		return typeAndSubtype;
+	}
+
+	/**
+	 * @return the canonical form of this media type
+	 */
+	public String getCanonical() {
+		return canonical;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean equals(Object o) {
+		return this == o || (o instanceof ParsedMediaType && canonical.equals(((ParsedMediaType) o).canonical));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int hashCode() {
+		return canonical.hashCode();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString() {
+		return canonical;
+	}
+
+}
@@ -0,0 +1,22 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.io.IOException;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Executes a request to the IUT, e.g. through the test fixture, so that the exchange is
+ * captured and timed for the test method invocation.
+ */
+@FunctionalInterface
+public interface RequestExecutor {
+
+	/**
+	 * @param request the request to execute, never <code>null</code>
+	 * @return the response to the request
+	 * @throws IOException in case of a problem or the connection was aborted
+	 */
+	HttpResponse execute(HttpUriRequest request) throws IOException;
+
+}
@@ -0,0 +1,107 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+
+import com.networknt.schema.uri.URIFetcher;
+import com.networknt.schema.uri.URLFetcher;
+
+/**
+ * A catalog of JSON schemas bundled with the ETS. Remote schema URIs listed in the
+ * catalog are resolved to local copies on the classpath, all other URIs are retrieved
+ * from the network.
+ *
+ * <p>
+ * The catalog is read from <code>schemas/catalog.properties</code>, which maps URI
+ * prefixes of remote schemas to classpath locations of the local copies.
+ * </p>
+ *
+ * <p>
+ * The local copies are derived from the OpenAPI definition bundled with the ETS and are
+ * not verbatim copies of the published schemas. The catalog is therefore used only if
+ * requested with the {@link org.opengis.cite.ogcapiprocesses10.TestRunArg#SCHEMACATALOG
+ * schemacatalog} test run argument.
+ * </p>
+ */
+public class SchemaCatalog implements URIFetcher {
+
+	private static final String CATALOG = "/org/opengis/cite/ogcapiprocesses10/schemas/catalog.properties";
+
+	private static final SchemaCatalog INSTANCE = new SchemaCatalog(loadMappings());
+
+	private final Map<String, String> mappings;
+
+	private final URIFetcher remoteFetcher = new URLFetcher();
+
+	SchemaCatalog(Map<String, String> mappings) {
+		this.mappings = Collections.unmodifiableMap(new LinkedHashMap<>(mappings));
+	}
+
+	/**
+	 * @return the catalog of the schemas bundled with the ETS, never <code>null</code>
+	 */
+	public static SchemaCatalog getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Looks up the local copy of the schema located at the given URI.
+	 * @param schemaUri the URI of the schema, never <code>null</code>
+	 * @return the URL of the local copy, <code>null</code> if the catalog does not
+	 * contain the schema
+	 */
+	public URL findLocalCopy(URI schemaUri) {
+		String uri = schemaUri.toString();
+		int fragment = uri.indexOf('#');
+		if (fragment >= 0) {
+			uri = uri.substring(0, fragment);
+		}
+		for (Map.Entry<String, String> mapping : mappings.entrySet()) {
+			if (uri.startsWith(mapping.getKey())) {
+				String resource = mapping.getValue() + uri.substring(mapping.getKey().length());
+				URL localCopy = SchemaCatalog.class.getResource(resource);
+				if (localCopy != null) {
+					return localCopy;
+				}
+			}
+		}
+		return null;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public InputStream fetch(URI uri) throws IOException {
+		URL localCopy = findLocalCopy(uri);
+		if (localCopy != null) {
+			return localCopy.openStream();
+		}
+		return remoteFetcher.fetch(uri);
+	}
+
+	private static Map<String, String> loadMappings() {
+		Map<String, String> mappings = new LinkedHashMap<>();
+		try (InputStream catalog = SchemaCatalog.class.getResourceAsStream(CATALOG)) {
+			if (catalog == null) {
+				TestSuiteLogger.log(Level.WARNING, "Schema catalog not found: " + CATALOG);
+				return mappings;
+			}
+			Properties properties = new Properties();
+			properties.load(catalog);
+			for (String prefix : properties.stringPropertyNames()) {
+				mappings.put(prefix, properties.getProperty(prefix).trim());
+			}
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not read schema catalog " + CATALOG, e);
+		}
+		return mappings;
+	}
+
+}
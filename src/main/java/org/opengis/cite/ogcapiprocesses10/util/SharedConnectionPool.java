@@ -0,0 +1,120 @@
+package org.opengis.cite.ogcapiprocesses10.util;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * A pooled HTTP client shared by the test runs against the same host in this JVM. Every
+ * test run leases the client and adds the number of connections per route it needs to the
+ * pool; closing the lease removes them again. The client is closed and forgotten when its
+ * last lease is closed.
+ */
+class SharedConnectionPool {
+
+	private static final Map<String, SharedConnectionPool> POOLS = new HashMap<>();
+
+	private final String host;
+
+	private final PoolingHttpClientConnectionManager connectionManager;
+
+	private final CloseableHttpClient client;
+
+	private int leaseCount;
+
+	private int maxConnectionsPerRoute;
+
+	private SharedConnectionPool(String host) {
+		this.host = host;
+		this.connectionManager = new PoolingHttpClientConnectionManager(
+				ExchangeTimingInstrumentation.createSocketFactoryRegistry(),
+				ExchangeTimingInstrumentation.createDnsResolver());
+		this.client = ClientUtils.buildPooledHttpClient(connectionManager);
+	}
+
+	/**
+	 * Leases the client shared by the test runs against the given host.
+	 * @param host the scheme and authority of the host, never <code>null</code>
+	 * @param maxConnectionsPerRoute the number of connections per route needed by the
+	 * test run, greater than 0
+	 * @return the lease of the client, must be closed at the end of the test run
+	 */
+	static CloseableHttpClient lease(String host, int maxConnectionsPerRoute) {
+		synchronized (POOLS) {
+			SharedConnectionPool pool = POOLS.computeIfAbsent(host, SharedConnectionPool::new);
+			pool.leaseCount++;
+			pool.maxConnectionsPerRoute += maxConnectionsPerRoute;
+			ClientUtils.setMaxConnectionsPerRoute(pool.connectionManager, pool.maxConnectionsPerRoute);
+			return new Lease(pool, maxConnectionsPerRoute);
+		}
+	}
+
+	private void release(int maxConnectionsPerRoute) throws IOException {
+		synchronized (POOLS) {
+			leaseCount--;
+			this.maxConnectionsPerRoute -= maxConnectionsPerRoute;
+			if (leaseCount > 0) {
+				ClientUtils.setMaxConnectionsPerRoute(connectionManager, this.maxConnectionsPerRoute);
+				return;
+			}
+			POOLS.remove(host);
+		}
+		client.close();
+	}
+
+	private static class Lease extends CloseableHttpClient {
+
+		private final SharedConnectionPool pool;
+
+		private final int maxConnectionsPerRoute;
+
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private Lease(SharedConnectionPool pool, int maxConnectionsPerRoute) {
+			this.pool = pool;
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context)
+				throws IOException {
+			if (closed.get()) {
+				throw new IllegalStateException("Connection pool shut down");
+			}
+			return pool.client.execute(target, request, context);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void close() throws IOException {
+			if (closed.compareAndSet(false, true)) {
+				pool.release(maxConnectionsPerRoute);
+			}
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		@SuppressWarnings("deprecation")
+		public org.apache.http.params.HttpParams getParams() {
+			return pool.client.getParams();
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		@SuppressWarnings("deprecation")
+		public org.apache.http.conn.ClientConnectionManager getConnectionManager() {
+			return pool.client.getConnectionManager();
+		}
+
+	}
+
+}
@@ -0,0 +1,71 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.CallbackReceiver;
+import org.opengis.cite.ogcapiprocesses10.CallbackReceiver.Subscription;
+
+public class CallbackReceiverTest {
+
+	private CallbackReceiver callbackReceiver;
+
+	@Before
+	public void startCallbackReceiver() throws IOException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		callbackReceiver = new CallbackReceiver(URI.create("http://localhost:" + port + "/ets"));
+	}
+
+	@After
+	public void closeCallbackReceiver() {
+		callbackReceiver.close();
+	}
+
+	@Test
+	public void testCallback_success() throws Exception {
+		Subscription subscription = callbackReceiver.subscribe();
+		assertEquals(204, post(subscription.getInProgressUri()));
+		assertFalse(subscription.getCallback().isDone());
+		assertEquals(204, post(subscription.getSuccessUri()));
+		assertEquals("success", subscription.getCallback().get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testCallback_cancelled() throws Exception {
+		Subscription subscription = callbackReceiver.subscribe();
+		subscription.cancel();
+		assertEquals(404, post(subscription.getFailedUri()));
+		assertFalse(subscription.getCallback().isDone());
+	}
+
+	@Test
+	public void testToSubscriberNode() {
+		Subscription subscription = callbackReceiver.subscribe();
+		assertTrue(subscription.toSubscriberNode().get("successUri").asText().contains("/ets/callbacks/"));
+	}
+
+	private static int post(URI uri) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+		try {
+			connection.setRequestMethod("POST");
+			connection.setDoOutput(true);
+			connection.getOutputStream().write("{}".getBytes());
+			return connection.getResponseCode();
+		}
+		finally {
+			connection.disconnect();
+		}
+	}
+
+}
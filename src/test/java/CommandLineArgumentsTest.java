@@ -0,0 +1,43 @@
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.CommandLineArguments;
+
+import com.beust.jcommander.JCommander;
+
+public class CommandLineArgumentsTest {
+
+	@Test
+	public void testGetPropertiesFiles_filesAndDirectory() throws IOException {
+		Path dir = Files.createTempDirectory("ets-props");
+		Files.createFile(dir.resolve("node-2.xml"));
+		Files.createFile(dir.resolve("node-1.xml"));
+		Files.createFile(dir.resolve("README.txt"));
+		File single = Files.createTempFile("test-run-props", ".xml").toFile();
+		CommandLineArguments args = new CommandLineArguments();
+		new JCommander(args).parse("--concurrentRuns", "4", single.getPath(), dir.toString());
+
+		List<File> files = args.getPropertiesFiles();
+
+		assertEquals(Arrays.asList(single, dir.resolve("node-1.xml").toFile(), dir.resolve("node-2.xml").toFile()),
+				files);
+		assertEquals(Integer.valueOf(4), args.getConcurrentRuns());
+	}
+
+	@Test
+	public void testGetPropertiesFiles_default() {
+		CommandLineArguments args = new CommandLineArguments();
+		new JCommander(args).parse();
+
+		assertEquals(Arrays.asList(new File(System.getProperty("user.home"), "test-run-props.xml")),
+				args.getPropertiesFiles());
+	}
+
+}
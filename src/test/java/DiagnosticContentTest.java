@@ -0,0 +1,41 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.util.DiagnosticContent;
+
+public class DiagnosticContentTest {
+
+	@Test
+	public void testRender() {
+		DiagnosticContent content = new DiagnosticContent();
+		content.set("{\"id\":\"echo\"}");
+		assertEquals("{\n  \"id\" : \"echo\"\n}", content.render(4096));
+	}
+
+	@Test
+	public void testRenderTruncated() {
+		DiagnosticContent content = new DiagnosticContent();
+		content.set("{\"processes\":[");
+		for (int i = 0; i < 1000; i++) {
+			content.append(new ByteArrayInputStream("{\"id\":\"echo\"},".getBytes(StandardCharsets.UTF_8)));
+		}
+		String rendered = content.render(100);
+		assertTrue(rendered.startsWith("{\n  \"processes\" : [ {\n    \"id\" : \"echo\"\n  }"));
+		assertTrue(rendered.contains("\n[truncated, 15014 bytes, SHA-256 "));
+		assertTrue(rendered.endsWith("]"));
+	}
+
+	@Test
+	public void testRenderNotJson() {
+		DiagnosticContent content = new DiagnosticContent();
+		content.set("Internal Server Error");
+		assertEquals("Internal Server Error", content.render(4096));
+		content.set(null);
+		assertTrue(content.isEmpty());
+	}
+
+}
@@ -0,0 +1,87 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opengis.cite.ogcapiprocesses10.util.ExchangeCassette;
+import org.opengis.cite.ogcapiprocesses10.util.ExchangeCassette.Exchange;
+import org.opengis.cite.ogcapiprocesses10.util.ExchangeCassette.Mode;
+
+public class ExchangeCassetteTest {
+
+	private static final Header[] ACCEPT_JSON = { new BasicHeader("Accept", "application/json") };
+
+	private static final Header[] CONTENT_TYPE_JSON = { new BasicHeader("Content-Type", "application/json"),
+			new BasicHeader("Content-Length", "42") };
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testReplay_inRecordedOrder() throws IOException {
+		Path directory = folder.getRoot().toPath();
+		try (ExchangeCassette cassette = ExchangeCassette.open(directory, Mode.RECORD)) {
+			record(cassette, "GET", "https://example.org/jobs/1", null, "{\"status\":\"running\"}");
+			record(cassette, "GET", "https://example.org/jobs/1", null, "{\"status\":\"successful\"}");
+		}
+		try (ExchangeCassette cassette = ExchangeCassette.open(directory, Mode.REPLAY)) {
+			assertEquals("{\"status\":\"running\"}", replay(cassette, "GET", "https://example.org/jobs/1", null));
+			assertEquals("{\"status\":\"successful\"}", replay(cassette, "GET", "https://example.org/jobs/1", null));
+			assertEquals("{\"status\":\"successful\"}", replay(cassette, "GET", "https://example.org/jobs/1", null));
+		}
+	}
+
+	@Test
+	public void testReplay_ignoringUuidsAndBody() throws IOException {
+		Path directory = folder.getRoot().toPath();
+		try (ExchangeCassette cassette = ExchangeCassette.open(directory, Mode.RECORD)) {
+			record(cassette, "POST", "https://example.org/processes/63d0f6e4-3c2b-4a7e-9d56-0b8f0e1c2a3b/execution",
+					"abc", "{\"type\":\"exception\"}");
+		}
+		try (ExchangeCassette cassette = ExchangeCassette.open(directory, Mode.REPLAY)) {
+			assertEquals("{\"type\":\"exception\"}", replay(cassette, "POST",
+					"https://example.org/processes/0e4f1b9a-7c3d-4e2f-8a6b-5d9c1e0f2a4b/execution", "xyz"));
+			assertNull(cassette.find("GET", "https://example.org/processes", ACCEPT_JSON, null));
+		}
+	}
+
+	@Test
+	public void testRecord_withoutTransferHeaders() throws IOException {
+		Path directory = folder.getRoot().toPath();
+		try (ExchangeCassette cassette = ExchangeCassette.open(directory, Mode.RECORD)) {
+			record(cassette, "GET", "https://example.org/", null, "{}");
+		}
+		try (ExchangeCassette cassette = ExchangeCassette.open(directory, Mode.REPLAY)) {
+			Exchange exchange = cassette.find("GET", "https://example.org/", ACCEPT_JSON, null);
+			assertArrayEquals(new String[] { "Content-Type" },
+					Arrays.stream(exchange.getResponseHeaders()).map(Header::getName).toArray());
+			assertEquals(200, exchange.getStatus());
+		}
+	}
+
+	private static void record(ExchangeCassette cassette, String method, String uri, String requestBody,
+			String responseBody) throws IOException {
+		String responseBodyHash = cassette
+			.storeBody(new ByteArrayInputStream(responseBody.getBytes(StandardCharsets.UTF_8)));
+		cassette.record(
+				new Exchange(method, uri, ACCEPT_JSON, requestBody, 200, "OK", CONTENT_TYPE_JSON, responseBodyHash));
+	}
+
+	private static String replay(ExchangeCassette cassette, String method, String uri, String requestBody)
+			throws IOException {
+		Exchange exchange = cassette.find(method, uri, ACCEPT_JSON, requestBody);
+		return Files.readString(cassette.getBody(exchange.getResponseBodyHash()));
+	}
+
+}
@@ -0,0 +1,40 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.ExchangeTiming;
+import org.opengis.cite.ogcapiprocesses10.ExchangeTiming.Phase;
+
+public class ExchangeTimingTest {
+
+	@Test
+	public void testAdd() {
+		ExchangeTiming timing = new ExchangeTiming("GET", "https://example.org/processes?limit=10");
+		assertEquals(-1, timing.get(Phase.DNS));
+		timing.add(Phase.DOWNLOAD, 2000000);
+		timing.add(Phase.DOWNLOAD, 1000000);
+		timing.add(Phase.PARSE, -5);
+		assertEquals(3000000, timing.get(Phase.DOWNLOAD));
+		assertEquals(0, timing.get(Phase.PARSE));
+	}
+
+	@Test
+	public void testFinish() {
+		ExchangeTiming timing = new ExchangeTiming("GET", "https://example.org/processes");
+		timing.finish();
+		long total = timing.get(Phase.TOTAL);
+		assertTrue(total >= 0);
+		timing.finish();
+		assertEquals(total, timing.get(Phase.TOTAL));
+	}
+
+	@Test
+	public void testToString() {
+		ExchangeTiming timing = new ExchangeTiming("POST", "https://example.org/processes/echo/execution?f=json");
+		timing.setStatusCode(201);
+		timing.add(Phase.TTFB, 12500000);
+		assertEquals("POST https://example.org/processes/echo/execution", timing.getEndpoint());
+		assertEquals("POST https://example.org/processes/echo/execution?f=json 201: ttfb 12.5 ms", timing.toString());
+	}
+
+}
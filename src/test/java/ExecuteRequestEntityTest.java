@@ -0,0 +1,71 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.jobs.BinaryInputValue;
+import org.opengis.cite.ogcapiprocesses10.jobs.ExecuteRequestEntity;
+import org.opengis.cite.ogcapiprocesses10.jobs.SyntheticRaster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class ExecuteRequestEntityTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	public void testWriteTo() throws Exception {
+		ExecuteRequestEntity entity = new ExecuteRequestEntity(createExecuteNode(100000));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		entity.writeTo(out);
+		JsonNode written = objectMapper.readTree(out.toByteArray());
+		byte[] value = written.get("inputs").get("binaryInput").get("value").binaryValue();
+		try (InputStream raster = new SyntheticRaster(100000)) {
+			assertArrayEquals(raster.readAllBytes(), value);
+		}
+		assertEquals("base64", written.get("inputs").get("binaryInput").get("format").get("encoding").asText());
+		assertTrue(entity.isChunked());
+		assertEquals(-1, entity.getContentLength());
+	}
+
+	@Test
+	public void testGetContent() throws Exception {
+		ExecuteRequestEntity entity = new ExecuteRequestEntity(createExecuteNode(100000));
+		String content = new String(entity.getContent().readAllBytes(), StandardCharsets.UTF_8);
+		assertTrue(content.contains("<base64 encoded synthetic raster>"));
+	}
+
+	@Test
+	public void testSyntheticRaster() throws Exception {
+		SyntheticRaster raster = new SyntheticRaster(100000);
+		byte[] bytes = raster.readAllBytes();
+		assertEquals(raster.getLength(), bytes.length);
+		assertTrue(bytes.length >= 100000);
+		assertEquals('I', bytes[0]);
+		assertEquals(42, bytes[2]);
+	}
+
+	@Test
+	public void testEquals() {
+		JsonNode executeNode = createExecuteNode(100000);
+		assertEquals(executeNode, createExecuteNode(100000));
+		assertEquals(executeNode.hashCode(), createExecuteNode(100000).hashCode());
+		assertNotEquals(executeNode, createExecuteNode(200000));
+	}
+
+	private JsonNode createExecuteNode(long size) {
+		ObjectNode executeNode = objectMapper.createObjectNode();
+		ObjectNode inputNode = executeNode.putObject("inputs").putObject("binaryInput");
+		inputNode.putPOJO("value", new BinaryInputValue(() -> new SyntheticRaster(size), size, "synthetic raster"));
+		inputNode.putObject("format").put("encoding", "base64");
+		return executeNode;
+	}
+
+}
@@ -0,0 +1,237 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.message.BasicHeader;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.JobMonitor;
+
+import com.sun.net.httpserver.HttpServer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JobMonitorTest {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private static JobMonitor jobMonitor;
+
+	@BeforeClass
+	public static void createJobMonitor() {
+		jobMonitor = new JobMonitor(null, 1, 1);
+	}
+
+	@AfterClass
+	public static void closeJobMonitor() {
+		jobMonitor.close();
+	}
+
+	@Test
+	public void testAwaitCompletion_finished() throws IOException {
+		JsonNode statusInfo = OBJECT_MAPPER.readTree("{\"jobID\":\"1\",\"status\":\"successful\",\"links\":[{"
+				+ "\"rel\":\"http://www.opengis.net/def/rel/ogc/1.0/results\",\"href\":\"https://example.org/jobs/1/results\"}]}");
+		assertSame(statusInfo, jobMonitor.awaitCompletion(null, statusInfo));
+		assertFalse(JobMonitor.isFailed(statusInfo));
+		assertEquals("https://example.org/jobs/1/results", JobMonitor.getResultsLink(statusInfo));
+	}
+
+	@Test
+	public void testAwaitCompletion_failed() throws IOException {
+		JsonNode statusInfo = OBJECT_MAPPER.readTree("{\"jobID\":\"1\",\"status\":\"failed\"}");
+		assertSame(statusInfo, jobMonitor.awaitCompletion(null, statusInfo));
+		assertTrue(JobMonitor.isFailed(statusInfo));
+		assertNull(JobMonitor.getResultsLink(statusInfo));
+	}
+
+	@Test(expected = IOException.class)
+	public void testAwaitCompletion_noStatusLink() throws IOException {
+		JsonNode statusInfo = OBJECT_MAPPER.readTree("{\"jobID\":\"1\",\"status\":\"running\",\"links\":[]}");
+		jobMonitor.awaitCompletion(null, statusInfo);
+	}
+
+	@Test
+	public void testIsFinished() throws IOException {
+		assertFalse(JobMonitor.isFinished(OBJECT_MAPPER.readTree("{\"status\":\"accepted\"}")));
+		assertFalse(JobMonitor.isFinished(OBJECT_MAPPER.readTree("{\"status\":\"running\"}")));
+		assertTrue(JobMonitor.isFinished(OBJECT_MAPPER.readTree("{\"status\":\"dismissed\"}")));
+	}
+
+	@Test
+	public void testNextDelay() {
+		long delay = JobMonitor.INITIAL_DELAY;
+		List<Long> delays = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			delays.add(delay);
+			delay = JobMonitor.nextDelay(delay);
+		}
+		assertEquals(List.of(50L, 100L, 200L, 400L, 800L, 1600L, 3200L, 5000L, 5000L, 5000L), delays);
+		assertEquals(JobMonitor.MAX_DELAY, JobMonitor.nextDelay(JobMonitor.MAX_DELAY));
+	}
+
+	@Test
+	public void testParseRetryAfter_deltaSeconds() {
+		assertEquals(3000, JobMonitor.parseRetryAfter(new BasicHeader("Retry-After", "3")));
+		assertEquals(0, JobMonitor.parseRetryAfter(new BasicHeader("Retry-After", "0")));
+		assertEquals(0, JobMonitor.parseRetryAfter(new BasicHeader("Retry-After", "-5")));
+	}
+
+	@Test
+	public void testParseRetryAfter_httpDate() {
+		String inTenSeconds = DateUtils.formatDate(new Date(System.currentTimeMillis() + 10000));
+		long retryAfter = JobMonitor.parseRetryAfter(new BasicHeader("Retry-After", inTenSeconds));
+		// HTTP-dates have a resolution of one second
+		assertTrue(String.valueOf(retryAfter), retryAfter > 8000 && retryAfter <= 10000);
+	}
+
+	@Test
+	public void testParseRetryAfter_pastHttpDate() {
+		String past = DateUtils.formatDate(new Date(System.currentTimeMillis() - 60000));
+		assertEquals(0, JobMonitor.parseRetryAfter(new BasicHeader("Retry-After", past)));
+	}
+
+	@Test
+	public void testParseRetryAfter_invalid() {
+		assertEquals(0, JobMonitor.parseRetryAfter(null));
+		assertEquals(0, JobMonitor.parseRetryAfter(new BasicHeader("Retry-After", "soon")));
+		assertEquals(0, JobMonitor.parseRetryAfter(new BasicHeader("Retry-After", "")));
+	}
+
+	@Test
+	public void testAwaitCompletion_exponentialBackoff() throws IOException {
+		try (ScriptedJob job = new ScriptedJob()) {
+			for (int i = 0; i < 4; i++) {
+				job.respond("running", null);
+			}
+			job.respond("successful", null);
+			try (JobMonitor monitor = new JobMonitor(job.client, 10, 2)) {
+				JsonNode statusInfo = monitor.awaitCompletion(job.statusUri, job.running());
+				assertEquals("successful", statusInfo.get("status").asText());
+			}
+			List<Long> intervals = job.getPollIntervals();
+			assertEquals(4, intervals.size());
+			long expected = JobMonitor.INITIAL_DELAY;
+			for (long interval : intervals) {
+				expected = JobMonitor.nextDelay(expected);
+				assertTrue(intervals.toString(), interval >= expected * 9 / 10);
+			}
+		}
+	}
+
+	@Test
+	public void testAwaitCompletion_retryAfter() throws IOException {
+		try (ScriptedJob job = new ScriptedJob()) {
+			job.respond("running", "1");
+			job.respond("successful", null);
+			try (JobMonitor monitor = new JobMonitor(job.client, 10, 2)) {
+				monitor.awaitCompletion(job.statusUri, job.running());
+			}
+			List<Long> intervals = job.getPollIntervals();
+			assertEquals(1, intervals.size());
+			assertTrue(intervals.toString(), intervals.get(0) >= 900);
+		}
+	}
+
+	@Test
+	public void testAwaitCompletion_timeout() throws IOException {
+		try (ScriptedJob job = new ScriptedJob()) {
+			job.respond("running", null);
+			long start = System.nanoTime();
+			try (JobMonitor monitor = new JobMonitor(job.client, 1, 2)) {
+				monitor.awaitCompletion(job.statusUri, job.running());
+				fail("Job that never finishes was completed.");
+			}
+			catch (IOException e) {
+				assertTrue(e.getMessage(), e.getMessage().contains("1 seconds"));
+			}
+			long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			assertTrue(String.valueOf(elapsed), elapsed >= 900 && elapsed < JobMonitor.MAX_DELAY);
+		}
+	}
+
+	/**
+	 * A job status served by an embedded HTTP server from a scripted sequence of status
+	 * documents; the last one is repeated.
+	 */
+	private static class ScriptedJob implements AutoCloseable {
+
+		private final HttpServer server;
+
+		private final Queue<String[]> responses = new ConcurrentLinkedQueue<>();
+
+		private final List<Long> polls = new CopyOnWriteArrayList<>();
+
+		private final CloseableHttpClient client = HttpClients.createDefault();
+
+		private final String statusUri;
+
+		private String[] lastResponse;
+
+		ScriptedJob() throws IOException {
+			server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/jobs/1", exchange -> {
+				polls.add(System.nanoTime());
+				String[] response = responses.poll();
+				if (response == null) {
+					response = lastResponse;
+				}
+				lastResponse = response;
+				byte[] body = ("{\"jobID\":\"1\",\"status\":\"" + response[0] + "\"}").getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				if (response[1] != null) {
+					exchange.getResponseHeaders().add("Retry-After", response[1]);
+				}
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			});
+			server.start();
+			statusUri = "http://localhost:" + server.getAddress().getPort() + "/jobs/1";
+		}
+
+		void respond(String status, String retryAfter) {
+			responses.add(new String[] { status, retryAfter });
+		}
+
+		JsonNode running() throws IOException {
+			return OBJECT_MAPPER.readTree("{\"jobID\":\"1\",\"status\":\"running\"}");
+		}
+
+		List<Long> getPollIntervals() {
+			List<Long> intervals = new ArrayList<>();
+			for (int i = 1; i < polls.size(); i++) {
+				intervals.add(TimeUnit.NANOSECONDS.toMillis(polls.get(i) - polls.get(i - 1)));
+			}
+			return intervals;
+		}
+
+		@Override
+		public void close() throws IOException {
+			client.close();
+			server.stop(0);
+		}
+
+	}
+
+}
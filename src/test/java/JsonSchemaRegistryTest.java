@@ -0,0 +1,58 @@
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.util.JsonSchemaRegistry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.ValidationMessage;
+
+public class JsonSchemaRegistryTest {
+
+	private static final String PROCESS_LIST_SCHEMA_URL = "https://schemas.opengis.net/ogcapi/processes/part1/1.0/openapi/schemas/processList.yaml";
+
+	@Test
+	public void testValidate_concurrently() throws Exception {
+		JsonSchemaRegistry.clear();
+		JsonNode valid = new ObjectMapper()
+			.readTree("{\"processes\":[{\"id\":\"echo\",\"version\":\"1.0.0\",\"links\":[]}],\"links\":[]}");
+		JsonNode invalid = new ObjectMapper().readTree("{\"processes\":[{\"version\":\"1.0.0\"}]}");
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Set<ValidationMessage>>> validResults = new ArrayList<>();
+			List<Future<Set<ValidationMessage>>> invalidResults = new ArrayList<>();
+			for (int i = 0; i < 32; i++) {
+				validResults
+					.add(executor.submit(() -> JsonSchemaRegistry.validate(PROCESS_LIST_SCHEMA_URL, valid, true)));
+				invalidResults
+					.add(executor.submit(() -> JsonSchemaRegistry.validate(PROCESS_LIST_SCHEMA_URL, invalid, true)));
+			}
+			for (Future<Set<ValidationMessage>> result : validResults) {
+				assertTrue(result.get().toString(), result.get().isEmpty());
+			}
+			for (Future<Set<ValidationMessage>> result : invalidResults) {
+				assertFalse(result.get().isEmpty());
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testGetSchema_compiledOnce() {
+		JsonSchemaRegistry.clear();
+		assertSame(JsonSchemaRegistry.getSchema(PROCESS_LIST_SCHEMA_URL, true),
+				JsonSchemaRegistry.getSchema(PROCESS_LIST_SCHEMA_URL, true));
+	}
+
+}
@@ -0,0 +1,45 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.load.LatencyHistogram;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testGetValueAtPercentile() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 10000; i++) {
+			histogram.record(i * 100L);
+		}
+		assertEquals(10000, histogram.getCount());
+		assertEquals(100, histogram.getMin());
+		assertEquals(1000000, histogram.getMax());
+		assertEquals(500050, histogram.getMean(), 0.001);
+		assertWithin(500000, histogram.getValueAtPercentile(50));
+		assertWithin(990000, histogram.getValueAtPercentile(99));
+		assertEquals(1000000, histogram.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void testGetValueAtPercentile_smallValues() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(3);
+		histogram.record(5);
+		histogram.record(-1);
+		assertEquals(0, histogram.getValueAtPercentile(0));
+		assertEquals(3, histogram.getValueAtPercentile(50));
+		assertEquals(5, histogram.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void testGetValueAtPercentile_empty() {
+		assertEquals(0, new LatencyHistogram().getValueAtPercentile(99));
+	}
+
+	private static void assertWithin(long expected, long actual) {
+		assertTrue("Expected about " + expected + " but was " + actual,
+				Math.abs(actual - expected) <= expected * 0.035);
+	}
+
+}
@@ -0,0 +1,33 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.util.MediaTypeMatcher;
+import org.opengis.cite.ogcapiprocesses10.util.ParsedMediaType;
+
+public class MediaTypeMatcherTest {
+
+	@Test
+	public void testParse_canonicalForm() {
+		assertEquals("text/html;charset=utf-8;level=1",
+				ParsedMediaType.parse(" TEXT/HTML; level=1 ;charset=\"UTF-8\"; ").getCanonical());
+		assertEquals("application/json", ParsedMediaType.parse("application/json;").getCanonical());
+		assertSame(ParsedMediaType.parse("application/geo+json"), ParsedMediaType.parse("application/geo+json"));
+	}
+
+	@Test
+	public void testAccepts() {
+		MediaTypeMatcher matcher = new MediaTypeMatcher(Arrays.asList("application/json", "text/html; charset=utf-8"));
+		assertTrue(matcher.accepts("Application/JSON"));
+		assertTrue(matcher.accepts("text/html;charset=\"UTF-8\""));
+		assertFalse(matcher.accepts("text/html"));
+		assertFalse(matcher.accepts("application/json; profile=x"));
+		assertFalse(matcher.accepts(null));
+		assertFalse(matcher.accepts(42));
+	}
+
+}
@@ -0,0 +1,80 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.util.MultipartStreamReader;
+import org.opengis.cite.ogcapiprocesses10.util.MultipartStreamReader.Part;
+
+public class MultipartStreamReaderTest {
+
+	private static final byte[] MARKER = "teststring".getBytes(StandardCharsets.US_ASCII);
+
+	@Test
+	public void testGetBoundary() {
+		assertEquals("b1", MultipartStreamReader.getBoundary("multipart/related; boundary=\"b1\"; type=text/plain"));
+		assertEquals("b2", MultipartStreamReader.getBoundary("multipart/related;Boundary=b2"));
+		assertNull(MultipartStreamReader.getBoundary("multipart/related"));
+	}
+
+	@Test
+	public void testNext() throws Exception {
+		String entity = "preamble\r\n--b1\r\nContent-Type: text/plain\r\n\r\nteststring\r\n--b1\r\n"
+				+ "Content-Type: application/json\r\n\r\n{\"a\":\r\n1}\r\n--b1--\r\nepilogue";
+		try (MultipartStreamReader reader = createReader(entity, "b1", 1024)) {
+			Part part = reader.next();
+			assertEquals("text/plain", part.getContentType());
+			assertEquals("teststring", read(part));
+			assertTrue(part.containsMarker());
+			part = reader.next();
+			assertEquals("{\"a\":\r\n1}", read(part));
+			assertFalse(part.containsMarker());
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	public void testNextWithoutBoundary() throws Exception {
+		String entity = "--b1\nContent-Type: text/plain\n\nabc\n--b1--\n";
+		try (MultipartStreamReader reader = createReader(entity, null, 1024)) {
+			assertEquals("abc", read(reader.next()));
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	public void testNextSpilled() throws Exception {
+		String content = "x".repeat(10000) + "teststring" + "y".repeat(10000);
+		String entity = "--b1\r\n\r\n" + content + "\r\n--b1--\r\n";
+		try (MultipartStreamReader reader = createReader(entity, "b1", 1024)) {
+			Part part = reader.next();
+			assertEquals(content.length(), part.getLength());
+			assertEquals(content, read(part));
+			assertTrue(part.containsMarker());
+		}
+	}
+
+	@Test
+	public void testContainsMarkerBase64() throws Exception {
+		String encoded = Base64.getMimeEncoder().encodeToString("a teststring".getBytes(StandardCharsets.US_ASCII));
+		String entity = "--b1\r\nContent-Transfer-Encoding: base64\r\n\r\n" + encoded + "\r\n--b1--\r\n";
+		try (MultipartStreamReader reader = createReader(entity, "b1", 1024)) {
+			assertTrue(reader.next().containsMarker());
+		}
+	}
+
+	private MultipartStreamReader createReader(String entity, String boundary, int memoryThreshold) {
+		return new MultipartStreamReader(new ByteArrayInputStream(entity.getBytes(StandardCharsets.UTF_8)), boundary,
+				MARKER, memoryThreshold);
+	}
+
+	private String read(Part part) throws Exception {
+		return new String(part.openContent().readAllBytes(), StandardCharsets.UTF_8);
+	}
+
+}
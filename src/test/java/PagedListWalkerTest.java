@@ -0,0 +1,101 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.util.PagedListWalker;
+import org.opengis.cite.ogcapiprocesses10.util.PagedListWalker.Result;
+
+public class PagedListWalkerTest {
+
+	private static final String BASE_URI = "https://example.org/jobs";
+
+	@Test
+	public void testWalk_consistentPages() throws IOException {
+		Map<String, String> pages = new HashMap<>();
+		pages.put(BASE_URI + "?limit=2", page("\"a\", \"b\"", "?limit=2&after=b", 3));
+		pages.put(BASE_URI + "?limit=2&after=b", page("\"c\"", null, -1));
+		Result result = walk(pages);
+		assertTrue(result.toString(), result.isConsistent());
+		assertEquals(2, result.getPageCount());
+		assertEquals(3, result.getDistinctItemCount());
+		assertEquals(2, result.getPageLatencies().length);
+	}
+
+	@Test
+	public void testWalk_duplicateAndMissingItems() throws IOException {
+		Map<String, String> pages = new HashMap<>();
+		pages.put(BASE_URI + "?limit=2", page("\"a\", \"b\"", "?limit=2&offset=2", 4));
+		pages.put(BASE_URI + "?limit=2&offset=2", page("\"b\", \"c\"", null, -1));
+		Result result = walk(pages);
+		assertFalse(result.isConsistent());
+		assertEquals(1, result.getDuplicateCount());
+		// b listed twice and numberMatched 4, but 3 distinct items
+		assertEquals(2, result.getProblemCount());
+	}
+
+	@Test
+	public void testWalk_changingList() throws IOException {
+		Map<String, String> pages = new HashMap<>();
+		pages.put(BASE_URI + "?limit=2", page("\"a\", \"b\"", "?limit=2&offset=2", 4));
+		pages.put(BASE_URI + "?limit=2&offset=2", page("\"b\", \"c\"", null, -1));
+		PagedListWalker walker = new PagedListWalker(request -> respond(pages, request), "jobs", "jobID", true);
+		Result result = walker.walk(BASE_URI + "?limit=2", 2);
+		assertTrue(result.toString(), result.isConsistent());
+		assertEquals(1, result.getDuplicateCount());
+		// b listed twice and numberMatched 4, but 3 distinct items
+		assertEquals(2, result.getWarningCount());
+	}
+
+	@Test
+	public void testWalk_nextLinkLoopAndPageTooLarge() throws IOException {
+		Map<String, String> pages = new HashMap<>();
+		pages.put(BASE_URI + "?limit=2", page("\"a\", \"b\", \"c\"", "?limit=2", -1));
+		Result result = walk(pages);
+		assertEquals(1, result.getPageCount());
+		assertEquals(2, result.getProblemCount());
+	}
+
+	private static Result walk(Map<String, String> pages) throws IOException {
+		PagedListWalker walker = new PagedListWalker(request -> respond(pages, request), "jobs", "jobID");
+		return walker.walk(BASE_URI + "?limit=2", 2);
+	}
+
+	private static HttpResponse respond(Map<String, String> pages, HttpUriRequest request) {
+		String content = pages.get(request.getURI().toString());
+		BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, content != null ? 200 : 404, null);
+		response.setEntity(new StringEntity(content != null ? content : "{}", ContentType.APPLICATION_JSON));
+		return response;
+	}
+
+	private static String page(String ids, String nextQuery, int numberMatched) {
+		StringBuilder page = new StringBuilder("{");
+		if (numberMatched >= 0) {
+			page.append("\"numberMatched\": ").append(numberMatched).append(", ");
+		}
+		page.append("\"jobs\": [");
+		String[] jobIds = ids.split(", ");
+		for (int i = 0; i < jobIds.length; i++) {
+			page.append(i > 0 ? ", " : "")
+				.append("{\"jobID\": ")
+				.append(jobIds[i])
+				.append(", \"status\": \"successful\", \"links\": []}");
+		}
+		page.append("], \"links\": [");
+		if (nextQuery != null) {
+			page.append("{\"rel\": \"next\", \"href\": \"").append(BASE_URI).append(nextQuery).append("\"}");
+		}
+		return page.append("]}").toString();
+	}
+
+}
@@ -0,0 +1,702 @@
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An in-process stub of an OGC API - Processes server, used to run the test suite under
+ * controlled server behaviour. It offers an echo process returning each input as the
+ * output with the same identifier, optionally listed with copies of it, and implements
+ * the landing page, conformance declaration, process list, process description,
+ * synchronous and asynchronous execution, job list, job status and job results.
+ *
+ * <p>
+ * The latency added to every response, the duration of asynchronously executed jobs, the
+ * number of processes and finished jobs listed and the length of the process descriptions
+ * are configurable. Jobs are kept in memory until the stub is closed.
+ * </p>
+ */
+public class ProcessesStubServer implements Closeable {
+
+	/**
+	 * The identifier of the echo process.
+	 */
+	public static final String ECHO_PROCESS_ID = "echo";
+
+	/**
+	 * The path of the landing page.
+	 */
+	public static final String BASE_PATH = "/ogc-api";
+
+	private static final String ECHO_PROCESS_RESOURCE = "/org/opengis/cite/ogcapiprocesses10/stub/echo-process.json";
+
+	private static final String API_RESOURCE = "/org/opengis/cite/ogcapiprocesses10/openapi/api-processes10.yaml";
+
+	private static final String JSON = "application/json";
+
+	private static final String CONF = "http://www.opengis.net/spec/ogcapi-processes-1/1.0/conf/";
+
+	private static final String REL = "http://www.opengis.net/def/rel/ogc/1.0/";
+
+	private static final String EXCEPTION = "http://www.opengis.net/def/exceptions/ogcapi-processes-1/1.0/";
+
+	private static final String BOUNDARY = "stub-boundary-7d3f9a";
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private final ConcurrentNavigableMap<String, Job> jobs = new ConcurrentSkipListMap<>();
+
+	private final AtomicLong requestCount = new AtomicLong();
+
+	private final AtomicLong asyncExecutionCount = new AtomicLong();
+
+	private final ObjectNode echoDescription;
+
+	private long latencyMillis;
+
+	private long jobDurationMillis = 200;
+
+	private int processCount = 1;
+
+	private int jobCount;
+
+	private int descriptionLength;
+
+	private HttpServer server;
+
+	private ExecutorService executor;
+
+	private String baseUri;
+
+	/**
+	 * Creates a stub that is not started yet.
+	 */
+	public ProcessesStubServer() {
+		try (InputStream in = ProcessesStubServer.class.getResourceAsStream(ECHO_PROCESS_RESOURCE)) {
+			this.echoDescription = (ObjectNode) OBJECT_MAPPER.readTree(in);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param latencyMillis the time in milliseconds every response is delayed
+	 * @return this stub
+	 */
+	public ProcessesStubServer withLatency(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+		return this;
+	}
+
+	/**
+	 * @param jobDurationMillis the time in milliseconds an asynchronously executed job
+	 * runs before it succeeds
+	 * @return this stub
+	 */
+	public ProcessesStubServer withJobDuration(long jobDurationMillis) {
+		this.jobDurationMillis = jobDurationMillis;
+		return this;
+	}
+
+	/**
+	 * @param processCount the number of processes listed, the echo process and copies of
+	 * it
+	 * @return this stub
+	 */
+	public ProcessesStubServer withProcessCount(int processCount) {
+		this.processCount = Math.max(1, processCount);
+		return this;
+	}
+
+	/**
+	 * @param jobCount the number of finished jobs listed in addition to the jobs created
+	 * @return this stub
+	 */
+	public ProcessesStubServer withJobCount(int jobCount) {
+		this.jobCount = Math.max(0, jobCount);
+		return this;
+	}
+
+	/**
+	 * @param descriptionLength the minimum length of the description of a process, padded
+	 * to inflate process lists and descriptions
+	 * @return this stub
+	 */
+	public ProcessesStubServer withDescriptionLength(int descriptionLength) {
+		this.descriptionLength = descriptionLength;
+		return this;
+	}
+
+	/**
+	 * Starts the stub on an ephemeral port of the loopback interface.
+	 * @return this stub
+	 * @throws IOException if the server could not be started
+	 */
+	public ProcessesStubServer start() throws IOException {
+		InetAddress loopback = InetAddress.getLoopbackAddress();
+		server = HttpServer.create(new InetSocketAddress(loopback, 0), 0);
+		executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "processes-stub");
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+		baseUri = "http://" + loopback.getHostAddress() + ":" + server.getAddress().getPort() + BASE_PATH;
+		for (int i = 0; i < jobCount; i++) {
+			Job job = new Job(ECHO_PROCESS_ID, OBJECT_MAPPER.createObjectNode(), 0);
+			jobs.put(job.id, job);
+		}
+		return this;
+	}
+
+	/**
+	 * @return the URI of the landing page
+	 */
+	public URI getUri() {
+		return URI.create(baseUri);
+	}
+
+	/**
+	 * @return the number of requests received
+	 */
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	/**
+	 * @return the number of asynchronous execute requests received
+	 */
+	public long getAsyncExecutionCount() {
+		return asyncExecutionCount.get();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void close() {
+		if (server != null) {
+			server.stop(0);
+			executor.shutdownNow();
+		}
+		jobs.clear();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requestCount.incrementAndGet();
+		try {
+			Response response;
+			try {
+				response = route(exchange);
+			}
+			catch (IOException | RuntimeException e) {
+				response = exception(500, "server-error", e.toString());
+			}
+			if (latencyMillis > 0) {
+				Thread.sleep(latencyMillis);
+			}
+			response.send(exchange);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	private Response route(HttpExchange exchange) throws IOException {
+		String path = exchange.getRequestURI().getPath().replaceAll("/+", "/");
+		if (!path.startsWith(BASE_PATH)) {
+			return exception(404, "not-found", "No resource at " + path);
+		}
+		String[] segments = path.substring(BASE_PATH.length()).split("/");
+		List<String> resource = new ArrayList<>();
+		for (String segment : segments) {
+			if (!segment.isEmpty()) {
+				resource.add(segment);
+			}
+		}
+		String method = exchange.getRequestMethod();
+		Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+		if (resource.isEmpty()) {
+			return "GET".equals(method) ? json(200, landingPage()) : methodNotAllowed();
+		}
+		switch (resource.get(0)) {
+			case "api":
+				return resource.size() == 1 ? apiDefinition() : notFound(path);
+			case "conformance":
+				return resource.size() == 1 ? json(200, conformance()) : notFound(path);
+			case "processes":
+				if (resource.size() == 1) {
+					return json(200, processList(query));
+				}
+				if (!isProcess(resource.get(1))) {
+					return exception(404, "no-such-process", "No process " + resource.get(1));
+				}
+				if (resource.size() == 2) {
+					return json(200, processDescription(resource.get(1)));
+				}
+				if (resource.size() == 3 && "execution".equals(resource.get(2))) {
+					return "POST".equals(method) ? execute(resource.get(1), exchange) : methodNotAllowed();
+				}
+				return notFound(path);
+			case "jobs":
+				if (resource.size() == 1) {
+					return json(200, jobList(query));
+				}
+				Job job = jobs.get(resource.get(1));
+				if (job == null) {
+					return exception(404, "no-such-job", "No job " + resource.get(1));
+				}
+				if (resource.size() == 2) {
+					if ("DELETE".equals(method)) {
+						job.dismissed = true;
+					}
+					return json(200, statusInfo(job));
+				}
+				if (resource.size() == 3 && "results".equals(resource.get(2))) {
+					return results(job);
+				}
+				return notFound(path);
+			default:
+				return notFound(path);
+		}
+	}
+
+	private ObjectNode landingPage() {
+		ObjectNode landingPage = OBJECT_MAPPER.createObjectNode();
+		landingPage.put("title", "OGC API - Processes stub");
+		landingPage.put("description", "In-process stub server of the test suite");
+		ArrayNode links = landingPage.putArray("links");
+		addLink(links, baseUri, "self", JSON, "This document");
+		addLink(links, baseUri + "/api", "service-desc", "application/vnd.oai.openapi;version=3.0",
+				"The API definition");
+		addLink(links, baseUri + "/conformance", REL + "conformance", JSON, "Conformance declaration");
+		addLink(links, baseUri + "/processes", REL + "processes", JSON, "Processes");
+		addLink(links, baseUri + "/jobs", REL + "job-list", JSON, "Jobs");
+		return landingPage;
+	}
+
+	private Response apiDefinition() throws IOException {
+		try (InputStream in = ProcessesStubServer.class.getResourceAsStream(API_RESOURCE)) {
+			return new Response(200, "application/vnd.oai.openapi;version=3.0", in.readAllBytes());
+		}
+	}
+
+	private ObjectNode conformance() {
+		ObjectNode conformance = OBJECT_MAPPER.createObjectNode();
+		ArrayNode conformsTo = conformance.putArray("conformsTo");
+		for (String conformanceClass : new String[] { "core", "ogc-process-description", "json", "job-list",
+				"oas30" }) {
+			conformsTo.add(CONF + conformanceClass);
+		}
+		return conformance;
+	}
+
+	private boolean isProcess(String processId) {
+		if (ECHO_PROCESS_ID.equals(processId)) {
+			return true;
+		}
+		if (!processId.startsWith(ECHO_PROCESS_ID + "-")) {
+			return false;
+		}
+		try {
+			int index = Integer.parseInt(processId.substring(ECHO_PROCESS_ID.length() + 1));
+			return index > 0 && index < processCount;
+		}
+		catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private ObjectNode processList(Map<String, String> query) {
+		int offset = parseInt(query.get("offset"), 0);
+		int limit = parseInt(query.get("limit"), processCount);
+		ObjectNode processList = OBJECT_MAPPER.createObjectNode();
+		ArrayNode processes = processList.putArray("processes");
+		for (int i = offset; i < Math.min(processCount, offset + limit); i++) {
+			ObjectNode summary = processDescription(i == 0 ? ECHO_PROCESS_ID : ECHO_PROCESS_ID + "-" + i);
+			summary.remove("inputs");
+			summary.remove("outputs");
+			processes.add(summary);
+		}
+		ArrayNode links = processList.putArray("links");
+		addLink(links, baseUri + "/processes?offset=" + offset + "&limit=" + limit, "self", JSON, "This document");
+		if (offset + limit < processCount) {
+			addLink(links, baseUri + "/processes?offset=" + (offset + limit) + "&limit=" + limit, "next", JSON,
+					"Next page");
+		}
+		return processList;
+	}
+
+	private ObjectNode processDescription(String processId) {
+		ObjectNode description = echoDescription.deepCopy();
+		description.put("id", processId);
+		StringBuilder text = new StringBuilder(description.path("description").asText());
+		while (text.length() < descriptionLength) {
+			text.append(" This description is padded to a configured length.");
+		}
+		description.put("description", text.toString());
+		ArrayNode links = description.putArray("links");
+		String processUri = baseUri + "/processes/" + processId;
+		addLink(links, processUri, "self", JSON, "Process description");
+		addLink(links, processUri + "/execution", REL + "execute", JSON, "Execute endpoint");
+		return description;
+	}
+
+	private Response execute(String processId, HttpExchange exchange) throws IOException {
+		JsonNode request;
+		try (InputStream body = exchange.getRequestBody()) {
+			request = OBJECT_MAPPER.readTree(body);
+		}
+		catch (IOException e) {
+			return exception(400, "invalid-input", "The execute request is not valid JSON: " + e.getMessage());
+		}
+		String invalidInput = findInvalidInput(request);
+		if (invalidInput != null) {
+			return exception(400, "invalid-input", "Invalid input " + invalidInput);
+		}
+		String prefer = exchange.getRequestHeaders().getFirst("Prefer");
+		boolean async = prefer != null && prefer.contains("respond-async");
+		Job job = new Job(processId, request, async ? jobDurationMillis : 0);
+		jobs.put(job.id, job);
+		if (!async) {
+			return results(job);
+		}
+		asyncExecutionCount.incrementAndGet();
+		Response response = json(201, statusInfo(job));
+		response.headers.put("Location", baseUri + "/jobs/" + job.id);
+		response.headers.put("Preference-Applied", "respond-async");
+		return response;
+	}
+
+	private String findInvalidInput(JsonNode request) {
+		JsonNode declared = echoDescription.path("inputs");
+		Iterator<Map.Entry<String, JsonNode>> inputs = request.path("inputs").fields();
+		while (inputs.hasNext()) {
+			Map.Entry<String, JsonNode> input = inputs.next();
+			JsonNode declaration = declared.get(input.getKey());
+			if (declaration == null) {
+				return input.getKey();
+			}
+			String type = declaration.path("schema").path("type").asText(null);
+			JsonNode value = input.getValue();
+			if (type != null && !value.isArray() && !value.has("href") && !value.has("value")
+					&& !hasType(value, type)) {
+				return input.getKey();
+			}
+		}
+		return null;
+	}
+
+	private static boolean hasType(JsonNode value, String type) {
+		switch (type) {
+			case "string":
+				return value.isTextual();
+			case "number":
+				return value.isNumber();
+			case "integer":
+				return value.isIntegralNumber();
+			case "boolean":
+				return value.isBoolean();
+			case "array":
+				return value.isArray();
+			case "object":
+				return value.isObject();
+			default:
+				return true;
+		}
+	}
+
+	private ObjectNode jobList(Map<String, String> query) {
+		// keyset pagination, so that jobs created while the list is walked do not shift
+		// the pages
+		int limit = parseInt(query.get("limit"), Integer.MAX_VALUE);
+		String after = query.get("after");
+		ObjectNode jobList = OBJECT_MAPPER.createObjectNode();
+		ArrayNode jobArray = jobList.putArray("jobs");
+		Iterator<Job> page = (after != null ? jobs.tailMap(after, false) : jobs).values().iterator();
+		String lastId = null;
+		while (page.hasNext() && jobArray.size() < limit) {
+			Job job = page.next();
+			jobArray.add(statusInfo(job));
+			lastId = job.id;
+		}
+		ArrayNode links = jobList.putArray("links");
+		addLink(links, baseUri + "/jobs", "self", JSON, "This document");
+		if (page.hasNext()) {
+			addLink(links, baseUri + "/jobs?limit=" + limit + "&after=" + lastId, "next", JSON, "Next page");
+		}
+		return jobList;
+	}
+
+	private ObjectNode statusInfo(Job job) {
+		ObjectNode statusInfo = OBJECT_MAPPER.createObjectNode();
+		statusInfo.put("type", "process");
+		statusInfo.put("processID", job.processId);
+		statusInfo.put("jobID", job.id);
+		String status = job.getStatus();
+		statusInfo.put("status", status);
+		statusInfo.put("created", job.created.toString());
+		statusInfo.put("started", job.created.toString());
+		if (job.isFinished()) {
+			statusInfo.put("finished", job.finished.toString());
+			statusInfo.put("progress", 100);
+		}
+		else {
+			statusInfo.put("progress", 50);
+		}
+		statusInfo.put("updated", Instant.now().toString());
+		ArrayNode links = statusInfo.putArray("links");
+		addLink(links, baseUri + "/jobs/" + job.id, "self", JSON, "Job status");
+		if ("successful".equals(status)) {
+			addLink(links, baseUri + "/jobs/" + job.id + "/results", REL + "results", JSON, "Job results");
+		}
+		return statusInfo;
+	}
+
+	private Response results(Job job) {
+		if (!"successful".equals(job.getStatus())) {
+			return exception(404, "result-not-ready", "The job " + job.id + " is " + job.getStatus());
+		}
+		Map<String, JsonNode> outputs = selectOutputs(job.request);
+		String resultUri = baseUri + "/jobs/" + job.id + "/results/";
+		if (!"raw".equals(job.request.path("response").asText())) {
+			ObjectNode document = OBJECT_MAPPER.createObjectNode();
+			for (Map.Entry<String, JsonNode> output : outputs.entrySet()) {
+				if (isReference(job.request, output.getKey())) {
+					document.putObject(output.getKey()).put("href", resultUri + output.getKey());
+				}
+				else {
+					document.set(output.getKey(), output.getValue());
+				}
+			}
+			return json(200, document);
+		}
+		if (outputs.size() == 1) {
+			Map.Entry<String, JsonNode> output = outputs.entrySet().iterator().next();
+			if (isReference(job.request, output.getKey())) {
+				Response response = new Response(204, null, new byte[0]);
+				response.headers.put("Link", "<" + resultUri + output.getKey() + ">; rel=\"" + output.getKey() + "\"");
+				return response;
+			}
+			return toRaw(output.getValue());
+		}
+		ByteArrayOutputStream multipart = new ByteArrayOutputStream();
+		for (Map.Entry<String, JsonNode> output : outputs.entrySet()) {
+			StringBuilder headers = new StringBuilder("--").append(BOUNDARY).append("\r\n");
+			headers.append("Content-ID: <").append(output.getKey()).append(">\r\n");
+			byte[] body = new byte[0];
+			if (isReference(job.request, output.getKey())) {
+				headers.append("Content-Location: ").append(resultUri).append(output.getKey()).append("\r\n");
+			}
+			else {
+				Response raw = toRaw(output.getValue());
+				headers.append("Content-Type: ").append(raw.contentType).append("\r\n");
+				body = raw.body;
+			}
+			multipart.writeBytes(headers.append("\r\n").toString().getBytes(StandardCharsets.UTF_8));
+			multipart.writeBytes(body);
+			multipart.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+		}
+		multipart.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+		return new Response(200, "multipart/related; boundary=" + BOUNDARY, multipart.toByteArray());
+	}
+
+	/**
+	 * The requested outputs, or all outputs if none was requested, with the value of the
+	 * input with the same identifier.
+	 */
+	private static Map<String, JsonNode> selectOutputs(JsonNode request) {
+		JsonNode inputs = request.path("inputs");
+		Map<String, JsonNode> outputs = new LinkedHashMap<>();
+		Iterator<String> ids = request.path("outputs").size() > 0 ? request.path("outputs").fieldNames()
+				: inputs.fieldNames();
+		while (ids.hasNext()) {
+			String id = ids.next();
+			if (inputs.has(id)) {
+				outputs.put(id, inputs.get(id));
+			}
+		}
+		return outputs;
+	}
+
+	private static boolean isReference(JsonNode request, String outputId) {
+		return "reference".equals(request.path("outputs").path(outputId).path("transmissionMode").asText());
+	}
+
+	private static Response toRaw(JsonNode value) {
+		if (value.isTextual()) {
+			return new Response(200, "text/plain; charset=UTF-8", value.asText().getBytes(StandardCharsets.UTF_8));
+		}
+		if (value.has("value") && value.path("value").isTextual() && value.has("mediaType")) {
+			String mediaType = value.get("mediaType").asText();
+			String content = value.get("value").asText();
+			if (mediaType.startsWith("image/") || "base64".equals(value.path("encoding").asText())) {
+				try {
+					return new Response(200, mediaType, Base64.getMimeDecoder().decode(content));
+				}
+				catch (IllegalArgumentException e) {
+					// not base64 encoded, returned as is
+				}
+			}
+			return new Response(200, mediaType, content.getBytes(StandardCharsets.UTF_8));
+		}
+		return json(200, value);
+	}
+
+	private static Response json(int status, JsonNode body) {
+		try {
+			return new Response(status, JSON, OBJECT_MAPPER.writeValueAsBytes(body));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Response exception(int status, String type, String detail) {
+		ObjectNode exception = OBJECT_MAPPER.createObjectNode();
+		exception.put("type", EXCEPTION + type);
+		exception.put("title", type);
+		exception.put("status", status);
+		exception.put("detail", detail);
+		return json(status, exception);
+	}
+
+	private static Response notFound(String path) {
+		return exception(404, "not-found", "No resource at " + path);
+	}
+
+	private static Response methodNotAllowed() {
+		return exception(405, "method-not-allowed", "Method not allowed");
+	}
+
+	private static void addLink(ArrayNode links, String href, String rel, String type, String title) {
+		links.addObject().put("href", href).put("rel", rel).put("type", type).put("title", title);
+	}
+
+	private static Map<String, String> parseQuery(String rawQuery) {
+		Map<String, String> query = new HashMap<>();
+		if (rawQuery != null) {
+			for (String parameter : rawQuery.split("&")) {
+				int separator = parameter.indexOf('=');
+				if (separator > 0) {
+					query.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+							URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+				}
+			}
+		}
+		return query;
+	}
+
+	private static int parseInt(String value, int defaultValue) {
+		try {
+			return value != null ? Math.max(0, Integer.parseInt(value)) : defaultValue;
+		}
+		catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * A job, successful once its duration has passed.
+	 */
+	private static class Job {
+
+		private final String id = UUID.randomUUID().toString();
+
+		private final String processId;
+
+		private final JsonNode request;
+
+		private final Instant created = Instant.now();
+
+		private final Instant finished;
+
+		private volatile boolean dismissed;
+
+		Job(String processId, JsonNode request, long durationMillis) {
+			this.processId = processId;
+			this.request = request;
+			this.finished = created.plusMillis(durationMillis);
+		}
+
+		boolean isFinished() {
+			return !Instant.now().isBefore(finished);
+		}
+
+		String getStatus() {
+			if (dismissed) {
+				return "dismissed";
+			}
+			return isFinished() ? "successful" : "running";
+		}
+
+	}
+
+	/**
+	 * A response of the stub.
+	 */
+	private static class Response {
+
+		private final int status;
+
+		private final String contentType;
+
+		private final byte[] body;
+
+		private final Map<String, String> headers = new HashMap<>();
+
+		Response(int status, String contentType, byte[] body) {
+			this.status = status;
+			this.contentType = contentType;
+			this.body = body;
+		}
+
+		void send(HttpExchange exchange) throws IOException {
+			if (contentType != null) {
+				exchange.getResponseHeaders().set("Content-Type", contentType);
+			}
+			headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+			boolean empty = body.length == 0 || "HEAD".equals(exchange.getRequestMethod());
+			exchange.sendResponseHeaders(status, empty ? -1 : body.length);
+			if (!empty) {
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			}
+		}
+
+	}
+
+}
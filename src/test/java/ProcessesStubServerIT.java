@@ -0,0 +1,190 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.TestNGController;
+import org.opengis.cite.ogcapiprocesses10.TestRunArg;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Runs the whole test suite against the {@link ProcessesStubServer}. The behaviour of the
+ * stub is configured with the system properties <code>stub.latency</code> and
+ * <code>stub.jobDuration</code> (milliseconds), <code>stub.processes</code>,
+ * <code>stub.jobs</code> and <code>stub.descriptionLength</code>; further test run
+ * arguments are given as system properties prefixed with <code>ets.</code>, e.g.
+ * <code>-Dets.parallelism=4</code>. The duration of the test run, the number of requests
+ * and the peak heap usage are printed, so that runs under different settings can be
+ * compared.
+ */
+public class ProcessesStubServerIT {
+
+	private static ProcessesStubServer stub;
+
+	@BeforeClass
+	public static void startStub() throws IOException {
+		stub = new ProcessesStubServer().withLatency(Long.getLong("stub.latency", 0))
+			.withJobDuration(Long.getLong("stub.jobDuration", 200))
+			.withProcessCount(Integer.getInteger("stub.processes", 3))
+			.withJobCount(Integer.getInteger("stub.jobs", 5))
+			.withDescriptionLength(Integer.getInteger("stub.descriptionLength", 0))
+			.start();
+	}
+
+	@AfterClass
+	public static void stopStub() {
+		stub.close();
+	}
+
+	@Test
+	public void testSuiteAgainstStub() throws Exception {
+		Path outputDir = Files.createTempDirectory("ets-ogcapi-processes10-it");
+		resetPeakUsage();
+		long start = System.nanoTime();
+		new TestNGController(outputDir.toString()).doTestRun(createTestRunProps());
+		long durationMillis = (System.nanoTime() - start) / 1000000;
+
+		Document results = parseResults(outputDir);
+		Element root = results.getDocumentElement();
+		System.out.println(String.format(
+				"Test run against stub: %d ms, %d requests (%.1f/s), peak heap %d MB, %s passed, %s failed, %s skipped",
+				durationMillis, stub.getRequestCount(), stub.getRequestCount() * 1000.0 / Math.max(1, durationMillis),
+				getPeakHeapUsage() / (1024 * 1024), root.getAttribute("passed"), root.getAttribute("failed"),
+				root.getAttribute("skipped")));
+		Map<String, String> statuses = getTestMethodStatuses(results);
+		assertTrue("No test was run", Integer.parseInt(root.getAttribute("total")) > 0);
+		assertEquals("PASS", statuses.get("testLandingPageRetrieval"));
+		assertEquals("PASS", statuses.get("testLandingPageValidation"));
+		assertEquals("PASS", statuses.get("testValidateConformanceOperationAndResponse"));
+	}
+
+	@Test
+	public void testBatchAgainstStub() throws Exception {
+		Path propsDir = Files.createTempDirectory("ets-ogcapi-processes10-it-props");
+		Path outputDir = Files.createTempDirectory("ets-ogcapi-processes10-it");
+		for (String node : new String[] { "node-1", "node-2" }) {
+			TransformerFactory.newInstance()
+				.newTransformer()
+				.transform(new DOMSource(createTestRunProps()),
+						new StreamResult(propsDir.resolve(node + ".xml").toFile()));
+		}
+		long start = System.nanoTime();
+		TestNGController
+			.main(new String[] { "-o", outputDir.toString(), "--concurrentRuns", "2", propsDir.toString() });
+		long durationMillis = (System.nanoTime() - start) / 1000000;
+
+		System.out.println(String.format("Batch of 2 test runs against stub: %d ms, %d requests", durationMillis,
+				stub.getRequestCount()));
+		for (String node : new String[] { "node-1", "node-2" }) {
+			Map<String, String> statuses = getTestMethodStatuses(parseResults(outputDir.resolve(node)));
+			assertEquals("PASS", statuses.get("testLandingPageRetrieval"));
+			assertEquals("PASS", statuses.get("testValidateConformanceOperationAndResponse"));
+		}
+	}
+
+	@Test
+	public void testPipelinedJobsAgainstStub() throws Exception {
+		long asyncExecutions = stub.getAsyncExecutionCount();
+		new TestNGController(Files.createTempDirectory("ets-ogcapi-processes10-it").toString())
+			.doTestRun(createTestRunProps(Map.of(TestRunArg.PIPELINEJOBS, "false")));
+		long unpipelined = stub.getAsyncExecutionCount() - asyncExecutions;
+		asyncExecutions = stub.getAsyncExecutionCount();
+		new TestNGController(Files.createTempDirectory("ets-ogcapi-processes10-it").toString())
+			.doTestRun(createTestRunProps(Map.of(TestRunArg.PIPELINEJOBS, "true")));
+		long pipelined = stub.getAsyncExecutionCount() - asyncExecutions;
+
+		assertTrue("No job was executed asynchronously", unpipelined > 0);
+		// every job submitted up front is used instead of a job submitted by the test
+		assertEquals(unpipelined, pipelined);
+	}
+
+	private static Document createTestRunProps() throws Exception {
+		return createTestRunProps(Map.of());
+	}
+
+	private static Document createTestRunProps(Map<TestRunArg, String> overrides) throws Exception {
+		Document props = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		Element properties = props.createElement("properties");
+		props.appendChild(properties);
+		Map<String, String> args = new HashMap<>();
+		args.put(TestRunArg.IUT.toString(), stub.getUri().toString());
+		args.put(TestRunArg.ECHOPROCESSID.toString(), ProcessesStubServer.ECHO_PROCESS_ID);
+		args.put(TestRunArg.SCHEMACATALOG.toString(), "true");
+		for (TestRunArg arg : TestRunArg.values()) {
+			String value = System.getProperty("ets." + arg);
+			if (value != null) {
+				args.put(arg.toString(), value);
+			}
+		}
+		for (Map.Entry<TestRunArg, String> override : overrides.entrySet()) {
+			args.put(override.getKey().toString(), override.getValue());
+		}
+		for (Map.Entry<String, String> arg : args.entrySet()) {
+			Element entry = props.createElement("entry");
+			entry.setAttribute("key", arg.getKey());
+			entry.setTextContent(arg.getValue());
+			properties.appendChild(entry);
+		}
+		return props;
+	}
+
+	private static Document parseResults(Path outputDir) throws Exception {
+		try (Stream<Path> files = Files.walk(outputDir)) {
+			File resultsFile = files.filter(file -> file.getFileName().toString().equals("testng-results.xml"))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("No testng-results.xml in " + outputDir))
+				.toFile();
+			return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(resultsFile);
+		}
+	}
+
+	private static Map<String, String> getTestMethodStatuses(Document results) {
+		Map<String, String> statuses = new HashMap<>();
+		NodeList testMethods = results.getElementsByTagName("test-method");
+		for (int i = 0; i < testMethods.getLength(); i++) {
+			Element testMethod = (Element) testMethods.item(i);
+			if (!"true".equals(testMethod.getAttribute("is-config"))) {
+				// a method run more than once keeps its last failure
+				statuses.merge(testMethod.getAttribute("name"), testMethod.getAttribute("status"),
+						(status, other) -> "PASS".equals(status) ? other : status);
+			}
+		}
+		return statuses;
+	}
+
+	private static void resetPeakUsage() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			pool.resetPeakUsage();
+		}
+	}
+
+	private static long getPeakHeapUsage() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+}
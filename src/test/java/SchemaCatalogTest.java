@@ -0,0 +1,35 @@
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.net.URI;
+
+import org.junit.Test;
+import org.opengis.cite.ogcapiprocesses10.util.SchemaCatalog;
+
+public class SchemaCatalogTest {
+
+	@Test
+	public void testFindLocalCopy() {
+		URI uri = URI.create("https://schemas.opengis.net/ogcapi/processes/part1/1.0/openapi/schemas/processList.yaml");
+		assertNotNull(SchemaCatalog.getInstance().findLocalCopy(uri));
+	}
+
+	@Test
+	public void testFindLocalCopy_http() {
+		URI uri = URI.create("http://schemas.opengis.net/ogcapi/processes/part1/1.0/openapi/schemas/landingPage.yaml");
+		assertNotNull(SchemaCatalog.getInstance().findLocalCopy(uri));
+	}
+
+	@Test
+	public void testFindLocalCopy_unknownSchema() {
+		URI uri = URI.create("https://schemas.opengis.net/ogcapi/processes/part1/1.0/openapi/schemas/unknown.yaml");
+		assertNull(SchemaCatalog.getInstance().findLocalCopy(uri));
+	}
+
+	@Test
+	public void testFindLocalCopy_unknownLocation() {
+		URI uri = URI.create("https://example.org/schemas/processList.yaml");
+		assertNull(SchemaCatalog.getInstance().findLocalCopy(uri));
+	}
+
+}
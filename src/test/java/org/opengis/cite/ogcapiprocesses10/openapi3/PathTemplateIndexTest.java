@@ -0,0 +1,134 @@
+package org.opengis.cite.ogcapiprocesses10.openapi3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.glassfish.jersey.uri.internal.UriTemplateParser;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.reprezen.kaizen.oasparser.OpenApi3Parser;
+import com.reprezen.kaizen.oasparser.model3.OpenApi3;
+import com.reprezen.kaizen.oasparser.model3.Path;
+
+public class PathTemplateIndexTest {
+
+	private static final URI IUT = URI.create("http://localhost:8080/ogcapi");
+
+	private static final List<String> REQUESTED_PATHS = Arrays.asList("/", "", "/processes", "/processes/",
+			"/processes/echo", "/processes/echo/", "/processes/buffer", "/processes/echo/execution",
+			"/processes//execution", "/jobs/1", "/jobs/1/", "/jobs/dismissed", "/jobs/1/results", "/jobs/1/results/out",
+			"/jobs/1/results/out/", "/conformance", "/conformance/", "//conformance", "/collections/c/items",
+			"/files/dem.tif", "/files/dem", "/unknown", "/processes/echo/unknown");
+
+	private static OpenApi3 apiModel;
+
+	@BeforeClass
+	public static void parseDefinition() throws Exception {
+		URL definition = PathTemplateIndexTest.class.getResource("openapi-path-templates.json");
+		apiModel = new OpenApi3Parser().parse(definition, false);
+	}
+
+	@Test
+	public void testMatch_sameAsPathMatcher() {
+		PathTemplateIndex index = new PathTemplateIndex(apiModel);
+		for (String requestedPath : REQUESTED_PATHS) {
+			assertEquals(requestedPath, matchWithPathMatcher(requestedPath), pathStrings(index.match(requestedPath)));
+		}
+	}
+
+	@Test
+	public void testMatch_literalAndTemplatedSiblings() {
+		PathTemplateIndex index = new PathTemplateIndex(apiModel);
+		// the templated path is defined before the literal one
+		assertEquals(Arrays.asList("/processes/{processId}", "/processes/echo"),
+				pathStrings(index.match("/processes/echo")));
+		assertEquals(Arrays.asList("/jobs/{jobId}", "/jobs/dismissed"), pathStrings(index.match("/jobs/dismissed")));
+		assertEquals(Arrays.asList("/files/{name}.tif", "/files/{name}"), pathStrings(index.match("/files/dem.tif")));
+	}
+
+	@Test
+	public void testMatch_trailingSlash() {
+		PathTemplateIndex index = new PathTemplateIndex(apiModel);
+		assertEquals(Arrays.asList("/conformance"), pathStrings(index.match("/conformance")));
+		assertEquals(Arrays.asList("/conformance/"), pathStrings(index.match("/conformance/")));
+		assertEquals(Arrays.asList("/processes/{processId}/"), pathStrings(index.match("/processes/echo/")));
+		assertTrue(index.match("/jobs/1/").isEmpty());
+	}
+
+	@Test
+	public void testGetTestPoints_memoizedCopy() {
+		PathTemplateIndex index = new PathTemplateIndex(apiModel);
+		AtomicInteger computations = new AtomicInteger();
+		List<TestPoint> computed = new ArrayList<>();
+		computed.add(new TestPoint(IUT.toString(), "/conformance", null));
+		List<TestPoint> first = index.getTestPoints("conformance", () -> {
+			computations.incrementAndGet();
+			return computed;
+		});
+		first.clear();
+		computed.clear();
+		List<TestPoint> second = index.getTestPoints("conformance", () -> {
+			computations.incrementAndGet();
+			return new ArrayList<>();
+		});
+		assertEquals(1, computations.get());
+		assertEquals(1, second.size());
+		assertEquals("/conformance", second.get(0).getPath());
+		assertNotSame(second, index.getTestPoints("conformance", ArrayList::new));
+	}
+
+	@Test
+	public void testRetrieveTestPoints_memoizedCopy() {
+		List<TestPoint> first = OpenApiUtils.retrieveTestPointsForConformance(apiModel, IUT);
+		assertFalse(first.isEmpty());
+		List<String> expected = testPointStrings(first);
+		first.clear();
+		List<TestPoint> second = OpenApiUtils.retrieveTestPointsForConformance(apiModel, IUT);
+		assertEquals(expected, testPointStrings(second));
+		assertNotSame(second, OpenApiUtils.retrieveTestPointsForConformance(apiModel, IUT));
+	}
+
+	@Test
+	public void testIsIndexOf() throws Exception {
+		PathTemplateIndex index = new PathTemplateIndex(apiModel);
+		assertTrue(index.isIndexOf(apiModel));
+		URL definition = PathTemplateIndexTest.class.getResource("openapi-path-templates.json");
+		assertFalse(index.isIndexOf(new OpenApi3Parser().parse(definition, false)));
+	}
+
+	/*
+	 * The lookup replaced by the index: the pattern of every path template of the
+	 * definition is matched against the whole requested path.
+	 */
+	private static List<String> matchWithPathMatcher(String requestedPath) {
+		List<String> matches = new ArrayList<>();
+		for (Path path : apiModel.getPaths().values()) {
+			if (new UriTemplateParser(path.getPathString()).getPattern().matcher(requestedPath).matches()) {
+				matches.add(path.getPathString());
+			}
+		}
+		return matches;
+	}
+
+	private static List<String> pathStrings(List<Path> paths) {
+		return paths.stream().map(Path::getPathString).collect(Collectors.toList());
+	}
+
+	private static List<String> testPointStrings(List<TestPoint> testPoints) {
+		return testPoints.stream()
+			.map(testPoint -> testPoint.getServerUrl() + " " + testPoint.getPath())
+			.collect(Collectors.toList());
+	}
+
+}